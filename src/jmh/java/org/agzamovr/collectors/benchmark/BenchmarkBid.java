@@ -0,0 +1,71 @@
+package org.agzamovr.collectors.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class BenchmarkBid implements Comparable<BenchmarkBid> {
+    private static final int SUPPLIERS = 1000;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    final int num;
+    final int supplierId;
+    final BigDecimal price;
+    final long shippingDate;
+    final int experience;
+    final double rating;
+
+    BenchmarkBid(int num, int supplierId, BigDecimal price, long shippingDate, int experience, double rating) {
+        this.num = num;
+        this.supplierId = supplierId;
+        this.price = price;
+        this.shippingDate = shippingDate;
+        this.experience = experience;
+        this.rating = rating;
+    }
+
+    public int getNum() {
+        return num;
+    }
+
+    public int getSupplierId() {
+        return supplierId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public long getShippingDate() {
+        return shippingDate;
+    }
+
+    public int getExperience() {
+        return experience;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    @Override
+    public int compareTo(BenchmarkBid other) {
+        return price.compareTo(other.price);
+    }
+
+    static List<BenchmarkBid> generate(int size, long seed) {
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+        List<BenchmarkBid> bids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int supplierId = random.nextInt(SUPPLIERS);
+            BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2);
+            long shippingDate = now + random.nextInt(365) * DAY_MILLIS;
+            int experience = random.nextInt(40);
+            double rating = random.nextDouble() * 5;
+            bids.add(new BenchmarkBid(i, supplierId, price, shippingDate, experience, rating));
+        }
+        return bids;
+    }
+}
@@ -0,0 +1,42 @@
+package org.agzamovr.collectors.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Shared benchmark input. The GC profiler reports {@code gc.alloc.rate.norm} in bytes per operation,
+ * divide it by {@code size} to get allocations per element.
+ */
+@State(Scope.Benchmark)
+public class BidData {
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    List<BenchmarkBid> bids;
+
+    List<BenchmarkBid> sortedBids;
+
+    @Setup
+    public void setUp() {
+        bids = BenchmarkBid.generate(size, 42L);
+        sortedBids = new ArrayList<>(bids);
+        sortedBids.sort(null);
+    }
+
+    Stream<BenchmarkBid> stream() {
+        return parallel ? bids.parallelStream() : bids.stream();
+    }
+
+    Stream<BenchmarkBid> sortedStream() {
+        return parallel ? sortedBids.parallelStream() : sortedBids.stream();
+    }
+}
@@ -0,0 +1,32 @@
+package org.agzamovr.collectors.benchmark;
+
+import org.agzamovr.collectors.CollectorEx;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+public class DistinctCollectorBenchmark extends CollectorBenchmark {
+
+    @Benchmark
+    public Collection<BenchmarkBid> distinct(BidData data) {
+        return data.stream().collect(CollectorEx.distinct(BenchmarkBid::getSupplierId));
+    }
+
+    @Benchmark
+    public List<BenchmarkBid> distinctToList(BidData data) {
+        return data.stream().collect(CollectorEx.distinct(BenchmarkBid::getSupplierId, toList()));
+    }
+
+    @Benchmark
+    public List<BenchmarkBid> distinctFirst(BidData data) {
+        return data.stream().collect(CollectorEx.distinctFirst(BenchmarkBid::getSupplierId));
+    }
+
+    @Benchmark
+    public List<BenchmarkBid> approximateDistinct(BidData data) {
+        return data.stream().collect(CollectorEx.approximateDistinct(BenchmarkBid::getSupplierId, data.size, 0.01));
+    }
+}
@@ -0,0 +1,36 @@
+package org.agzamovr.collectors.benchmark;
+
+import org.agzamovr.collectors.CollectorEx;
+import org.agzamovr.collectors.HeavyHitter;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+import java.util.Set;
+
+public class ModeCollectorBenchmark extends CollectorBenchmark {
+
+    @Benchmark
+    public Set<Integer> modeSupplier(BidData data) {
+        return data.stream().collect(CollectorEx.mode(BenchmarkBid::getSupplierId));
+    }
+
+    @Benchmark
+    public Set<Integer> modeExperience(BidData data) {
+        return data.stream().collect(CollectorEx.mode(BenchmarkBid::getExperience));
+    }
+
+    @Benchmark
+    public int[] modeIntSupplier(BidData data) {
+        return data.stream().collect(CollectorEx.modeInt(BenchmarkBid::getSupplierId));
+    }
+
+    @Benchmark
+    public int[] modeIntExperience(BidData data) {
+        return data.stream().collect(CollectorEx.modeInt(BenchmarkBid::getExperience));
+    }
+
+    @Benchmark
+    public List<HeavyHitter<Integer>> approximateModeSupplier(BidData data) {
+        return data.stream().collect(CollectorEx.approximateMode(10, BenchmarkBid::getSupplierId));
+    }
+}
@@ -0,0 +1,57 @@
+package org.agzamovr.collectors.benchmark;
+
+import org.agzamovr.collectors.CollectorEx;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.counting;
+
+/**
+ * Map and entry stream benchmarks include the cost of wrapping each bid into a map or an entry.
+ */
+public class MultiValueMapCollectorBenchmark extends CollectorBenchmark {
+
+    @Benchmark
+    public Map<Integer, List<Integer>> toMultiValueMap(BidData data) {
+        return data.stream().collect(CollectorEx.toMultiValueMap(BenchmarkBid::getSupplierId, BenchmarkBid::getNum));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> toMultiValueMapCounting(BidData data) {
+        return data.stream()
+                .collect(CollectorEx.toMultiValueMap(BenchmarkBid::getSupplierId, BenchmarkBid::getNum, counting()));
+    }
+
+    @Benchmark
+    public ConcurrentMap<Integer, Collection<Integer>> toConcurrentMultiValueMap(BidData data) {
+        return data.stream()
+                .collect(CollectorEx.toConcurrentMultiValueMap(BenchmarkBid::getSupplierId, BenchmarkBid::getNum));
+    }
+
+    @Benchmark
+    public ConcurrentMap<Integer, Long> toConcurrentMultiValueMapCounting(BidData data) {
+        return data.stream()
+                .collect(CollectorEx.toConcurrentMultiValueMap(BenchmarkBid::getSupplierId, BenchmarkBid::getNum,
+                        counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> entryStreamToMultiValueMap(BidData data) {
+        return data.stream()
+                .map(bid -> new SimpleImmutableEntry<>(bid.getSupplierId(), bid.getNum()))
+                .collect(CollectorEx.entryStreamToMultiValueMap());
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> mapStreamToMultiValueMap(BidData data) {
+        return data.stream()
+                .map(bid -> singletonMap(bid.getSupplierId(), bid.getNum()))
+                .collect(CollectorEx.mapStreamToMultiValueMap());
+    }
+}
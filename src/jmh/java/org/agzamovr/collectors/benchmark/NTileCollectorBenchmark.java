@@ -0,0 +1,48 @@
+package org.agzamovr.collectors.benchmark;
+
+import org.agzamovr.collectors.CollectorEx;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.stream.Collectors.counting;
+
+public class NTileCollectorBenchmark extends CollectorBenchmark {
+
+    @Benchmark
+    public List<List<BenchmarkBid>> ntile(BidData data) {
+        return data.stream().collect(CollectorEx.ntile(100));
+    }
+
+    @Benchmark
+    public List<Long> ntileCounting(BidData data) {
+        return data.stream().collect(CollectorEx.ntile(100, counting()));
+    }
+
+    @Benchmark
+    public List<BenchmarkBid> approximateNtileBoundaries(BidData data) {
+        return data.stream().collect(CollectorEx.approximateNtileBoundaries(100, 0.001));
+    }
+
+    @Benchmark
+    public List<Long> ratingNtileCounting(BidData data) {
+        return data.stream().collect(CollectorEx.ntile(100, Comparator.comparingDouble(BenchmarkBid::getRating),
+                counting()));
+    }
+
+    @Benchmark
+    public List<Long> ratingNtileCountingByKey(BidData data) {
+        return data.stream().collect(CollectorEx.ntileByDouble(100, BenchmarkBid::getRating, counting()));
+    }
+
+    @Benchmark
+    public Double ratingMedian(BidData data) {
+        return data.stream().collect(CollectorEx.median(BenchmarkBid::getRating));
+    }
+
+    @Benchmark
+    public double[] ratingPercentiles(BidData data) {
+        return data.stream().collect(CollectorEx.percentilesCont(BenchmarkBid::getRating, 0.5, 0.95, 0.99));
+    }
+}
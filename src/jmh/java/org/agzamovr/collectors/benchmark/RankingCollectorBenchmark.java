@@ -0,0 +1,150 @@
+package org.agzamovr.collectors.benchmark;
+
+import org.agzamovr.collectors.BinaryCodecs;
+import org.agzamovr.collectors.CollectorEx;
+import org.agzamovr.collectors.WindowFunction;
+import org.agzamovr.collectors.WindowResults;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+public class RankingCollectorBenchmark extends CollectorBenchmark {
+    private static final Comparator<BenchmarkBid> BY_EXPERIENCE = Comparator.comparingInt(BenchmarkBid::getExperience);
+
+    @Benchmark
+    public SortedMap<Integer, List<BenchmarkBid>> rank(BidData data) {
+        return data.stream().collect(CollectorEx.rank());
+    }
+
+    @Benchmark
+    public SortedMap<Integer, Long> rankCounting(BidData data) {
+        return data.stream().collect(CollectorEx.rank(counting()));
+    }
+
+    @Benchmark
+    public List<BenchmarkBid> rankFirst(BidData data) {
+        SortedMap<Integer, List<BenchmarkBid>> ranks = data.stream().collect(CollectorEx.rank(BY_EXPERIENCE));
+        return ranks.get(ranks.firstKey());
+    }
+
+    @Benchmark
+    public List<BenchmarkBid> lazyRankFirst(BidData data) {
+        SortedMap<Integer, List<BenchmarkBid>> ranks = data.stream().collect(CollectorEx.lazyRank(BY_EXPERIENCE));
+        return ranks.get(ranks.firstKey());
+    }
+
+    @Benchmark
+    public SortedMap<Integer, List<BenchmarkBid>> topRanks(BidData data) {
+        return data.stream().collect(CollectorEx.topRanks(3));
+    }
+
+    @Benchmark
+    public SortedMap<Integer, Long> sortedRankCounting(BidData data) {
+        return data.sortedStream().collect(CollectorEx.rank(counting()));
+    }
+
+    @Benchmark
+    public SortedMap<Integer, Long> presortedRankCounting(BidData data) {
+        return data.sortedStream().collect(CollectorEx.presortedRank(Comparator.naturalOrder(), false, counting()));
+    }
+
+    @Benchmark
+    public SortedMap<Integer, Long> experienceRankCounting(BidData data) {
+        return data.stream()
+                .map(BenchmarkBid::getExperience)
+                .collect(CollectorEx.rank(Integer::compare, Integer::compare, false, counting()));
+    }
+
+    @Benchmark
+    public SortedMap<Integer, Long> externalExperienceRankCounting(BidData data) {
+        return data.stream()
+                .map(BenchmarkBid::getExperience)
+                .collect(CollectorEx.externalRank(Integer::compare, BinaryCodecs.integers(), 100_000, counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, SortedMap<Integer, Long>> groupingByRankCounting(BidData data) {
+        return data.stream().collect(groupingBy(BenchmarkBid::getSupplierId,
+                CollectorEx.rank(BY_EXPERIENCE, Integer::compare, false, counting())));
+    }
+
+    @Benchmark
+    public Map<Integer, SortedMap<Integer, Long>> windowRankCounting(BidData data) {
+        return data.stream().collect(CollectorEx.window()
+                .partitionBy(BenchmarkBid::getSupplierId)
+                .orderBy(BY_EXPERIENCE)
+                .apply(WindowFunction.rank(false, counting())));
+    }
+
+    @Benchmark
+    public Object[] separateWindowFunctions(BidData data) {
+        return new Object[]{
+                data.stream().collect(CollectorEx.rank(BY_EXPERIENCE, Integer::compare, false, counting())),
+                data.stream().collect(CollectorEx.rank(BY_EXPERIENCE, Integer::compare, true, counting())),
+                data.stream().collect(CollectorEx.ntile(4, BY_EXPERIENCE, counting())),
+                data.stream().collect(CollectorEx.summingBigDecimal(BenchmarkBid::getPrice, BY_EXPERIENCE))};
+    }
+
+    @Benchmark
+    public WindowResults sharedWindowFunctions(BidData data) {
+        return data.stream().collect(CollectorEx.windowFunctions(BY_EXPERIENCE,
+                WindowFunction.rank(false, counting()),
+                WindowFunction.rank(true, counting()),
+                WindowFunction.ntile(4, counting()),
+                WindowFunction.summingBigDecimal(BenchmarkBid::getPrice)));
+    }
+
+    @Benchmark
+    public SortedMap<Integer, List<BenchmarkBid>> denseRank(BidData data) {
+        return data.stream().collect(CollectorEx.denseRank(BY_EXPERIENCE));
+    }
+
+    @Benchmark
+    public Map<BenchmarkBid, Integer> mapObjToRank(BidData data) {
+        return data.stream().collect(CollectorEx.mapObjToRank());
+    }
+
+    @Benchmark
+    public int[] mapIndexToRank(BidData data) {
+        return data.stream().collect(CollectorEx.mapIndexToRank(BenchmarkBid::getNum, BY_EXPERIENCE));
+    }
+
+    @Benchmark
+    public Map<BenchmarkBid, Integer> mapObjToDenseRank(BidData data) {
+        return data.stream().collect(CollectorEx.mapObjToDenseRank(BY_EXPERIENCE));
+    }
+
+    @Benchmark
+    public List<BenchmarkBid> rankDistinct(BidData data) {
+        return data.stream().collect(CollectorEx.rankDistinct(BY_EXPERIENCE));
+    }
+
+    @Benchmark
+    public List<Integer> rankDistinctExperience(BidData data) {
+        return data.stream().collect(CollectorEx.rankDistinct(Integer::compare, BenchmarkBid::getExperience,
+                false, toList()));
+    }
+
+    @Benchmark
+    public List<Integer> rankDistinctExperienceDeduplicated(BidData data) {
+        return data.stream().collect(CollectorEx.rankDistinct(Integer::compare, BenchmarkBid::getExperience,
+                true, toList()));
+    }
+
+    @Benchmark
+    public SortedMap<Integer, Long> experienceRankCountingByComparator(BidData data) {
+        return data.stream().collect(CollectorEx.rank(BY_EXPERIENCE, Integer::compare, false, counting()));
+    }
+
+    @Benchmark
+    public SortedMap<Integer, Long> experienceRankCountingByKey(BidData data) {
+        return data.stream().collect(CollectorEx.rankByInt(BenchmarkBid::getExperience, false, counting()));
+    }
+}
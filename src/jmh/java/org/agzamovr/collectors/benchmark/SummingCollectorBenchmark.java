@@ -0,0 +1,101 @@
+package org.agzamovr.collectors.benchmark;
+
+import org.agzamovr.collectors.CollectorEx;
+import org.agzamovr.collectors.FrameFunction;
+import org.agzamovr.collectors.MomentStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+public class SummingCollectorBenchmark extends CollectorBenchmark {
+
+    @Benchmark
+    public List<Integer> summingInt(BidData data) {
+        return data.stream().collect(CollectorEx.summingInt(BenchmarkBid::getExperience));
+    }
+
+    @Benchmark
+    public List<Long> summingLong(BidData data) {
+        return data.stream().collect(CollectorEx.summingLong(BenchmarkBid::getShippingDate));
+    }
+
+    @Benchmark
+    public List<Double> summingDouble(BidData data) {
+        return data.stream().collect(CollectorEx.summingDouble(BenchmarkBid::getRating));
+    }
+
+    @Benchmark
+    public int[] summingIntToArray(BidData data) {
+        return data.stream().collect(CollectorEx.summingIntToArray(BenchmarkBid::getExperience));
+    }
+
+    @Benchmark
+    public long[] summingLongToArray(BidData data) {
+        return data.stream().collect(CollectorEx.summingLongToArray(BenchmarkBid::getShippingDate));
+    }
+
+    @Benchmark
+    public double[] summingDoubleToArray(BidData data) {
+        return data.stream().collect(CollectorEx.summingDoubleToArray(BenchmarkBid::getRating));
+    }
+
+    @Benchmark
+    public List<BigDecimal> summingBigDecimal(BidData data) {
+        return data.stream().collect(CollectorEx.summingBigDecimal(BenchmarkBid::getPrice));
+    }
+
+    @Benchmark
+    public double[] rowsFrameSum(BidData data) {
+        return data.stream().collect(CollectorEx.rowsFrame(BenchmarkBid::getRating, 100, 100, FrameFunction.SUM));
+    }
+
+    @Benchmark
+    public double[] rowsFrameMax(BidData data) {
+        return data.stream().collect(CollectorEx.rowsFrame(BenchmarkBid::getRating, 100, 100, FrameFunction.MAX));
+    }
+
+    @Benchmark
+    public double[] rangeFrameAvg(BidData data) {
+        return data.stream().collect(CollectorEx.rangeFrame(BenchmarkBid::getRating,
+                BenchmarkBid::getShippingDate, 86_400_000L, 0, FrameFunction.AVG));
+    }
+
+    @Benchmark
+    public int[] parallelSummingInt(BidData data) {
+        return data.stream().collect(CollectorEx.parallelSummingInt(BenchmarkBid::getExperience));
+    }
+
+    @Benchmark
+    public double[] parallelSummingDouble(BidData data) {
+        return data.stream().collect(CollectorEx.parallelSummingDouble(BenchmarkBid::getRating));
+    }
+
+    @Benchmark
+    public List<BigDecimal> parallelSummingBigDecimal(BidData data) {
+        return data.stream().collect(CollectorEx.parallelSummingBigDecimal(BenchmarkBid::getPrice));
+    }
+
+    @Benchmark
+    public double[] summingDoubleToArrayByShippingDate(BidData data) {
+        return data.stream().collect(CollectorEx.summingDoubleToArray(BenchmarkBid::getRating,
+                Comparator.comparingLong(BenchmarkBid::getShippingDate)));
+    }
+
+    @Benchmark
+    public double[] summingDoubleToArrayByShippingDateKey(BidData data) {
+        return data.stream().collect(CollectorEx.summingDoubleToArrayByKey(BenchmarkBid::getRating,
+                BenchmarkBid::getShippingDate));
+    }
+
+    @Benchmark
+    public MomentStatistics ratingStatistics(BidData data) {
+        return data.stream().collect(CollectorEx.statisticsDouble(BenchmarkBid::getRating));
+    }
+
+    @Benchmark
+    public MomentStatistics priceStatistics(BidData data) {
+        return data.stream().collect(CollectorEx.statisticsBigDecimal(BenchmarkBid::getPrice));
+    }
+}
@@ -0,0 +1,159 @@
+package org.agzamovr.collectors;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Partial result of a collector which may be continued after its result is computed. Elements are added to the
+ * collector container in the same way as stream elements, accumulations of the same collector are merged with
+ * the collector combiner. The result is computed from a copy of the container, so the accumulation itself is left
+ * intact and the result does not change when more elements are added. The container is copied by combining it into
+ * an empty one, collectors of {@link CollectorEx} which combiners reuse parts of the right container provide their
+ * own copy function instead.
+ * <p>
+ * Accumulation is not thread safe, use {@link #merge(Accumulation)} to combine accumulations built in parallel.
+ * <p>
+ * Accumulations of external collectors, e.g. {@link CollectorEx#externalRank(java.util.Comparator, BinaryCodec, int, Collector)}, keep
+ * spilled runs in temporary files which are deleted only by {@link #close()}, so close them when they are no longer
+ * needed, e.g. with try-with-resources. Closing accumulations of other collectors just drops their state.
+ * <p>
+ * The container type is a type parameter, so partial state can be written and read only with a codec of the
+ * container of the collector, see {@link BinaryCodecs}.
+ *
+ * @param <T> the type of input elements
+ * @param <A> the mutable accumulation type of the collector
+ * @param <R> the result type of the collector
+ * @see CollectorEx#accumulation(Collector)
+ */
+public final class Accumulation<T, A, R> implements AutoCloseable {
+    private final Collector<T, A, R> collector;
+    private final Supplier<A> supplier;
+    private final BiConsumer<A, ? super T> accumulator;
+    private final BinaryOperator<A> combiner;
+    private final Function<A, R> finisher;
+    private final UnaryOperator<A> copier;
+    private final Consumer<A> releaser;
+    private A container;
+
+    Accumulation(Collector<T, A, R> collector) {
+        Objects.requireNonNull(collector, "Collector cannot be null");
+        this.collector = collector;
+        this.supplier = collector.supplier();
+        this.accumulator = collector.accumulator();
+        this.combiner = collector.combiner();
+        this.finisher = collector.finisher();
+        this.copier = copier(collector);
+        this.releaser = releaser(collector);
+        this.container = supplier.get();
+    }
+
+    public Accumulation<T, A, R> add(T item) {
+        accumulator.accept(container, item);
+        return this;
+    }
+
+    public Accumulation<T, A, R> addAll(Iterable<? extends T> items) {
+        for (T item : items)
+            accumulator.accept(container, item);
+        return this;
+    }
+
+    public Accumulation<T, A, R> addAll(Stream<? extends T> items) {
+        items.sequential().forEachOrdered(item -> accumulator.accept(container, item));
+        return this;
+    }
+
+    /**
+     * Combines state of the other accumulation of the same collector into this one. The other accumulation is
+     * left intact.
+     *
+     * @param other the accumulation of the same collector instance
+     * @return this accumulation
+     */
+    public Accumulation<T, A, R> merge(Accumulation<T, A, R> other) {
+        if (other.collector != collector)
+            throw new IllegalArgumentException("Accumulations of different collectors cannot be merged");
+        container = combiner.apply(container, other.copy());
+        return this;
+    }
+
+    /**
+     * Computes the result of the collector for all elements added so far without affecting the accumulation.
+     *
+     * @return the result of the collector
+     */
+    public R result() {
+        return finisher.apply(copy());
+    }
+
+    /**
+     * Writes partial state of the accumulation at the current position of the buffer.
+     *
+     * @param buffer     the buffer
+     * @param stateCodec the codec of partial state of the collector, see {@link BinaryCodecs}
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining space
+     */
+    public void writeTo(ByteBuffer buffer, BinaryCodec<? super A> stateCodec) {
+        stateCodec.write(container, buffer);
+    }
+
+    /**
+     * Writes partial state of the accumulation into a new buffer.
+     *
+     * @param stateCodec the codec of partial state of the collector, see {@link BinaryCodecs}
+     * @return the buffer ready to be read
+     */
+    public ByteBuffer toByteBuffer(BinaryCodec<? super A> stateCodec) {
+        return BinaryCodecs.encode(stateCodec, container);
+    }
+
+    /**
+     * Reads partial state written by an accumulation of the same collector from the current position of the buffer
+     * and combines it into this accumulation with the collector combiner.
+     *
+     * @param buffer     the buffer
+     * @param stateCodec the codec of partial state of the collector, see {@link BinaryCodecs}
+     * @return this accumulation
+     */
+    public Accumulation<T, A, R> mergeFrom(ByteBuffer buffer, BinaryCodec<? extends A> stateCodec) {
+        container = combiner.apply(container, stateCodec.read(buffer));
+        return this;
+    }
+
+    /**
+     * Releases resources held by the partial state, e.g. temporary files of external collectors. The accumulation is
+     * empty after it is closed.
+     */
+    @Override
+    public void close() {
+        releaser.accept(container);
+        container = supplier.get();
+    }
+
+    private A copy() {
+        return copier.apply(container);
+    }
+
+    private static <T, A, R> UnaryOperator<A> copier(Collector<T, A, R> collector) {
+        if (collector instanceof CopyingCollector)
+            return ((CopyingCollector<T, A, R>) collector).copier();
+        Supplier<A> supplier = collector.supplier();
+        BinaryOperator<A> combiner = collector.combiner();
+        return container -> combiner.apply(supplier.get(), container);
+    }
+
+    private static <T, A, R> Consumer<A> releaser(Collector<T, A, R> collector) {
+        if (collector instanceof CopyingCollector)
+            return ((CopyingCollector<T, A, R>) collector).releaser();
+        return container -> {
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package org.agzamovr.collectors;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+import static java.util.stream.Collectors.toList;
+
+class ApproximateDistinctCollector {
+    static final ApproximateDistinctCollector APPROXIMATE_DISTINCT_COLLECTOR = new ApproximateDistinctCollector();
+
+    /**
+     * Passes objects which keys are probably new to the downstream container. Only the filter bits and the
+     * downstream container are kept, partial results are combined by merging filters and downstream containers.
+     */
+    static class ProbablyDistinct<D, A> {
+        private final BloomFilter<D> filter;
+        private A container;
+
+        ProbablyDistinct(BloomFilter<D> filter, A container) {
+            this.filter = filter;
+            this.container = container;
+        }
+
+        <T> void add(D key, T item, BiConsumer<A, ? super T> downstreamAccumulator) {
+            if (filter.add(key))
+                downstreamAccumulator.accept(container, item);
+        }
+
+        ProbablyDistinct<D, A> merge(ProbablyDistinct<D, A> other, BinaryOperator<A> downstreamCombiner) {
+            filter.merge(other.filter);
+            container = downstreamCombiner.apply(container, other.container);
+            return this;
+        }
+
+        A container() {
+            return container;
+        }
+    }
+
+    private void validateInput(Function<?, ?> mapper,
+                               ToLongFunction<?> hashFunction,
+                               long expectedInsertions,
+                               double falsePositiveProbability,
+                               Collector<?, ?, ?> downstream) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(hashFunction, "Hash function cannot be null");
+        if (expectedInsertions <= 0)
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1))
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1: "
+                    + falsePositiveProbability);
+        BloomFilter.numWords(expectedInsertions, falsePositiveProbability);
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+    }
+
+    <T, D>
+    Collector<T, ?, List<T>> approximateDistinct(Function<? super T, D> mapper,
+                                                 long expectedInsertions,
+                                                 double falsePositiveProbability) {
+        return approximateDistinct(mapper, expectedInsertions, falsePositiveProbability, toList());
+    }
+
+    <T, D, R>
+    Collector<T, ?, R> approximateDistinct(Function<? super T, D> mapper,
+                                           long expectedInsertions,
+                                           double falsePositiveProbability,
+                                           Collector<? super T, ?, R> downstream) {
+        return approximateDistinctByHash(mapper, BloomFilter::hashCode, expectedInsertions, falsePositiveProbability,
+                downstream);
+    }
+
+    <T, D>
+    Collector<T, ?, List<T>> approximateDistinctByHash(Function<? super T, D> mapper,
+                                                       ToLongFunction<? super D> hashFunction,
+                                                       long expectedInsertions,
+                                                       double falsePositiveProbability) {
+        return approximateDistinctByHash(mapper, hashFunction, expectedInsertions, falsePositiveProbability,
+                toList());
+    }
+
+    <T, D, A, R>
+    Collector<T, ProbablyDistinct<D, A>, R> approximateDistinctByHash(Function<? super T, D> mapper,
+                                                                      ToLongFunction<? super D> hashFunction,
+                                                                      long expectedInsertions,
+                                                                      double falsePositiveProbability,
+                                                                      Collector<? super T, A, R> downstream) {
+        validateInput(mapper, hashFunction, expectedInsertions, falsePositiveProbability, downstream);
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        Function<A, R> downstreamFinisher = downstream.finisher();
+        return Collector.of(() -> new ProbablyDistinct<>(
+                        new BloomFilter<>(expectedInsertions, falsePositiveProbability, hashFunction),
+                        downstreamSupplier.get()),
+                (state, item) -> state.add(mapper.apply(item), item, downstreamAccumulator),
+                (left, right) -> left.merge(right, downstreamCombiner),
+                (state) -> downstreamFinisher.apply(state.container()));
+    }
+}
@@ -0,0 +1,37 @@
+package org.agzamovr.collectors;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+class ApproximateModeCollector {
+    static final ApproximateModeCollector APPROXIMATE_MODE_COLLECTOR = new ApproximateModeCollector();
+
+    private static final int CAPACITY_FACTOR = 10;
+    private static final int MIN_CAPACITY = 100;
+
+    private void validateInput(int k, int capacity, Function<?, ?> mapper) {
+        if (k <= 0)
+            throw new IllegalArgumentException("Number of items must be positive: " + k);
+        if (capacity < k)
+            throw new IllegalArgumentException("Capacity must not be less than number of items: " + capacity);
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+    }
+
+    <T, D>
+    Collector<T, ?, List<HeavyHitter<D>>> approximateMode(int k, Function<? super T, D> mapper) {
+        return approximateMode(k, Math.max(MIN_CAPACITY, k * CAPACITY_FACTOR), mapper);
+    }
+
+    <T, D>
+    Collector<T, SpaceSavingSketch<D>, List<HeavyHitter<D>>> approximateMode(int k,
+                                                                            int capacity,
+                                                                            Function<? super T, D> mapper) {
+        validateInput(k, capacity, mapper);
+        return Collector.of(() -> new SpaceSavingSketch<>(capacity),
+                (sketch, item) -> sketch.add(mapper.apply(item)),
+                SpaceSavingSketch::merge,
+                (sketch) -> sketch.top(k));
+    }
+}
@@ -0,0 +1,101 @@
+package org.agzamovr.collectors;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import static java.util.Comparator.nullsLast;
+import static java.util.stream.Collectors.toList;
+
+class ApproximateNTileCollector {
+    static final ApproximateNTileCollector APPROXIMATE_N_TILE_COLLECTOR = new ApproximateNTileCollector();
+
+    private void validateInput(int tiles, Comparator<?> comparator) {
+        if (tiles <= 0)
+            throw new IllegalArgumentException("Number of tiles must be positive: " + tiles);
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+    }
+
+    <T>
+    List<T> boundariesFinisher(QuantileSketch<T> sketch, int tiles) {
+        double[] ranks = new double[tiles - 1];
+        for (int i = 0; i < ranks.length; i++)
+            ranks[i] = (double) (i + 1) / tiles;
+        return sketch.quantiles(ranks);
+    }
+
+    <T>
+    int bucketIndex(List<T> boundaries, Comparator<? super T> comparator, T item) {
+        int low = 0;
+        int high = boundaries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(item, boundaries.get(mid)) > 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    <T extends Comparable<? super T>>
+    Collector<T, ?, List<T>> ntileBoundaries(int tiles, double rankError) {
+        return ntileBoundaries(tiles, rankError, nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, QuantileSketch<T>, List<T>> ntileBoundaries(int tiles,
+                                                             double rankError,
+                                                             Comparator<? super T> comparator) {
+        validateInput(tiles, comparator);
+        int k = QuantileSketch.computeK(rankError);
+        return Collector.of(() -> new QuantileSketch<>(k, comparator),
+                QuantileSketch::add,
+                QuantileSketch::merge,
+                (sketch) -> boundariesFinisher(sketch, tiles));
+    }
+
+    <T>
+    Collector<T, ?, List<List<T>>> ntileByBoundaries(List<T> boundaries,
+                                                     Comparator<? super T> comparator) {
+        return ntileByBoundaries(boundaries, comparator, toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    <T, A, R>
+    Collector<T, Object[], List<R>> ntileByBoundaries(List<T> boundaries,
+                                                      Comparator<? super T> comparator,
+                                                      Collector<? super T, A, R> downstream) {
+        Objects.requireNonNull(boundaries, "Boundaries cannot be null");
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        List<T> bounds = new ArrayList<>(boundaries);
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        Function<A, R> downstreamFinisher = downstream.finisher();
+        Supplier<Object[]> supplier = () -> {
+            Object[] containers = new Object[bounds.size() + 1];
+            for (int i = 0; i < containers.length; i++)
+                containers[i] = downstreamSupplier.get();
+            return containers;
+        };
+        BiConsumer<Object[], T> accumulator = (containers, item) ->
+                downstreamAccumulator.accept((A) containers[bucketIndex(bounds, comparator, item)], item);
+        BinaryOperator<Object[]> combiner = (left, right) -> {
+            for (int i = 0; i < left.length; i++)
+                left[i] = downstreamCombiner.apply((A) left[i], (A) right[i]);
+            return left;
+        };
+        Function<Object[], List<R>> finisher = (containers) -> {
+            List<R> result = new ArrayList<>(containers.length);
+            for (Object container : containers)
+                result.add(downstreamFinisher.apply((A) container));
+            return result;
+        };
+        return Collector.of(supplier, accumulator, combiner, finisher);
+    }
+}
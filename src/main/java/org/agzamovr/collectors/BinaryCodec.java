@@ -0,0 +1,17 @@
+package org.agzamovr.collectors;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes values to and reads values from a {@link ByteBuffer}. Values are written at the current position of the
+ * buffer, {@link java.nio.BufferOverflowException} is thrown when the buffer has not enough remaining space.
+ * Standard codecs of elements and of collector partial states are provided by {@link BinaryCodecs}.
+ *
+ * @param <T> the type of values
+ */
+public interface BinaryCodec<T> {
+
+    void write(T value, ByteBuffer buffer);
+
+    T read(ByteBuffer buffer);
+}
@@ -0,0 +1,424 @@
+package org.agzamovr.collectors;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Binary codecs of stream elements and of partial states of collectors. Integers, counts and sizes are written as
+ * variable length integers, signed values are zigzag encoded, sorted primitive keys are delta encoded. Partial
+ * states are written with {@link Accumulation#writeTo(ByteBuffer, BinaryCodec)} and merged with
+ * {@link Accumulation#mergeFrom(ByteBuffer, BinaryCodec)}. The type of state codec must match the accumulation type
+ * of the collector, so a codec of another collector is rejected by the compiler:
+ * <ul>
+ * <li>{@link #listState(BinaryCodec)} - rank, ntile, rank distinct, summing and parallel summing collectors</li>
+ * <li>{@link #setState(BinaryCodec)} - rank distinct collectors which drop duplicates during accumulation</li>
+ * <li>{@link #distinctState(BinaryCodec, BinaryCodec)} - {@link CollectorEx#distinct} collectors</li>
+ * <li>{@link #modeState(BinaryCodec)} - {@link CollectorEx#mode} collectors</li>
+ * <li>{@link #modeIntState()} and {@link #modeLongState()} - primitive mode collectors</li>
+ * <li>{@link #multiValueMapState(BinaryCodec, BinaryCodec)} - multi value map collectors except concurrent ones</li>
+ * </ul>
+ */
+public final class BinaryCodecs {
+    private static final int INITIAL_BUFFER_SIZE = 1 << 10;
+
+    private static final BinaryCodec<Integer> INTEGERS = new BinaryCodec<Integer>() {
+        @Override
+        public void write(Integer value, ByteBuffer buffer) {
+            writeVarLong(buffer, zigzag(value));
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer) {
+            return (int) unzigzag(readVarLong(buffer));
+        }
+    };
+
+    private static final BinaryCodec<Long> LONGS = new BinaryCodec<Long>() {
+        @Override
+        public void write(Long value, ByteBuffer buffer) {
+            writeVarLong(buffer, zigzag(value));
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer) {
+            return unzigzag(readVarLong(buffer));
+        }
+    };
+
+    private static final BinaryCodec<Double> DOUBLES = new BinaryCodec<Double>() {
+        @Override
+        public void write(Double value, ByteBuffer buffer) {
+            buffer.putDouble(value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    private static final BinaryCodec<String> STRINGS = new BinaryCodec<String>() {
+        @Override
+        public void write(String value, ByteBuffer buffer) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(buffer, bytes.length);
+            buffer.put(bytes);
+        }
+
+        @Override
+        public String read(ByteBuffer buffer) {
+            int length = (int) readVarLong(buffer);
+            String value;
+            if (buffer.hasArray()) {
+                value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return value;
+        }
+    };
+
+    private static final BinaryCodec<BigDecimal> BIG_DECIMALS = new BinaryCodec<BigDecimal>() {
+        @Override
+        public void write(BigDecimal value, ByteBuffer buffer) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeVarLong(buffer, zigzag(value.scale()));
+            writeVarLong(buffer, unscaled.length);
+            buffer.put(unscaled);
+        }
+
+        @Override
+        public BigDecimal read(ByteBuffer buffer) {
+            int scale = (int) unzigzag(readVarLong(buffer));
+            byte[] unscaled = new byte[(int) readVarLong(buffer)];
+            buffer.get(unscaled);
+            return new BigDecimal(new BigInteger(unscaled), scale);
+        }
+    };
+
+    private static final BinaryCodec<IntCounts> MODE_INT_STATE = new BinaryCodec<IntCounts>() {
+        @Override
+        public void write(IntCounts value, ByteBuffer buffer) {
+            value.writeTo(buffer);
+        }
+
+        @Override
+        public IntCounts read(ByteBuffer buffer) {
+            return IntCounts.readFrom(buffer);
+        }
+    };
+
+    private static final BinaryCodec<LongCounts> MODE_LONG_STATE = new BinaryCodec<LongCounts>() {
+        @Override
+        public void write(LongCounts value, ByteBuffer buffer) {
+            value.writeTo(buffer);
+        }
+
+        @Override
+        public LongCounts read(ByteBuffer buffer) {
+            return LongCounts.readFrom(buffer);
+        }
+    };
+
+    private BinaryCodecs() {
+    }
+
+    /**
+     * Returns codec of non null integers, values are zigzag encoded into 1 to 5 bytes.
+     *
+     * @return the codec of integers
+     */
+    public static BinaryCodec<Integer> integers() {
+        return INTEGERS;
+    }
+
+    /**
+     * Returns codec of non null longs, values are zigzag encoded into 1 to 10 bytes.
+     *
+     * @return the codec of longs
+     */
+    public static BinaryCodec<Long> longs() {
+        return LONGS;
+    }
+
+    /**
+     * Returns codec of non null doubles, values are written as 8 bytes.
+     *
+     * @return the codec of doubles
+     */
+    public static BinaryCodec<Double> doubles() {
+        return DOUBLES;
+    }
+
+    /**
+     * Returns codec of non null strings, strings are written as UTF-8 bytes prefixed by the length. Strings are
+     * decoded directly from the backing array of heap buffers.
+     *
+     * @return the codec of strings
+     */
+    public static BinaryCodec<String> strings() {
+        return STRINGS;
+    }
+
+    /**
+     * Returns codec of non null big decimals, values are written as scale and bytes of unscaled value.
+     *
+     * @return the codec of big decimals
+     */
+    public static BinaryCodec<BigDecimal> bigDecimals() {
+        return BIG_DECIMALS;
+    }
+
+    /**
+     * Returns codec which supports null values, each value is prefixed by a presence byte.
+     *
+     * @param codec the codec of non null values
+     * @param <T>   the type of values
+     * @return the codec of nullable values
+     */
+    public static <T> BinaryCodec<T> nullable(BinaryCodec<T> codec) {
+        Objects.requireNonNull(codec, "Codec cannot be null");
+        return new BinaryCodec<T>() {
+            @Override
+            public void write(T value, ByteBuffer buffer) {
+                buffer.put((byte) (value == null ? 0 : 1));
+                if (value != null)
+                    codec.write(value, buffer);
+            }
+
+            @Override
+            public T read(ByteBuffer buffer) {
+                return buffer.get() == 0 ? null : codec.read(buffer);
+            }
+        };
+    }
+
+    /**
+     * Returns codec of partial state of collectors which buffer stream elements into a list.
+     *
+     * @param elementCodec the codec of stream elements
+     * @param <T>          the type of stream elements
+     * @return the codec of list state
+     */
+    public static <T> BinaryCodec<List<T>> listState(BinaryCodec<T> elementCodec) {
+        Objects.requireNonNull(elementCodec, "Element codec cannot be null");
+        return new BinaryCodec<List<T>>() {
+            @Override
+            public void write(List<T> value, ByteBuffer buffer) {
+                writeVarLong(buffer, value.size());
+                for (T item : value)
+                    elementCodec.write(item, buffer);
+            }
+
+            @Override
+            public List<T> read(ByteBuffer buffer) {
+                int size = (int) readVarLong(buffer);
+                List<T> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    list.add(elementCodec.read(buffer));
+                return list;
+            }
+        };
+    }
+
+    /**
+     * Returns codec of partial state of rank distinct collectors which drop duplicates into a set. Elements are read
+     * back in the order they were written.
+     *
+     * @param elementCodec the codec of mapped values
+     * @param <T>          the type of mapped values
+     * @return the codec of set state
+     */
+    public static <T> BinaryCodec<Set<T>> setState(BinaryCodec<T> elementCodec) {
+        Objects.requireNonNull(elementCodec, "Element codec cannot be null");
+        return new BinaryCodec<Set<T>>() {
+            @Override
+            public void write(Set<T> value, ByteBuffer buffer) {
+                writeVarLong(buffer, value.size());
+                for (T item : value)
+                    elementCodec.write(item, buffer);
+            }
+
+            @Override
+            public Set<T> read(ByteBuffer buffer) {
+                int size = (int) readVarLong(buffer);
+                Set<T> set = new LinkedHashSet<>();
+                for (int i = 0; i < size; i++)
+                    set.add(elementCodec.read(buffer));
+                return set;
+            }
+        };
+    }
+
+    /**
+     * Returns codec of partial state of distinct collectors, the map of mapped keys to stream elements.
+     *
+     * @param keyCodec     the codec of mapped keys
+     * @param elementCodec the codec of stream elements
+     * @param <D>          the type of mapped keys
+     * @param <T>          the type of stream elements
+     * @return the codec of distinct state
+     */
+    public static <D, T> BinaryCodec<Map<D, T>> distinctState(BinaryCodec<D> keyCodec, BinaryCodec<T> elementCodec) {
+        Objects.requireNonNull(keyCodec, "Key codec cannot be null");
+        Objects.requireNonNull(elementCodec, "Element codec cannot be null");
+        return new BinaryCodec<Map<D, T>>() {
+            @Override
+            public void write(Map<D, T> value, ByteBuffer buffer) {
+                writeVarLong(buffer, value.size());
+                value.forEach((key, item) -> {
+                    keyCodec.write(key, buffer);
+                    elementCodec.write(item, buffer);
+                });
+            }
+
+            @Override
+            public Map<D, T> read(ByteBuffer buffer) {
+                int size = (int) readVarLong(buffer);
+                Map<D, T> map = new HashMap<>();
+                for (int i = 0; i < size; i++)
+                    map.put(keyCodec.read(buffer), elementCodec.read(buffer));
+                return map;
+            }
+        };
+    }
+
+    /**
+     * Returns codec of partial state of mode collectors, mapped values with their counts.
+     *
+     * @param keyCodec the codec of mapped values
+     * @param <D>      the type of mapped values
+     * @return the codec of mode state
+     */
+    public static <D> BinaryCodec<ModeCounts<D>> modeState(BinaryCodec<D> keyCodec) {
+        Objects.requireNonNull(keyCodec, "Key codec cannot be null");
+        return new BinaryCodec<ModeCounts<D>>() {
+            @Override
+            public void write(ModeCounts<D> value, ByteBuffer buffer) {
+                writeVarLong(buffer, value.counts().size());
+                value.counts().forEach((key, counter) -> {
+                    keyCodec.write(key, buffer);
+                    writeVarLong(buffer, counter[0]);
+                });
+            }
+
+            @Override
+            public ModeCounts<D> read(ByteBuffer buffer) {
+                int size = (int) readVarLong(buffer);
+                ModeCounts<D> modeCounts = new ModeCounts<>();
+                for (int i = 0; i < size; i++)
+                    modeCounts.add(keyCodec.read(buffer), readVarLong(buffer));
+                return modeCounts;
+            }
+        };
+    }
+
+    /**
+     * Returns codec of partial state of {@link CollectorEx#modeInt} collector. Keys are sorted and delta encoded.
+     *
+     * @return the codec of int mode state
+     */
+    public static BinaryCodec<IntCounts> modeIntState() {
+        return MODE_INT_STATE;
+    }
+
+    /**
+     * Returns codec of partial state of {@link CollectorEx#modeLong} collector. Keys are sorted and delta encoded.
+     *
+     * @return the codec of long mode state
+     */
+    public static BinaryCodec<LongCounts> modeLongState() {
+        return MODE_LONG_STATE;
+    }
+
+    /**
+     * Returns codec of partial state of multi value map collectors.
+     *
+     * @param keyCodec   the codec of keys
+     * @param valueCodec the codec of values
+     * @param <K>        the type of keys
+     * @param <V>        the type of values
+     * @return the codec of multi value map state
+     */
+    public static <K, V> BinaryCodec<Map<K, List<V>>> multiValueMapState(BinaryCodec<K> keyCodec,
+                                                                         BinaryCodec<V> valueCodec) {
+        Objects.requireNonNull(keyCodec, "Key codec cannot be null");
+        BinaryCodec<List<V>> listCodec = listState(valueCodec);
+        return new BinaryCodec<Map<K, List<V>>>() {
+            @Override
+            public void write(Map<K, List<V>> value, ByteBuffer buffer) {
+                writeVarLong(buffer, value.size());
+                value.forEach((key, values) -> {
+                    keyCodec.write(key, buffer);
+                    listCodec.write(values, buffer);
+                });
+            }
+
+            @Override
+            public Map<K, List<V>> read(ByteBuffer buffer) {
+                int size = (int) readVarLong(buffer);
+                Map<K, List<V>> map = new HashMap<>();
+                for (int i = 0; i < size; i++)
+                    map.put(keyCodec.read(buffer), listCodec.read(buffer));
+                return map;
+            }
+        };
+    }
+
+    /**
+     * Writes value into a new heap buffer, the buffer grows until the value fits.
+     *
+     * @param codec the codec of value
+     * @param value the value
+     * @param <T>   the type of value
+     * @return the buffer ready to be read
+     */
+    public static <T> ByteBuffer encode(BinaryCodec<? super T> codec, T value) {
+        for (int size = INITIAL_BUFFER_SIZE; ; size = Math.multiplyExact(size, 2)) {
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            try {
+                codec.write(value, buffer);
+                buffer.flip();
+                return buffer;
+            } catch (BufferOverflowException e) {
+                // retry with larger buffer
+            }
+        }
+    }
+
+    static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+            if (shift > 56)
+                throw new IllegalStateException("Malformed variable length integer");
+        }
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,82 @@
+package org.agzamovr.collectors;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Bloom filter over 64 bit hashes of objects. The number of bits and hash functions is derived from expected number
+ * of insertions and desired false positive probability. Bit positions are computed by double hashing of the mixed
+ * 64 bit hash. Objects with equal hashes are indistinguishable, so the false positive probability can not be lower
+ * than the collision probability of the hash function. By default the hash is {@link Object#hashCode()} which has
+ * only 32 bits.
+ *
+ * @param <D> the type of objects
+ */
+class BloomFilter<D> {
+    private static final int MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private final ToLongFunction<? super D> hashFunction;
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashes;
+
+    BloomFilter(long expectedInsertions, double falsePositiveProbability, ToLongFunction<? super D> hashFunction) {
+        this.hashFunction = hashFunction;
+        this.bits = new long[numWords(expectedInsertions, falsePositiveProbability)];
+        this.numBits = (long) bits.length << 6;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+    }
+
+    static <D> long hashCode(D item) {
+        return item == null ? 0 : item.hashCode();
+    }
+
+    /**
+     * Computes the number of 64 bit words of the filter.
+     *
+     * @throws IllegalArgumentException if the filter does not fit into a single array
+     */
+    static int numWords(long expectedInsertions, double falsePositiveProbability) {
+        double optimalBits = Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+                / (Math.log(2) * Math.log(2)));
+        double words = Math.ceil(Math.max(64, optimalBits) / 64);
+        if (words > MAX_WORDS)
+            throw new IllegalArgumentException("Bloom filter of " + optimalBits + " bits is too large for "
+                    + expectedInsertions + " expected insertions and false positive probability "
+                    + falsePositiveProbability);
+        return (int) words;
+    }
+
+    /**
+     * Adds object to the filter.
+     *
+     * @return {@code true} if the object was definitely not added before, {@code false} if it probably was
+     */
+    boolean add(D item) {
+        long hash = mix(hashFunction.applyAsLong(item));
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= numHashes; i++) {
+            long index = ((hash1 + (long) i * hash2) & Long.MAX_VALUE) % numBits;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    BloomFilter<D> merge(BloomFilter<D> other) {
+        for (int i = 0; i < bits.length; i++)
+            bits[i] |= other.bits[i];
+        return this;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
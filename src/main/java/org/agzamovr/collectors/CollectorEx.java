@@ -3,22 +3,31 @@ package org.agzamovr.collectors;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
-import java.util.function.ToIntFunction;
-import java.util.function.ToLongFunction;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.*;
 import java.util.stream.Collector;
 
+import static org.agzamovr.collectors.ApproximateDistinctCollector.APPROXIMATE_DISTINCT_COLLECTOR;
+import static org.agzamovr.collectors.ApproximateModeCollector.APPROXIMATE_MODE_COLLECTOR;
+import static org.agzamovr.collectors.ApproximateNTileCollector.APPROXIMATE_N_TILE_COLLECTOR;
 import static org.agzamovr.collectors.DistinctCollector.DISTINCT_COLLECTOR;
+import static org.agzamovr.collectors.FrameCollector.FRAME_COLLECTOR;
 import static org.agzamovr.collectors.ModeCollector.MODE_COLLECTOR;
 import static org.agzamovr.collectors.MultiValueMapCollector.MULTI_VALUE_MAP_COLLECTOR;
 import static org.agzamovr.collectors.NTileCollector.N_TILE_COLLECTOR;
+import static org.agzamovr.collectors.ParallelSummingCollector.PARALLEL_SUMMING_COLLECTOR;
+import static org.agzamovr.collectors.PercentileCollector.PERCENTILE_COLLECTOR;
+import static org.agzamovr.collectors.PresortedRankingCollector.PRESORTED_RANKING_COLLECTOR;
+import static org.agzamovr.collectors.PrimitiveModeCollector.PRIMITIVE_MODE_COLLECTOR;
 import static org.agzamovr.collectors.RankDistinctCollector.RANK_DISTINCT_COLLECTOR;
 import static org.agzamovr.collectors.RankingCollector.RANKING_COLLECTOR;
+import static org.agzamovr.collectors.StatisticsCollector.STATISTICS_COLLECTOR;
 import static org.agzamovr.collectors.SummingBigDecimalCollector.SUMMING_BIG_DECIMAL_COLLECTOR;
 import static org.agzamovr.collectors.SummingDoubleCollector.SUMMING_DOUBLE_COLLECTOR;
 import static org.agzamovr.collectors.SummingIntCollector.SUMMING_INT_COLLECTOR;
 import static org.agzamovr.collectors.SummingLongCollector.SUMMING_LONG_COLLECTOR;
+import static org.agzamovr.collectors.TopRankingCollector.TOP_RANKING_COLLECTOR;
+import static org.agzamovr.collectors.WindowCollector.WINDOW_COLLECTOR;
 // The MIT License (MIT)
 // Copyright (c) 2016 Rustam Agzamov
 // Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
@@ -42,6 +51,7 @@ import static org.agzamovr.collectors.SummingLongCollector.SUMMING_LONG_COLLECTO
  * @author Rustam Agzamov
  */
 public class CollectorEx {
+    static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
 
     /**
      * Computes the rank of object using natural ordering. The ranks are consecutive integers beginning with 1.
@@ -58,7 +68,7 @@ public class CollectorEx {
      * @return {@link SortedMap} containing ranks as keys and ranked objects as values
      */
     public static <T extends Comparable<? super T>>
-    Collector<T, ?, SortedMap<Integer, List<T>>> denseRank() {
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> denseRank() {
         return RANKING_COLLECTOR.denseRank();
     }
 
@@ -79,7 +89,7 @@ public class CollectorEx {
      * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
      */
     public static <T>
-    Collector<T, ?, SortedMap<Integer, List<T>>> denseRank(Comparator<? super T> comparator) {
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> denseRank(Comparator<? super T> comparator) {
         return RANKING_COLLECTOR.denseRank(comparator);
     }
 
@@ -101,7 +111,7 @@ public class CollectorEx {
      * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
      */
     public static <T extends Comparable<? super T>, R>
-    Collector<T, ?, SortedMap<Integer, R>> denseRank(Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, SortedMap<Integer, R>> denseRank(Collector<? super T, ?, R> downstream) {
         return RANKING_COLLECTOR.denseRank(downstream);
     }
 
@@ -125,8 +135,8 @@ public class CollectorEx {
      * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
      */
     public static <T>
-    Collector<T, ?, SortedMap<Integer, List<T>>> denseRank(Comparator<? super T> comparator,
-                                                           Comparator<Integer> rankOrder) {
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> denseRank(Comparator<? super T> comparator,
+                                                                 Comparator<Integer> rankOrder) {
         return RANKING_COLLECTOR.denseRank(comparator, rankOrder);
     }
 
@@ -145,7 +155,7 @@ public class CollectorEx {
      * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
      */
     public static <T extends Comparable<? super T>>
-    Collector<T, ?, SortedMap<Integer, List<T>>> rank() {
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rank() {
         return RANKING_COLLECTOR.rank();
     }
 
@@ -166,7 +176,7 @@ public class CollectorEx {
      * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
      */
     public static <T>
-    Collector<T, ?, SortedMap<Integer, List<T>>> rank(Comparator<? super T> comparator) {
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rank(Comparator<? super T> comparator) {
         return RANKING_COLLECTOR.rank(comparator);
     }
 
@@ -188,7 +198,7 @@ public class CollectorEx {
      * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
      */
     public static <T extends Comparable<? super T>, R>
-    Collector<T, ?, SortedMap<Integer, R>> rank(Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, SortedMap<Integer, R>> rank(Collector<? super T, ?, R> downstream) {
         return RANKING_COLLECTOR.rank(downstream);
     }
 
@@ -210,8 +220,8 @@ public class CollectorEx {
      * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
      */
     public static <T>
-    Collector<T, ?, SortedMap<Integer, List<T>>> rank(Comparator<? super T> comparator,
-                                                      Comparator<Integer> rankOrder) {
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rank(Comparator<? super T> comparator,
+                                                            Comparator<Integer> rankOrder) {
         return RANKING_COLLECTOR.rank(comparator, rankOrder);
     }
 
@@ -236,13 +246,264 @@ public class CollectorEx {
      * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
      */
     public static <T, R>
-    Collector<T, ?, SortedMap<Integer, R>> rank(Comparator<? super T> comparator,
-                                                Comparator<Integer> rankOrder,
-                                                boolean denseRank,
-                                                Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, SortedMap<Integer, R>> rank(Comparator<? super T> comparator,
+                                                      Comparator<Integer> rankOrder,
+                                                      boolean denseRank,
+                                                      Collector<? super T, ?, R> downstream) {
         return RANKING_COLLECTOR.rank(comparator, rankOrder, denseRank, downstream);
     }
 
+    /**
+     * Computes the first {@code limit} ranks of objects using natural ordering. Unlike {@link #rank()} this collector
+     * does not buffer the whole stream, only the objects which rank does not exceed the limit are kept. All objects
+     * tied at the last rank are kept. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 2, 3, 4, 4, 3, 2, 1);
+     *     SortedMap<Integer, List<Integer>> rankedMap = list.stream().collect(CollectorEx.topRanks(3));
+     *     System.out.println(rankedMap);
+     * }</pre>
+     * This will prints {@code {1=[1, 1], 3=[2, 2]}}.
+     *
+     * @param limit the maximum rank to keep
+     * @param <T>   the type of stream objects
+     * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, ?, SortedMap<Integer, List<T>>> topRanks(int limit) {
+        return TOP_RANKING_COLLECTOR.topRanks(limit);
+    }
+
+    /**
+     * Computes the first {@code limit} ranks of objects using given comparator.
+     *
+     * @param limit      the maximum rank to keep
+     * @param comparator the comparator for custom ordering
+     * @param <T>        the type of stream objects
+     * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
+     * @see CollectorEx#topRanks(int)
+     */
+    public static <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> topRanks(int limit,
+                                                          Comparator<? super T> comparator) {
+        return TOP_RANKING_COLLECTOR.topRanks(limit, comparator);
+    }
+
+    /**
+     * Computes the first {@code limit} ranks or dense ranks of objects using given comparator.
+     *
+     * @param limit      the maximum rank to keep
+     * @param comparator the comparator for custom ordering
+     * @param denseRank  the dense rank flag
+     * @param <T>        the type of stream objects
+     * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
+     * @see CollectorEx#topRanks(int)
+     */
+    public static <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> topRanks(int limit,
+                                                          Comparator<? super T> comparator,
+                                                          boolean denseRank) {
+        return TOP_RANKING_COLLECTOR.topRanks(limit, comparator, denseRank);
+    }
+
+    /**
+     * Computes the first {@code limit} ranks or dense ranks of objects using given comparator and collects
+     * the same ranked objects using given downstream collector. The result is the same as the head of
+     * {@link #rank(Comparator, Comparator, boolean, Collector)} result up to the {@code limit} rank, but
+     * the collector keeps only the top ranked objects in memory.
+     *
+     * @param limit      the maximum rank to keep
+     * @param comparator the comparator for custom ordering
+     * @param denseRank  the dense rank flag
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return {@link SortedMap} containing ranks as keys and result of the downstream collector as values
+     * @see CollectorEx#topRanks(int)
+     */
+    public static <T, R>
+    Collector<T, ?, SortedMap<Integer, R>> topRanks(int limit,
+                                                    Comparator<? super T> comparator,
+                                                    boolean denseRank,
+                                                    Collector<? super T, ?, R> downstream) {
+        return TOP_RANKING_COLLECTOR.topRanks(limit, comparator, denseRank, downstream);
+    }
+
+    /**
+     * Computes ranks of objects of the stream which is already sorted in natural order. Unlike {@link #rank()} this
+     * collector does not buffer and sort the stream, ranks are assigned as objects arrive. The order is verified
+     * incrementally and {@link IllegalStateException} is thrown as soon as an object is less than the previous one.
+     * Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 1, 2, 3, 3, 4);
+     *     SortedMap<Integer, List<Integer>> rankedMap = list.stream().collect(CollectorEx.presortedRank());
+     *     System.out.println(rankedMap);
+     * }</pre>
+     * This will prints {@code {1=[1, 1], 3=[2], 4=[3, 3], 6=[4]}}.
+     *
+     * @param <T> the type of stream objects
+     * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, ?, SortedMap<Integer, List<T>>> presortedRank() {
+        return PRESORTED_RANKING_COLLECTOR.presortedRank();
+    }
+
+    /**
+     * Computes ranks of objects of the stream which is already sorted by given comparator.
+     *
+     * @param comparator the comparator the stream is sorted by
+     * @param <T>        the type of stream objects
+     * @return {@link SortedMap} containing ranks as keys and collection of ranked objects as values
+     * @see CollectorEx#presortedRank()
+     */
+    public static <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> presortedRank(Comparator<? super T> comparator) {
+        return PRESORTED_RANKING_COLLECTOR.presortedRank(comparator);
+    }
+
+    /**
+     * Computes dense ranks of objects of the stream which is already sorted in natural order.
+     *
+     * @param <T> the type of stream objects
+     * @return {@link SortedMap} containing dense ranks as keys and collection of ranked objects as values
+     * @see CollectorEx#presortedRank()
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, ?, SortedMap<Integer, List<T>>> presortedDenseRank() {
+        return PRESORTED_RANKING_COLLECTOR.presortedDenseRank();
+    }
+
+    /**
+     * Computes dense ranks of objects of the stream which is already sorted by given comparator.
+     *
+     * @param comparator the comparator the stream is sorted by
+     * @param <T>        the type of stream objects
+     * @return {@link SortedMap} containing dense ranks as keys and collection of ranked objects as values
+     * @see CollectorEx#presortedRank()
+     */
+    public static <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> presortedDenseRank(Comparator<? super T> comparator) {
+        return PRESORTED_RANKING_COLLECTOR.presortedDenseRank(comparator);
+    }
+
+    /**
+     * Computes ranks or dense ranks of objects of the stream which is already sorted by given comparator and
+     * collects the same ranked objects using given downstream collector. Objects are passed to the downstream
+     * accumulator as they arrive, so the stream is never materialized. Parallel streams are supported as long as
+     * the encounter order is sorted, partial results are combined by shifting ranks of the right part.
+     *
+     * @param comparator the comparator the stream is sorted by
+     * @param denseRank  the dense rank flag
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return {@link SortedMap} containing ranks as keys and result of the downstream collector as values
+     * @see CollectorEx#presortedRank()
+     */
+    public static <T, R>
+    Collector<T, ?, SortedMap<Integer, R>> presortedRank(Comparator<? super T> comparator,
+                                                         boolean denseRank,
+                                                         Collector<? super T, ?, R> downstream) {
+        return PRESORTED_RANKING_COLLECTOR.presortedRank(comparator, denseRank, downstream);
+    }
+
+    /**
+     * Computes ranks of objects using given comparator and returns a lazy view of the rank map. Unlike
+     * {@link #rank(Comparator)} the result is not a {@link TreeMap}, it is backed by the sorted array of objects and
+     * an {@code int} array of rank boundaries. Lists of the same ranked objects are created only when accessed and
+     * cached, {@code headMap}, {@code tailMap} and {@code subMap} are views found by binary search. The result is
+     * read only and is not thread safe. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 2, 3, 4, 4, 3, 2, 1);
+     *     SortedMap<Integer, List<Integer>> rankedMap = list.stream().collect(CollectorEx.lazyRank(Integer::compare));
+     *     System.out.println(rankedMap.tailMap(4));
+     * }</pre>
+     * This will prints {@code {5=[3, 3], 7=[4, 4]}}.
+     *
+     * @param comparator the comparator for custom ordering
+     * @param <T>        the type of stream objects
+     * @return read only {@link SortedMap} containing ranks as keys and collection of ranked objects as values
+     */
+    public static <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> lazyRank(Comparator<? super T> comparator) {
+        return RANKING_COLLECTOR.lazyRank(comparator);
+    }
+
+    /**
+     * Computes ranks or dense ranks of objects using given comparator and returns a lazy view of the rank map.
+     * The downstream collector is applied to the same ranked objects only when the value of the rank is accessed.
+     *
+     * @param comparator the comparator for custom ordering
+     * @param denseRank  the dense rank flag
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return read only {@link SortedMap} containing ranks as keys and result of the downstream collector as values
+     * @see CollectorEx#lazyRank(Comparator)
+     */
+    public static <T, R>
+    Collector<T, ?, SortedMap<Integer, R>> lazyRank(Comparator<? super T> comparator,
+                                                    boolean denseRank,
+                                                    Collector<? super T, ?, R> downstream) {
+        return RANKING_COLLECTOR.lazyRank(comparator, denseRank, downstream);
+    }
+
+    /**
+     * Computes ranks of objects using given comparator without keeping the whole stream in memory. At most
+     * {@code maxElementsInMemory} objects are buffered, a full buffer is sorted and spilled as a run into a temporary
+     * file using given codec. The budget is a number of objects, not a size in bytes, so choose it from the expected
+     * size of one object. Runs are read back through small read buffers and merged into the rank assignment, so the
+     * same ranked objects are passed to the downstream collector in sorted order and in encounter order within a rank.
+     * Use a reducing downstream collector (e.g. {@link java.util.stream.Collectors#counting()}) to keep the result
+     * small. Every partial result of a parallel stream has its own buffer. Temporary files are deleted when the result
+     * is computed, an {@link Accumulation} of this collector keeps its files until it is closed. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 2, 3, 4, 4, 3, 2, 1);
+     *     SortedMap<Integer, Long> rankedMap = list.stream()
+     *          .collect(CollectorEx.externalRank(Integer::compare, BinaryCodecs.integers(), 3, Collectors.counting()));
+     *     System.out.println(rankedMap);
+     * }</pre>
+     * This will prints {@code {1=2, 3=2, 5=2, 7=2}}.
+     *
+     * @param comparator          the comparator for custom ordering
+     * @param codec               the codec of stream objects
+     * @param maxElementsInMemory the maximum number of buffered objects, not a size in bytes
+     * @param downstream          the reduction operation (e.g. the downstream collector)
+     * @param <T>                 the type of stream objects
+     * @param <R>                 the result type of the downstream collector
+     * @return {@link SortedMap} containing ranks as keys and result of the downstream collector as values
+     * @throws java.io.UncheckedIOException if a temporary file cannot be written or read
+     */
+    public static <T, R>
+    Collector<T, ?, SortedMap<Integer, R>> externalRank(Comparator<? super T> comparator,
+                                                        BinaryCodec<T> codec,
+                                                        int maxElementsInMemory,
+                                                        Collector<? super T, ?, R> downstream) {
+        return RANKING_COLLECTOR.externalRank(comparator, codec, maxElementsInMemory, false, downstream);
+    }
+
+    /**
+     * Computes ranks or dense ranks of objects using given comparator without keeping the whole stream in memory.
+     *
+     * @param comparator          the comparator for custom ordering
+     * @param codec               the codec of stream objects
+     * @param maxElementsInMemory the maximum number of buffered objects, not a size in bytes
+     * @param denseRank           the dense rank flag
+     * @param downstream          the reduction operation (e.g. the downstream collector)
+     * @param <T>                 the type of stream objects
+     * @param <R>                 the result type of the downstream collector
+     * @return {@link SortedMap} containing ranks as keys and result of the downstream collector as values
+     * @see CollectorEx#externalRank(Comparator, BinaryCodec, int, Collector)
+     */
+    public static <T, R>
+    Collector<T, ?, SortedMap<Integer, R>> externalRank(Comparator<? super T> comparator,
+                                                        BinaryCodec<T> codec,
+                                                        int maxElementsInMemory,
+                                                        boolean denseRank,
+                                                        Collector<? super T, ?, R> downstream) {
+        return RANKING_COLLECTOR.externalRank(comparator, codec, maxElementsInMemory, denseRank, downstream);
+    }
+
     /**
      * Maps stream of objects to the computed rank using natural ordering. The ranks are consecutive integers
      * beginning with 1. The largest rank value is the number of unique objects. Rank values are not skipped
@@ -364,6 +625,146 @@ public class CollectorEx {
         return RANKING_COLLECTOR.mapObjToRank(mapper, comparator, false);
     }
 
+    /**
+     * Computes ranks of objects using given comparator and stores the rank of each object into an {@code int} array
+     * at the index computed by given index mapper, e.g. a dense numeric identifier of the object. Unlike
+     * {@link #mapObjToRank(Function, Comparator)} neither ranks nor keys are boxed, the only allocated result is
+     * the array. The size of the array is the maximum index plus one, slots of absent indexes are zero. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(30, 10, 20, 10);
+     *     int[] ranks = list.stream().collect(CollectorEx.mapIndexToRank(i -> i / 10, Integer::compare));
+     *     System.out.println(Arrays.toString(ranks));
+     * }</pre>
+     * This will prints {@code [0, 1, 3, 4]}.
+     *
+     * @param indexMapper the mapper of objects to non negative indexes
+     * @param comparator  the comparator for custom ordering
+     * @param <T>         the type of stream objects
+     * @return the array of ranks indexed by the result of the index mapper
+     * @throws IllegalArgumentException if an index is negative
+     */
+    public static <T>
+    Collector<T, ?, int[]> mapIndexToRank(ToIntFunction<? super T> indexMapper,
+                                          Comparator<? super T> comparator) {
+        return RANKING_COLLECTOR.mapIndexToRank(indexMapper, comparator, false);
+    }
+
+    /**
+     * Computes dense ranks of objects using given comparator and stores the rank of each object into an {@code int}
+     * array at the index computed by given index mapper.
+     *
+     * @param indexMapper the mapper of objects to non negative indexes
+     * @param comparator  the comparator for custom ordering
+     * @param <T>         the type of stream objects
+     * @return the array of dense ranks indexed by the result of the index mapper
+     * @see CollectorEx#mapIndexToRank(ToIntFunction, Comparator)
+     */
+    public static <T>
+    Collector<T, ?, int[]> mapIndexToDenseRank(ToIntFunction<? super T> indexMapper,
+                                               Comparator<? super T> comparator) {
+        return RANKING_COLLECTOR.mapIndexToRank(indexMapper, comparator, true);
+    }
+
+    /**
+     * Ranks objects by an {@code int} key. Keys are extracted once into a primitive array and sorted with the
+     * permutation of objects by radix sort, ranks are found by comparing adjacent primitive keys, so no comparator
+     * is called. Objects of the same rank are listed in encounter order. Example:
+     * <pre>{@code
+     *     List<String> list = Arrays.asList("ccc", "a", "bb", "b");
+     *     SortedMap<Integer, List<String>> result = list.stream().collect(CollectorEx.rankByInt(String::length));
+     *     System.out.println(result);
+     * }</pre>
+     * This will prints {@code {1=[a, b], 3=[bb], 4=[ccc]}}.
+     *
+     * @param key the mapper of objects to sort keys
+     * @param <T> the type of stream objects
+     * @return {@link SortedMap} with ranks as keys and lists of objects as values
+     */
+    public static <T>
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rankByInt(ToIntFunction<? super T> key) {
+        return RANKING_COLLECTOR.rankByInt(key);
+    }
+
+    /**
+     * Ranks objects by an {@code int} key and collects objects of each rank using given downstream collector.
+     *
+     * @param key        the mapper of objects to sort keys
+     * @param denseRank  the dense rank flag
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return {@link SortedMap} with ranks as keys and result of the downstream collector as values
+     * @see CollectorEx#rankByInt(ToIntFunction)
+     */
+    public static <T, R>
+    Collector<T, List<T>, SortedMap<Integer, R>> rankByInt(ToIntFunction<? super T> key,
+                                                           boolean denseRank,
+                                                           Collector<? super T, ?, R> downstream) {
+        return RANKING_COLLECTOR.rankByInt(key, denseRank, downstream);
+    }
+
+    /**
+     * Ranks objects by a {@code long} key.
+     *
+     * @param key the mapper of objects to sort keys
+     * @param <T> the type of stream objects
+     * @return {@link SortedMap} with ranks as keys and lists of objects as values
+     * @see CollectorEx#rankByInt(ToIntFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rankByLong(ToLongFunction<? super T> key) {
+        return RANKING_COLLECTOR.rankByLong(key);
+    }
+
+    /**
+     * Ranks objects by a {@code long} key and collects objects of each rank using given downstream collector.
+     *
+     * @param key        the mapper of objects to sort keys
+     * @param denseRank  the dense rank flag
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return {@link SortedMap} with ranks as keys and result of the downstream collector as values
+     * @see CollectorEx#rankByInt(ToIntFunction)
+     */
+    public static <T, R>
+    Collector<T, List<T>, SortedMap<Integer, R>> rankByLong(ToLongFunction<? super T> key,
+                                                            boolean denseRank,
+                                                            Collector<? super T, ?, R> downstream) {
+        return RANKING_COLLECTOR.rankByLong(key, denseRank, downstream);
+    }
+
+    /**
+     * Ranks objects by a {@code double} key, keys are ordered as by {@link Double#compare(double, double)}.
+     *
+     * @param key the mapper of objects to sort keys
+     * @param <T> the type of stream objects
+     * @return {@link SortedMap} with ranks as keys and lists of objects as values
+     * @see CollectorEx#rankByInt(ToIntFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rankByDouble(ToDoubleFunction<? super T> key) {
+        return RANKING_COLLECTOR.rankByDouble(key);
+    }
+
+    /**
+     * Ranks objects by a {@code double} key and collects objects of each rank using given downstream collector.
+     *
+     * @param key        the mapper of objects to sort keys
+     * @param denseRank  the dense rank flag
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return {@link SortedMap} with ranks as keys and result of the downstream collector as values
+     * @see CollectorEx#rankByInt(ToIntFunction)
+     */
+    public static <T, R>
+    Collector<T, List<T>, SortedMap<Integer, R>> rankByDouble(ToDoubleFunction<? super T> key,
+                                                              boolean denseRank,
+                                                              Collector<? super T, ?, R> downstream) {
+        return RANKING_COLLECTOR.rankByDouble(key, denseRank, downstream);
+    }
+
     /**
      * Returns the cumulative sum of ints for each stream element using natural ordering.
      * Example:
@@ -379,7 +780,7 @@ public class CollectorEx {
      * @return the list of cumulative sums
      */
     public static <T extends Comparable<? super T>>
-    Collector<T, ?, List<Integer>> summingInt(ToIntFunction<T> mapper) {
+    Collector<T, List<T>, List<Integer>> summingInt(ToIntFunction<T> mapper) {
         return SUMMING_INT_COLLECTOR.summingInt(mapper);
     }
 
@@ -399,8 +800,8 @@ public class CollectorEx {
      * @return the list of cumulative sums
      */
     public static <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> summingInt(ToIntFunction<T> mapper,
-                                  Collector<Integer, ?, R> downstream) {
+    Collector<T, List<T>, R> summingInt(ToIntFunction<T> mapper,
+                                        Collector<Integer, ?, R> downstream) {
         return SUMMING_INT_COLLECTOR.summingInt(mapper, downstream);
     }
 
@@ -422,8 +823,8 @@ public class CollectorEx {
      * @return the list of cumulative sums
      */
     public static <T>
-    Collector<T, ?, List<Integer>> summingInt(ToIntFunction<? super T> mapper,
-                                              Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<Integer>> summingInt(ToIntFunction<? super T> mapper,
+                                                    Comparator<? super T> comparator) {
         return SUMMING_INT_COLLECTOR.summingInt(mapper, comparator);
     }
 
@@ -446,17 +847,82 @@ public class CollectorEx {
      * @return the list of cumulative sums
      */
     public static <T, R>
-    Collector<T, ?, R> summingInt(ToIntFunction<? super T> mapper,
-                                  Comparator<? super T> comparator,
-                                  Collector<Integer, ?, R> downstream) {
+    Collector<T, List<T>, R> summingInt(ToIntFunction<? super T> mapper,
+                                        Comparator<? super T> comparator,
+                                        Collector<Integer, ?, R> downstream) {
         return SUMMING_INT_COLLECTOR.summingInt(mapper, comparator, downstream);
     }
 
+    /**
+     * Returns the cumulative sum of ints for each stream element using natural ordering as an {@code int} array.
+     * Unlike {@link #summingInt(ToIntFunction)} cumulative sums are not boxed, the only allocated result is the array.
+     * Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 2, 3);
+     *     int[] result = list.stream().collect(CollectorEx.summingIntToArray(i -> i));
+     *     System.out.println(Arrays.toString(result));
+     * }</pre>
+     * This will prints {@code [1, 3, 6]}.
+     *
+     * @param mapper the mapper
+     * @param <T>    the type of stream objects
+     * @return the array of cumulative sums
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, List<T>, int[]> summingIntToArray(ToIntFunction<? super T> mapper) {
+        return SUMMING_INT_COLLECTOR.summingIntToArray(mapper);
+    }
+
+    /**
+     * Returns the cumulative sum of ints for each stream element using given comparator as an {@code int} array.
+     *
+     * @param mapper     the mapper
+     * @param comparator the comparator for custom ordering
+     * @param <T>        the type of stream objects
+     * @return the array of cumulative sums
+     * @see CollectorEx#summingIntToArray(ToIntFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, int[]> summingIntToArray(ToIntFunction<? super T> mapper,
+                                                   Comparator<? super T> comparator) {
+        return SUMMING_INT_COLLECTOR.summingIntToArray(mapper, comparator);
+    }
+
+    /**
+     * Returns the cumulative sum of ints for each stream element using given comparator. Each cumulative sum
+     * is passed to given accumulator as a primitive value together with the result container created by given
+     * supplier, so no intermediate value is boxed.
+     * Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 2, 3);
+     *     Comparator<Integer> intComparator = Integer::compare;
+     *     IntSummaryStatistics result = list.stream()
+     *          .collect(CollectorEx.summingInt(i -> i, intComparator, IntSummaryStatistics::new, IntSummaryStatistics::accept));
+     *     System.out.println(result.getMax());
+     * }</pre>
+     * This will prints {@code 6}.
+     *
+     * @param mapper      the mapper
+     * @param comparator  the comparator for custom ordering
+     * @param supplier    the supplier of the result container
+     * @param accumulator the function accepting each cumulative sum into the result container
+     * @param <T>         the type of stream objects
+     * @param <R>         the type of the result container
+     * @return the result container
+     */
+    public static <T, R>
+    Collector<T, List<T>, R> summingInt(ToIntFunction<? super T> mapper,
+                                        Comparator<? super T> comparator,
+                                        Supplier<R> supplier,
+                                        ObjIntConsumer<R> accumulator) {
+        return SUMMING_INT_COLLECTOR.summingInt(mapper, comparator, supplier, accumulator);
+    }
+
     /**
      * @see CollectorEx#summingInt(ToIntFunction)
      */
     public static <T extends Comparable<? super T>>
-    Collector<T, ?, List<Long>> summingLong(ToLongFunction<T> mapper) {
+    Collector<T, List<T>, List<Long>> summingLong(ToLongFunction<T> mapper) {
         return SUMMING_LONG_COLLECTOR.summingLong(mapper);
     }
 
@@ -464,8 +930,8 @@ public class CollectorEx {
      * @see CollectorEx#summingInt(ToIntFunction, Collector)
      */
     public static <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> summingLong(ToLongFunction<T> mapper,
-                                   Collector<Long, ?, R> downstream) {
+    Collector<T, List<T>, R> summingLong(ToLongFunction<T> mapper,
+                                         Collector<Long, ?, R> downstream) {
         return SUMMING_LONG_COLLECTOR.summingLong(mapper, downstream);
     }
 
@@ -473,8 +939,8 @@ public class CollectorEx {
      * @see CollectorEx#summingInt(ToIntFunction, Comparator)
      */
     public static <T>
-    Collector<T, ?, List<Long>> summingLong(ToLongFunction<? super T> mapper,
-                                            Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<Long>> summingLong(ToLongFunction<? super T> mapper,
+                                                  Comparator<? super T> comparator) {
         return SUMMING_LONG_COLLECTOR.summingLong(mapper, comparator);
     }
 
@@ -482,12 +948,40 @@ public class CollectorEx {
      * @see CollectorEx#summingInt(ToIntFunction, Comparator, Collector)
      */
     public static <T, R>
-    Collector<T, ?, R> summingLong(ToLongFunction<? super T> mapper,
-                                   Comparator<? super T> comparator,
-                                   Collector<Long, ?, R> downstream) {
+    Collector<T, List<T>, R> summingLong(ToLongFunction<? super T> mapper,
+                                         Comparator<? super T> comparator,
+                                         Collector<Long, ?, R> downstream) {
         return SUMMING_LONG_COLLECTOR.summingLong(mapper, comparator, downstream);
     }
 
+    /**
+     * @see CollectorEx#summingIntToArray(ToIntFunction)
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, List<T>, long[]> summingLongToArray(ToLongFunction<? super T> mapper) {
+        return SUMMING_LONG_COLLECTOR.summingLongToArray(mapper);
+    }
+
+    /**
+     * @see CollectorEx#summingIntToArray(ToIntFunction, Comparator)
+     */
+    public static <T>
+    Collector<T, List<T>, long[]> summingLongToArray(ToLongFunction<? super T> mapper,
+                                                     Comparator<? super T> comparator) {
+        return SUMMING_LONG_COLLECTOR.summingLongToArray(mapper, comparator);
+    }
+
+    /**
+     * @see CollectorEx#summingInt(ToIntFunction, Comparator, Supplier, ObjIntConsumer)
+     */
+    public static <T, R>
+    Collector<T, List<T>, R> summingLong(ToLongFunction<? super T> mapper,
+                                         Comparator<? super T> comparator,
+                                         Supplier<R> supplier,
+                                         ObjLongConsumer<R> accumulator) {
+        return SUMMING_LONG_COLLECTOR.summingLong(mapper, comparator, supplier, accumulator);
+    }
+
     /**
      * Returns the cumulative sum of doubles for each stream element using natural ordering.
      * Numbers are summed using <a href="https://en.wikipedia.org/wiki/Kahan_summation_algorithm">Kahan summation algorith</a>.
@@ -495,7 +989,7 @@ public class CollectorEx {
      * @see CollectorEx#summingInt(ToIntFunction)
      */
     public static <T extends Comparable<? super T>>
-    Collector<T, ?, List<Double>> summingDouble(ToDoubleFunction<T> mapper) {
+    Collector<T, List<T>, List<Double>> summingDouble(ToDoubleFunction<T> mapper) {
         return SUMMING_DOUBLE_COLLECTOR.summingDouble(mapper);
     }
 
@@ -506,8 +1000,8 @@ public class CollectorEx {
      * @see CollectorEx#summingInt(ToIntFunction, Collector)
      */
     public static <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> summingDouble(ToDoubleFunction<T> mapper,
-                                     Collector<Double, ?, R> downstream) {
+    Collector<T, List<T>, R> summingDouble(ToDoubleFunction<T> mapper,
+                                           Collector<Double, ?, R> downstream) {
         return SUMMING_DOUBLE_COLLECTOR.summingDouble(mapper, downstream);
     }
 
@@ -518,8 +1012,8 @@ public class CollectorEx {
      * @see CollectorEx#summingInt(ToIntFunction, Comparator)
      */
     public static <T>
-    Collector<T, ?, List<Double>> summingDouble(ToDoubleFunction<? super T> mapper,
-                                                Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<Double>> summingDouble(ToDoubleFunction<? super T> mapper,
+                                                      Comparator<? super T> comparator) {
         return SUMMING_DOUBLE_COLLECTOR.summingDouble(mapper, comparator);
     }
 
@@ -530,35 +1024,73 @@ public class CollectorEx {
      * @see CollectorEx#summingInt(ToIntFunction, Comparator, Collector)
      */
     public static <T, R>
-    Collector<T, ?, R> summingDouble(ToDoubleFunction<? super T> mapper,
-                                     Comparator<? super T> comparator,
-                                     Collector<Double, ?, R> downstream) {
+    Collector<T, List<T>, R> summingDouble(ToDoubleFunction<? super T> mapper,
+                                           Comparator<? super T> comparator,
+                                           Collector<Double, ?, R> downstream) {
         return SUMMING_DOUBLE_COLLECTOR.summingDouble(mapper, comparator, downstream);
     }
 
     /**
-     * @see CollectorEx#summingInt(ToIntFunction)
+     * Returns the cumulative sum of doubles for each stream element using natural ordering as a {@code double} array.
+     * Numbers are summed using <a href="https://en.wikipedia.org/wiki/Kahan_summation_algorithm">Kahan summation algorith</a>.
+     *
+     * @see CollectorEx#summingIntToArray(ToIntFunction)
      */
     public static <T extends Comparable<? super T>>
-    Collector<T, ?, List<BigDecimal>> summingBigDecimal(Function<T, BigDecimal> mapper) {
-        return SUMMING_BIG_DECIMAL_COLLECTOR.summingBigDecimal(mapper);
+    Collector<T, List<T>, double[]> summingDoubleToArray(ToDoubleFunction<? super T> mapper) {
+        return SUMMING_DOUBLE_COLLECTOR.summingDoubleToArray(mapper);
     }
 
     /**
-     * @see CollectorEx#summingInt(ToIntFunction, Collector)
+     * Returns the cumulative sum of doubles for each stream element using given comparator as a {@code double} array.
+     * Numbers are summed using <a href="https://en.wikipedia.org/wiki/Kahan_summation_algorithm">Kahan summation algorith</a>.
+     *
+     * @see CollectorEx#summingIntToArray(ToIntFunction, Comparator)
      */
-    public static <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> summingBigDecimal(Function<T, BigDecimal> mapper,
-                                         Collector<BigDecimal, ?, R> downstream) {
-        return SUMMING_BIG_DECIMAL_COLLECTOR.summingBigDecimal(mapper, downstream);
+    public static <T>
+    Collector<T, List<T>, double[]> summingDoubleToArray(ToDoubleFunction<? super T> mapper,
+                                                         Comparator<? super T> comparator) {
+        return SUMMING_DOUBLE_COLLECTOR.summingDoubleToArray(mapper, comparator);
     }
 
     /**
-     * @see CollectorEx#summingInt(ToIntFunction, Comparator)
+     * Returns the cumulative sum of doubles for each stream element using given comparator and passes each sum
+     * to given accumulator without boxing.
+     * Numbers are summed using <a href="https://en.wikipedia.org/wiki/Kahan_summation_algorithm">Kahan summation algorith</a>.
+     *
+     * @see CollectorEx#summingInt(ToIntFunction, Comparator, Supplier, ObjIntConsumer)
+     */
+    public static <T, R>
+    Collector<T, List<T>, R> summingDouble(ToDoubleFunction<? super T> mapper,
+                                           Comparator<? super T> comparator,
+                                           Supplier<R> supplier,
+                                           ObjDoubleConsumer<R> accumulator) {
+        return SUMMING_DOUBLE_COLLECTOR.summingDouble(mapper, comparator, supplier, accumulator);
+    }
+
+    /**
+     * @see CollectorEx#summingInt(ToIntFunction)
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, List<T>, List<BigDecimal>> summingBigDecimal(Function<T, BigDecimal> mapper) {
+        return SUMMING_BIG_DECIMAL_COLLECTOR.summingBigDecimal(mapper);
+    }
+
+    /**
+     * @see CollectorEx#summingInt(ToIntFunction, Collector)
+     */
+    public static <T extends Comparable<? super T>, R>
+    Collector<T, List<T>, R> summingBigDecimal(Function<T, BigDecimal> mapper,
+                                               Collector<BigDecimal, ?, R> downstream) {
+        return SUMMING_BIG_DECIMAL_COLLECTOR.summingBigDecimal(mapper, downstream);
+    }
+
+    /**
+     * @see CollectorEx#summingInt(ToIntFunction, Comparator)
      */
     public static <T>
-    Collector<T, ?, List<BigDecimal>> summingBigDecimal(Function<? super T, BigDecimal> mapper,
-                                                        Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<BigDecimal>> summingBigDecimal(Function<? super T, BigDecimal> mapper,
+                                                              Comparator<? super T> comparator) {
         return SUMMING_BIG_DECIMAL_COLLECTOR.summingBigDecimal(mapper, comparator);
     }
 
@@ -566,12 +1098,331 @@ public class CollectorEx {
      * @see CollectorEx#summingInt(ToIntFunction, Comparator, Collector)
      */
     public static <T, R>
-    Collector<T, ?, R> summingBigDecimal(Function<? super T, BigDecimal> mapper,
-                                         Comparator<? super T> comparator,
-                                         Collector<BigDecimal, ?, R> downstream) {
+    Collector<T, List<T>, R> summingBigDecimal(Function<? super T, BigDecimal> mapper,
+                                               Comparator<? super T> comparator,
+                                               Collector<BigDecimal, ?, R> downstream) {
         return SUMMING_BIG_DECIMAL_COLLECTOR.summingBigDecimal(mapper, comparator, downstream);
     }
 
+    /**
+     * Returns the cumulative sum of ints for each stream element using natural ordering. The elements are sorted
+     * with {@link Arrays#parallelSort(Object[], Comparator)} and cumulative sums are computed by
+     * {@link Arrays#parallelPrefix(int[], IntBinaryOperator)}, so both steps of the finisher scale with
+     * the number of cores. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(3, 2, 1);
+     *     int[] result = list.parallelStream().collect(CollectorEx.parallelSummingInt(i -> i));
+     *     System.out.println(Arrays.toString(result));
+     * }</pre>
+     * This will prints {@code [1, 3, 6]}.
+     *
+     * @param mapper the mapper
+     * @param <T>    the type of stream objects
+     * @return the array of cumulative sums
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, List<T>, int[]> parallelSummingInt(ToIntFunction<? super T> mapper) {
+        return PARALLEL_SUMMING_COLLECTOR.parallelSummingInt(mapper);
+    }
+
+    /**
+     * Returns the cumulative sum of ints for each stream element using given comparator.
+     * The elements are sorted and summed in parallel.
+     *
+     * @param mapper     the mapper
+     * @param comparator the comparator for custom ordering
+     * @param <T>        the type of stream objects
+     * @return the array of cumulative sums
+     * @see CollectorEx#parallelSummingInt(ToIntFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, int[]> parallelSummingInt(ToIntFunction<? super T> mapper,
+                                                    Comparator<? super T> comparator) {
+        return PARALLEL_SUMMING_COLLECTOR.parallelSummingInt(mapper, comparator);
+    }
+
+    /**
+     * @see CollectorEx#parallelSummingInt(ToIntFunction)
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, List<T>, long[]> parallelSummingLong(ToLongFunction<? super T> mapper) {
+        return PARALLEL_SUMMING_COLLECTOR.parallelSummingLong(mapper);
+    }
+
+    /**
+     * @see CollectorEx#parallelSummingInt(ToIntFunction, Comparator)
+     */
+    public static <T>
+    Collector<T, List<T>, long[]> parallelSummingLong(ToLongFunction<? super T> mapper,
+                                                      Comparator<? super T> comparator) {
+        return PARALLEL_SUMMING_COLLECTOR.parallelSummingLong(mapper, comparator);
+    }
+
+    /**
+     * Returns the cumulative sum of doubles for each stream element using natural ordering.
+     * Numbers are summed using <a href="https://en.wikipedia.org/wiki/Kahan_summation_algorithm">Kahan summation algorith</a>
+     * in parallel chunks, each chunk continues summation from the compensated sum of all preceding chunks.
+     *
+     * @see CollectorEx#parallelSummingInt(ToIntFunction)
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, List<T>, double[]> parallelSummingDouble(ToDoubleFunction<? super T> mapper) {
+        return PARALLEL_SUMMING_COLLECTOR.parallelSummingDouble(mapper);
+    }
+
+    /**
+     * Returns the cumulative sum of doubles for each stream element using given comparator.
+     * Numbers are summed using <a href="https://en.wikipedia.org/wiki/Kahan_summation_algorithm">Kahan summation algorith</a>
+     * in parallel chunks, each chunk continues summation from the compensated sum of all preceding chunks.
+     *
+     * @see CollectorEx#parallelSummingInt(ToIntFunction, Comparator)
+     */
+    public static <T>
+    Collector<T, List<T>, double[]> parallelSummingDouble(ToDoubleFunction<? super T> mapper,
+                                                          Comparator<? super T> comparator) {
+        return PARALLEL_SUMMING_COLLECTOR.parallelSummingDouble(mapper, comparator);
+    }
+
+    /**
+     * Returns the cumulative sum of big decimals for each stream element using natural ordering.
+     * Chunk sums are computed in parallel, then each chunk is scanned in parallel starting from the sum
+     * of all preceding chunks.
+     *
+     * @see CollectorEx#parallelSummingInt(ToIntFunction)
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, List<T>, List<BigDecimal>> parallelSummingBigDecimal(Function<? super T, BigDecimal> mapper) {
+        return PARALLEL_SUMMING_COLLECTOR.parallelSummingBigDecimal(mapper);
+    }
+
+    /**
+     * Returns the cumulative sum of big decimals for each stream element using given comparator.
+     * Chunk sums are computed in parallel, then each chunk is scanned in parallel starting from the sum
+     * of all preceding chunks.
+     *
+     * @see CollectorEx#parallelSummingInt(ToIntFunction, Comparator)
+     */
+    public static <T>
+    Collector<T, List<T>, List<BigDecimal>> parallelSummingBigDecimal(Function<? super T, BigDecimal> mapper,
+                                                                      Comparator<? super T> comparator) {
+        return PARALLEL_SUMMING_COLLECTOR.parallelSummingBigDecimal(mapper, comparator);
+    }
+
+    /**
+     * Returns the cumulative sum of ints for each stream element ordered by a {@code long} sort key, e.g. a
+     * timestamp. Keys are extracted once and sorted with the permutation of objects by radix sort, so no comparator
+     * is called. Elements with equal keys are summed in encounter order. The sort makes up to 8 passes over the keys,
+     * use {@link #summingIntToArrayByIntKey(ToIntFunction, ToIntFunction)} for {@code int} keys which takes at most 4.
+     * Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(3, 1, 2);
+     *     int[] result = list.stream().collect(CollectorEx.summingIntToArrayByKey(i -> i, i -> -i));
+     *     System.out.println(Arrays.toString(result));
+     * }</pre>
+     * This will prints {@code [3, 5, 6]}.
+     *
+     * @param mapper  the mapper
+     * @param sortKey the mapper of objects to sort keys
+     * @param <T>     the type of stream objects
+     * @return the array of cumulative sums
+     */
+    public static <T>
+    Collector<T, List<T>, int[]> summingIntToArrayByKey(ToIntFunction<? super T> mapper,
+                                                        ToLongFunction<? super T> sortKey) {
+        return SUMMING_INT_COLLECTOR.summingIntToArrayByKey(mapper, sortKey);
+    }
+
+    /**
+     * Returns the cumulative sum of longs for each stream element ordered by a {@code long} sort key.
+     *
+     * @param mapper  the mapper
+     * @param sortKey the mapper of objects to sort keys
+     * @param <T>     the type of stream objects
+     * @return the array of cumulative sums
+     * @see CollectorEx#summingIntToArrayByKey(ToIntFunction, ToLongFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, long[]> summingLongToArrayByKey(ToLongFunction<? super T> mapper,
+                                                          ToLongFunction<? super T> sortKey) {
+        return SUMMING_LONG_COLLECTOR.summingLongToArrayByKey(mapper, sortKey);
+    }
+
+    /**
+     * Returns the cumulative Kahan compensated sum of doubles for each stream element ordered by a {@code long} sort
+     * key.
+     *
+     * @param mapper  the mapper
+     * @param sortKey the mapper of objects to sort keys
+     * @param <T>     the type of stream objects
+     * @return the array of cumulative sums
+     * @see CollectorEx#summingIntToArrayByKey(ToIntFunction, ToLongFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, double[]> summingDoubleToArrayByKey(ToDoubleFunction<? super T> mapper,
+                                                              ToLongFunction<? super T> sortKey) {
+        return SUMMING_DOUBLE_COLLECTOR.summingDoubleToArrayByKey(mapper, sortKey);
+    }
+
+    /**
+     * Returns the cumulative sum of ints for each stream element ordered by an {@code int} sort key. Keys are sorted
+     * by radix sort in at most 4 passes. Elements with equal keys are summed in encounter order.
+     *
+     * @param mapper  the mapper
+     * @param sortKey the mapper of objects to sort keys
+     * @param <T>     the type of stream objects
+     * @return the array of cumulative sums
+     * @see CollectorEx#summingIntToArrayByKey(ToIntFunction, ToLongFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, int[]> summingIntToArrayByIntKey(ToIntFunction<? super T> mapper,
+                                                           ToIntFunction<? super T> sortKey) {
+        return SUMMING_INT_COLLECTOR.summingIntToArrayByIntKey(mapper, sortKey);
+    }
+
+    /**
+     * Returns the cumulative sum of longs for each stream element ordered by an {@code int} sort key.
+     *
+     * @param mapper  the mapper
+     * @param sortKey the mapper of objects to sort keys
+     * @param <T>     the type of stream objects
+     * @return the array of cumulative sums
+     * @see CollectorEx#summingIntToArrayByIntKey(ToIntFunction, ToIntFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, long[]> summingLongToArrayByIntKey(ToLongFunction<? super T> mapper,
+                                                             ToIntFunction<? super T> sortKey) {
+        return SUMMING_LONG_COLLECTOR.summingLongToArrayByIntKey(mapper, sortKey);
+    }
+
+    /**
+     * Returns the cumulative Kahan compensated sum of doubles for each stream element ordered by an {@code int} sort
+     * key.
+     *
+     * @param mapper  the mapper
+     * @param sortKey the mapper of objects to sort keys
+     * @param <T>     the type of stream objects
+     * @return the array of cumulative sums
+     * @see CollectorEx#summingIntToArrayByIntKey(ToIntFunction, ToIntFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, double[]> summingDoubleToArrayByIntKey(ToDoubleFunction<? super T> mapper,
+                                                                 ToIntFunction<? super T> sortKey) {
+        return SUMMING_DOUBLE_COLLECTOR.summingDoubleToArrayByIntKey(mapper, sortKey);
+    }
+
+    /**
+     * Computes count, sum, minimum, maximum, mean, variance, skewness and kurtosis of mapped values in a single pass.
+     * Values are not buffered, moments are updated by Welford's algorithm for each value and statistics of parallel
+     * streams are merged by pairwise formulas, so the collector is numerically stable and scales with parallel
+     * streams. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 2, 3, 4, 5);
+     *     MomentStatistics result = list.stream().collect(CollectorEx.statisticsDouble(i -> i));
+     *     System.out.println(result.getMean() + " " + result.getVariance());
+     * }</pre>
+     * This will prints {@code 3.0 2.0}.
+     *
+     * @param mapper the mapper
+     * @param <T>    the type of stream objects
+     * @return the statistics of mapped values
+     */
+    public static <T>
+    Collector<T, ?, MomentStatistics> statisticsDouble(ToDoubleFunction<? super T> mapper) {
+        return STATISTICS_COLLECTOR.statisticsDouble(mapper);
+    }
+
+    /**
+     * Computes statistics of mapped BigDecimal values, moments are computed in double precision.
+     *
+     * @param mapper the mapper
+     * @param <T>    the type of stream objects
+     * @return the statistics of mapped values
+     * @see CollectorEx#statisticsDouble(ToDoubleFunction)
+     */
+    public static <T>
+    Collector<T, ?, MomentStatistics> statisticsBigDecimal(Function<? super T, BigDecimal> mapper) {
+        return STATISTICS_COLLECTOR.statisticsBigDecimal(mapper);
+    }
+
+    /**
+     * Computes given aggregate function over a sliding frame of rows for each stream element using natural ordering.
+     * The frame of each row is {@code ROWS BETWEEN preceding PRECEDING AND following FOLLOWING}, use
+     * {@link Integer#MAX_VALUE} for an unbounded offset. Sums are updated as rows enter and leave the frame, minimum
+     * and maximum are maintained by a monotonic deque, so the total work after sorting is linear and does not depend
+     * on the frame size. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(5, 1, 4, 2, 3);
+     *     double[] result = list.stream().collect(CollectorEx.rowsFrame(i -> i, 1, 1, FrameFunction.SUM));
+     *     System.out.println(Arrays.toString(result));
+     * }</pre>
+     * This will prints {@code [3.0, 6.0, 9.0, 12.0, 9.0]}.
+     *
+     * @param mapper    the mapper
+     * @param preceding number of rows before the current row
+     * @param following number of rows after the current row
+     * @param function  the aggregate function
+     * @param <T>       the type of stream objects
+     * @return the array of aggregates for each row in sorted order
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, ?, double[]> rowsFrame(ToDoubleFunction<? super T> mapper,
+                                        int preceding,
+                                        int following,
+                                        FrameFunction function) {
+        return FRAME_COLLECTOR.rowsFrame(mapper, preceding, following, function);
+    }
+
+    /**
+     * Computes given aggregate function over a sliding frame of rows for each stream element using given comparator.
+     *
+     * @param mapper     the mapper
+     * @param comparator the comparator for custom ordering
+     * @param preceding  number of rows before the current row
+     * @param following  number of rows after the current row
+     * @param function   the aggregate function
+     * @param <T>        the type of stream objects
+     * @return the array of aggregates for each row in sorted order
+     * @see CollectorEx#rowsFrame(ToDoubleFunction, int, int, FrameFunction)
+     */
+    public static <T>
+    Collector<T, ?, double[]> rowsFrame(ToDoubleFunction<? super T> mapper,
+                                        Comparator<? super T> comparator,
+                                        int preceding,
+                                        int following,
+                                        FrameFunction function) {
+        return FRAME_COLLECTOR.rowsFrame(mapper, comparator, preceding, following, function);
+    }
+
+    /**
+     * Computes given aggregate function over a sliding range of values of the order key for each stream element.
+     * Elements are sorted by the order key in ascending order, the frame of each row is
+     * {@code RANGE BETWEEN preceding PRECEDING AND following FOLLOWING}, i.e. all rows which key is within
+     * {@code [key - preceding, key + following]}, so rows with equal keys always share the frame. Use
+     * {@link Double#POSITIVE_INFINITY} for an unbounded offset. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 2, 2, 5, 6);
+     *     double[] result = list.stream().collect(CollectorEx.rangeFrame(i -> i, i -> i, 1, 0, FrameFunction.COUNT));
+     *     System.out.println(Arrays.toString(result));
+     * }</pre>
+     * This will prints {@code [1.0, 3.0, 3.0, 1.0, 2.0]}.
+     *
+     * @param mapper    the mapper
+     * @param orderKey  the numeric key elements are ordered by
+     * @param preceding distance of the order key before the key of the current row
+     * @param following distance of the order key after the key of the current row
+     * @param function  the aggregate function
+     * @param <T>       the type of stream objects
+     * @return the array of aggregates for each row in the order of the key
+     */
+    public static <T>
+    Collector<T, ?, double[]> rangeFrame(ToDoubleFunction<? super T> mapper,
+                                         ToDoubleFunction<? super T> orderKey,
+                                         double preceding,
+                                         double following,
+                                         FrameFunction function) {
+        return FRAME_COLLECTOR.rangeFrame(mapper, orderKey, preceding, following, function);
+    }
+
     /**
      * Returns set of elements which appears most often in a stream.
      * Example:
@@ -586,7 +1437,7 @@ public class CollectorEx {
      * @return the {@link Set} of elements
      */
     public static <T>
-    Collector<T, ?, Set<T>> mode() {
+    Collector<T, ModeCounts<T>, Set<T>> mode() {
         return MODE_COLLECTOR.mode();
     }
 
@@ -605,7 +1456,7 @@ public class CollectorEx {
      * @return the {@link Set} of elements
      */
     public static <T, D>
-    Collector<T, ?, Set<D>> mode(Function<? super T, D> mapper) {
+    Collector<T, ModeCounts<D>, Set<D>> mode(Function<? super T, D> mapper) {
         return MODE_COLLECTOR.mode(mapper);
     }
 
@@ -624,7 +1475,7 @@ public class CollectorEx {
      * @return the {@link Set} of elements
      */
     public static <T, R>
-    Collector<T, ?, R> mode(Collector<? super T, ?, R> downstream) {
+    Collector<T, ModeCounts<T>, R> mode(Collector<? super T, ?, R> downstream) {
         return MODE_COLLECTOR.mode(downstream);
     }
 
@@ -644,11 +1495,91 @@ public class CollectorEx {
      * @return the {@link Set} of elements
      */
     public static <T, D, R>
-    Collector<T, ?, R> mode(Function<? super T, D> mapper,
-                            Collector<? super D, ?, R> downstream) {
+    Collector<T, ModeCounts<D>, R> mode(Function<? super T, D> mapper,
+                                        Collector<? super D, ?, R> downstream) {
         return MODE_COLLECTOR.mode(mapper, downstream);
     }
 
+    /**
+     * Applies given <code>mapper function</code> to elements of stream and returns int values which appears most
+     * often. Occurrences are counted in a primitive open addressing hash table, so neither keys nor counters
+     * are boxed. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, -1, 2, -2, 3, 4);
+     *     int[] result = list.stream().collect(CollectorEx.modeInt(Math::abs));
+     *     System.out.println(Arrays.toString(result));
+     * }</pre>
+     * This will prints {@code [1, 2]}
+     *
+     * @param mapper the mapper function
+     * @param <T>    the type of stream objects
+     * @return ascending array of the most frequent values, empty array for empty stream
+     */
+    public static <T>
+    Collector<T, IntCounts, int[]> modeInt(ToIntFunction<? super T> mapper) {
+        return PRIMITIVE_MODE_COLLECTOR.modeInt(mapper);
+    }
+
+    /**
+     * Applies given <code>mapper function</code> to elements of stream and returns long values which appears most
+     * often.
+     *
+     * @param mapper the mapper function
+     * @param <T>    the type of stream objects
+     * @return ascending array of the most frequent values, empty array for empty stream
+     * @see CollectorEx#modeInt(ToIntFunction)
+     */
+    public static <T>
+    Collector<T, LongCounts, long[]> modeLong(ToLongFunction<? super T> mapper) {
+        return PRIMITIVE_MODE_COLLECTOR.modeLong(mapper);
+    }
+
+    /**
+     * Applies given <code>mapper function</code> to elements of stream and returns up to {@code k} most frequent
+     * values in bounded memory. Unlike {@link #mode(Function)} which counts every distinct value, this collector keeps
+     * {@code max(100, 10 * k)} counters of the Space-Saving sketch, so it suits high cardinality streams. Each
+     * {@link HeavyHitter} holds an upper bound of the value frequency and the maximum overestimation error. Every value
+     * which occurs more than {@code n / capacity} times is guaranteed to be tracked and the error does not exceed
+     * {@code n / capacity}, where {@code n} is the number of stream elements. Example:
+     * <pre>{@code
+     *     List<String> list = Arrays.asList("a", "b", "a", "c", "a", "b");
+     *     List<HeavyHitter<String>> result = list.stream()
+     *              .collect(CollectorEx.approximateMode(2, Function.identity()));
+     *     System.out.println(result);
+     * }</pre>
+     * This will prints {@code [a=3+/-0, b=2+/-0]}
+     *
+     * @param k      the number of most frequent values to return
+     * @param mapper the mapper function
+     * @param <T>    the type of stream objects
+     * @param <D>    the type of mapped values
+     * @return the {@link List} of most frequent values in descending order of their counts
+     */
+    public static <T, D>
+    Collector<T, ?, List<HeavyHitter<D>>> approximateMode(int k, Function<? super T, D> mapper) {
+        return APPROXIMATE_MODE_COLLECTOR.approximateMode(k, mapper);
+    }
+
+    /**
+     * Applies given <code>mapper function</code> to elements of stream and returns up to {@code k} most frequent
+     * values using sketch with given number of counters. Larger capacity reduces the error bound
+     * {@code n / capacity}.
+     *
+     * @param k        the number of most frequent values to return
+     * @param capacity the number of counters of the sketch, must not be less than {@code k}
+     * @param mapper   the mapper function
+     * @param <T>      the type of stream objects
+     * @param <D>      the type of mapped values
+     * @return the {@link List} of most frequent values in descending order of their counts
+     * @see CollectorEx#approximateMode(int, Function)
+     */
+    public static <T, D>
+    Collector<T, ?, List<HeavyHitter<D>>> approximateMode(int k,
+                                                          int capacity,
+                                                          Function<? super T, D> mapper) {
+        return APPROXIMATE_MODE_COLLECTOR.approximateMode(k, capacity, mapper);
+    }
+
     /**
      * Divides stream of objects into a number of buckets using natural ordering.
      * Example:
@@ -664,7 +1595,7 @@ public class CollectorEx {
      * @return {@link List} which indexes corresponds to tile number with collection of objects as values for each tile
      */
     public static <T extends Comparable<? super T>>
-    Collector<T, ?, List<List<T>>> ntile(int tiles) {
+    Collector<T, List<T>, List<List<T>>> ntile(int tiles) {
         return N_TILE_COLLECTOR.ntile(tiles);
     }
 
@@ -685,8 +1616,8 @@ public class CollectorEx {
      * @return {@link List} which indexes corresponds to tile number with collection of objects as values for each tile
      */
     public static <T>
-    Collector<T, ?, List<List<T>>> ntile(int tiles,
-                                         Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<List<T>>> ntile(int tiles,
+                                               Comparator<? super T> comparator) {
         return N_TILE_COLLECTOR.ntile(tiles, comparator);
     }
 
@@ -706,8 +1637,8 @@ public class CollectorEx {
      * @return {@link List} which indexes corresponds to tile number with collection of objects as values for each tile
      */
     public static <T extends Comparable<? super T>, R>
-    Collector<T, ?, List<R>> ntile(int tiles,
-                                   Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, List<R>> ntile(int tiles,
+                                         Collector<? super T, ?, R> downstream) {
         return N_TILE_COLLECTOR.ntile(tiles, downstream);
     }
 
@@ -729,57 +1660,417 @@ public class CollectorEx {
      * @return {@link List} which indexes corresponds to tile number with collection of objects as values for each tile
      */
     public static <T, R>
-    Collector<T, ?, List<R>> ntile(int tiles,
-                                   Comparator<? super T> comparator,
-                                   Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, List<R>> ntile(int tiles,
+                                         Comparator<? super T> comparator,
+                                         Collector<? super T, ?, R> downstream) {
         return N_TILE_COLLECTOR.ntile(tiles, comparator, downstream);
     }
 
+    /**
+     * Divides stream of objects into a number of buckets using given comparator without keeping the whole stream in
+     * memory. Objects are buffered, sorted and spilled to temporary files in the same way as by
+     * {@link #externalRank(Comparator, BinaryCodec, int, Collector)}, the merged runs are passed to the downstream
+     * collector of each bucket in sorted order. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(5, 1, 4, 2, 3);
+     *     List<Long> result = list.stream()
+     *          .collect(CollectorEx.externalNtile(2, Integer::compare, BinaryCodecs.integers(), 2, Collectors.summingLong(i -> i)));
+     *     System.out.println(result);
+     * }</pre>
+     * This will prints {@code [6, 9]}
+     *
+     * @param tiles               number of tiles
+     * @param comparator          the comparator for custom ordering
+     * @param codec               the codec of stream objects
+     * @param maxElementsInMemory the maximum number of buffered objects, not a size in bytes
+     * @param downstream          the reduction operation (e.g. the downstream collector)
+     * @param <T>                 the type of stream objects
+     * @param <R>                 the result type of the downstream collector
+     * @return {@link List} which indexes corresponds to tile number with result of the downstream collector as values
+     * @throws java.io.UncheckedIOException if a temporary file cannot be written or read
+     */
+    public static <T, R>
+    Collector<T, ?, List<R>> externalNtile(int tiles,
+                                           Comparator<? super T> comparator,
+                                           BinaryCodec<T> codec,
+                                           int maxElementsInMemory,
+                                           Collector<? super T, ?, R> downstream) {
+        return N_TILE_COLLECTOR.externalNtile(tiles, comparator, codec, maxElementsInMemory, downstream);
+    }
+
+    /**
+     * Divides stream of objects ordered by an {@code int} key into a number of buckets. Keys are extracted once and
+     * sorted with the permutation of objects by radix sort, so no comparator is called. Example:
+     * <pre>{@code
+     *     List<String> list = Arrays.asList("ccc", "a", "dddd", "bb");
+     *     List<List<String>> result = list.stream().collect(CollectorEx.ntileByInt(2, String::length));
+     *     System.out.println(result);
+     * }</pre>
+     * This will prints {@code [[a, bb], [ccc, dddd]]}.
+     *
+     * @param tiles number of tiles
+     * @param key   the mapper of objects to sort keys
+     * @param <T>   the type of stream objects
+     * @return {@link List} which indexes corresponds to tile number with list of objects as values
+     */
+    public static <T>
+    Collector<T, List<T>, List<List<T>>> ntileByInt(int tiles,
+                                                    ToIntFunction<? super T> key) {
+        return N_TILE_COLLECTOR.ntileByInt(tiles, key);
+    }
+
+    /**
+     * Divides stream of objects ordered by an {@code int} key into a number of buckets and collects objects of each
+     * bucket using given downstream collector.
+     *
+     * @param tiles      number of tiles
+     * @param key        the mapper of objects to sort keys
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return {@link List} which indexes corresponds to tile number with result of the downstream collector as values
+     * @see CollectorEx#ntileByInt(int, ToIntFunction)
+     */
+    public static <T, R>
+    Collector<T, List<T>, List<R>> ntileByInt(int tiles,
+                                              ToIntFunction<? super T> key,
+                                              Collector<? super T, ?, R> downstream) {
+        return N_TILE_COLLECTOR.ntileByInt(tiles, key, downstream);
+    }
+
+    /**
+     * Divides stream of objects ordered by a {@code long} key into a number of buckets.
+     *
+     * @param tiles number of tiles
+     * @param key   the mapper of objects to sort keys
+     * @param <T>   the type of stream objects
+     * @return {@link List} which indexes corresponds to tile number with list of objects as values
+     * @see CollectorEx#ntileByInt(int, ToIntFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, List<List<T>>> ntileByLong(int tiles,
+                                                     ToLongFunction<? super T> key) {
+        return N_TILE_COLLECTOR.ntileByLong(tiles, key);
+    }
+
+    /**
+     * Divides stream of objects ordered by a {@code long} key into a number of buckets and collects objects of each
+     * bucket using given downstream collector.
+     *
+     * @param tiles      number of tiles
+     * @param key        the mapper of objects to sort keys
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return {@link List} which indexes corresponds to tile number with result of the downstream collector as values
+     * @see CollectorEx#ntileByInt(int, ToIntFunction)
+     */
+    public static <T, R>
+    Collector<T, List<T>, List<R>> ntileByLong(int tiles,
+                                               ToLongFunction<? super T> key,
+                                               Collector<? super T, ?, R> downstream) {
+        return N_TILE_COLLECTOR.ntileByLong(tiles, key, downstream);
+    }
+
+    /**
+     * Divides stream of objects ordered by a {@code double} key into a number of buckets, keys are ordered as by
+     * {@link Double#compare(double, double)}.
+     *
+     * @param tiles number of tiles
+     * @param key   the mapper of objects to sort keys
+     * @param <T>   the type of stream objects
+     * @return {@link List} which indexes corresponds to tile number with list of objects as values
+     * @see CollectorEx#ntileByInt(int, ToIntFunction)
+     */
+    public static <T>
+    Collector<T, List<T>, List<List<T>>> ntileByDouble(int tiles,
+                                                       ToDoubleFunction<? super T> key) {
+        return N_TILE_COLLECTOR.ntileByDouble(tiles, key);
+    }
+
+    /**
+     * Divides stream of objects ordered by a {@code double} key into a number of buckets and collects objects of
+     * each bucket using given downstream collector.
+     *
+     * @param tiles      number of tiles
+     * @param key        the mapper of objects to sort keys
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return {@link List} which indexes corresponds to tile number with result of the downstream collector as values
+     * @see CollectorEx#ntileByInt(int, ToIntFunction)
+     */
+    public static <T, R>
+    Collector<T, List<T>, List<R>> ntileByDouble(int tiles,
+                                                 ToDoubleFunction<? super T> key,
+                                                 Collector<? super T, ?, R> downstream) {
+        return N_TILE_COLLECTOR.ntileByDouble(tiles, key, downstream);
+    }
+
+    /**
+     * Computes approximate boundaries of {@code tiles} equal-count buckets using natural ordering in a single pass.
+     * Unlike {@link #ntile(int)} the stream is not buffered, the collector keeps a mergeable quantile sketch which
+     * size depends only on the rank error. The returned list contains {@code tiles - 1} upper boundaries
+     * of the first buckets, the normalized rank of each boundary differs from the exact one by about
+     * {@code rankError}. Boundaries may repeat if the stream contains many equal objects. Example:
+     * <pre>{@code
+     *     List<Integer> boundaries = IntStream.rangeClosed(1, 1000).boxed()
+     *                                  .collect(CollectorEx.approximateNtileBoundaries(4, 0.01));
+     *     System.out.println(boundaries);
+     * }</pre>
+     * This will prints approximately {@code [250, 500, 750]}.
+     *
+     * @param tiles     number of tiles
+     * @param rankError the normalized rank error, between 0 and 1
+     * @param <T>       the type of stream objects
+     * @return {@link List} of upper boundaries of the first {@code tiles - 1} buckets
+     */
+    public static <T extends Comparable<? super T>>
+    Collector<T, ?, List<T>> approximateNtileBoundaries(int tiles, double rankError) {
+        return APPROXIMATE_N_TILE_COLLECTOR.ntileBoundaries(tiles, rankError);
+    }
+
+    /**
+     * Computes approximate boundaries of {@code tiles} equal-count buckets using given comparator in a single pass.
+     *
+     * @param tiles      number of tiles
+     * @param rankError  the normalized rank error, between 0 and 1
+     * @param comparator the comparator for custom ordering
+     * @param <T>        the type of stream objects
+     * @return {@link List} of upper boundaries of the first {@code tiles - 1} buckets
+     * @see CollectorEx#approximateNtileBoundaries(int, double)
+     */
+    public static <T>
+    Collector<T, ?, List<T>> approximateNtileBoundaries(int tiles,
+                                                        double rankError,
+                                                        Comparator<? super T> comparator) {
+        return APPROXIMATE_N_TILE_COLLECTOR.ntileBoundaries(tiles, rankError, comparator);
+    }
+
+    /**
+     * Divides stream of objects into buckets by given ascending boundaries, e.g. computed by
+     * {@link #approximateNtileBoundaries(int, double, Comparator)} over the same data. An object goes to the first
+     * bucket which boundary is greater than or equal to the object, objects greater than the last boundary go to
+     * the last bucket. The stream is not buffered and not sorted.
+     *
+     * @param boundaries the ascending upper boundaries of buckets
+     * @param comparator the comparator for custom ordering
+     * @param <T>        the type of stream objects
+     * @return {@link List} which indexes corresponds to bucket number with collection of objects as values
+     */
+    public static <T>
+    Collector<T, ?, List<List<T>>> ntileByBoundaries(List<T> boundaries,
+                                                     Comparator<? super T> comparator) {
+        return APPROXIMATE_N_TILE_COLLECTOR.ntileByBoundaries(boundaries, comparator);
+    }
+
+    /**
+     * Divides stream of objects into buckets by given ascending boundaries and collects objects of each bucket
+     * using given downstream collector.
+     *
+     * @param boundaries the ascending upper boundaries of buckets
+     * @param comparator the comparator for custom ordering
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <R>        the result type of the downstream collector
+     * @return {@link List} which indexes corresponds to bucket number with result of downstream collector as values
+     * @see CollectorEx#ntileByBoundaries(List, Comparator)
+     */
+    public static <T, R>
+    Collector<T, ?, List<R>> ntileByBoundaries(List<T> boundaries,
+                                               Comparator<? super T> comparator,
+                                               Collector<? super T, ?, R> downstream) {
+        return APPROXIMATE_N_TILE_COLLECTOR.ntileByBoundaries(boundaries, comparator, downstream);
+    }
+
+    /**
+     * Returns the discrete percentile of mapped values, i.e. the smallest value which cumulative distribution is
+     * greater than or equal to given percentile, like {@code PERCENTILE_DISC} of SQL. Values are buffered in
+     * a primitive array and the percentile is found by introselect in linear time without sorting the whole
+     * stream. Values are ordered as by {@link Double#compare(double, double)}, the percentile of an empty stream is
+     * NaN. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(5, 1, 4, 2, 3);
+     *     Double result = list.stream().collect(CollectorEx.percentileDisc(i -> i, 0.5));
+     *     System.out.println(result);
+     * }</pre>
+     * This will prints {@code 3.0}.
+     *
+     * @param mapper     the mapper of objects to values
+     * @param percentile the percentile, between 0 and 1
+     * @param <T>        the type of stream objects
+     * @return the discrete percentile
+     * @throws IllegalArgumentException if the percentile is not between 0 and 1
+     */
+    public static <T>
+    Collector<T, ?, Double> percentileDisc(ToDoubleFunction<? super T> mapper,
+                                           double percentile) {
+        return PERCENTILE_COLLECTOR.percentile(mapper, percentile, false);
+    }
+
+    /**
+     * Returns the continuous percentile of mapped values, which is linearly interpolated between the two nearest
+     * values, like {@code PERCENTILE_CONT} of SQL. Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(4, 1, 2, 3);
+     *     Double result = list.stream().collect(CollectorEx.percentileCont(i -> i, 0.5));
+     *     System.out.println(result);
+     * }</pre>
+     * This will prints {@code 2.5}.
+     *
+     * @param mapper     the mapper of objects to values
+     * @param percentile the percentile, between 0 and 1
+     * @param <T>        the type of stream objects
+     * @return the continuous percentile
+     * @throws IllegalArgumentException if the percentile is not between 0 and 1
+     * @see CollectorEx#percentileDisc(ToDoubleFunction, double)
+     */
+    public static <T>
+    Collector<T, ?, Double> percentileCont(ToDoubleFunction<? super T> mapper,
+                                           double percentile) {
+        return PERCENTILE_COLLECTOR.percentile(mapper, percentile, true);
+    }
+
+    /**
+     * Returns the median of mapped values, the mean of two middle values when the number of values is even.
+     *
+     * @param mapper the mapper of objects to values
+     * @param <T>    the type of stream objects
+     * @return the median
+     * @see CollectorEx#percentileCont(ToDoubleFunction, double)
+     */
+    public static <T>
+    Collector<T, ?, Double> median(ToDoubleFunction<? super T> mapper) {
+        return PERCENTILE_COLLECTOR.percentile(mapper, 0.5, true);
+    }
+
+    /**
+     * Returns discrete percentiles of mapped values in the order of given percentiles. The values are buffered once
+     * and only ranks of the requested percentiles are selected. Example:
+     * <pre>{@code
+     *     double[] result = IntStream.rangeClosed(1, 100).boxed()
+     *                         .collect(CollectorEx.percentilesDisc(i -> i, 0.5, 0.95, 0.99));
+     *     System.out.println(Arrays.toString(result));
+     * }</pre>
+     * This will prints {@code [50.0, 95.0, 99.0]}.
+     *
+     * @param mapper      the mapper of objects to values
+     * @param percentiles the percentiles, between 0 and 1
+     * @param <T>         the type of stream objects
+     * @return the array of discrete percentiles
+     * @throws IllegalArgumentException if a percentile is not between 0 and 1
+     * @see CollectorEx#percentileDisc(ToDoubleFunction, double)
+     */
+    public static <T>
+    Collector<T, ?, double[]> percentilesDisc(ToDoubleFunction<? super T> mapper,
+                                              double... percentiles) {
+        return PERCENTILE_COLLECTOR.percentiles(mapper, percentiles, false);
+    }
+
+    /**
+     * Returns continuous percentiles of mapped values in the order of given percentiles.
+     *
+     * @param mapper      the mapper of objects to values
+     * @param percentiles the percentiles, between 0 and 1
+     * @param <T>         the type of stream objects
+     * @return the array of continuous percentiles
+     * @throws IllegalArgumentException if a percentile is not between 0 and 1
+     * @see CollectorEx#percentileCont(ToDoubleFunction, double)
+     */
+    public static <T>
+    Collector<T, ?, double[]> percentilesCont(ToDoubleFunction<? super T> mapper,
+                                              double... percentiles) {
+        return PERCENTILE_COLLECTOR.percentiles(mapper, percentiles, true);
+    }
+
     public static <T extends Comparable<? super T>>
-    Collector<T, ?, List<T>> rankDistinct() {
+    Collector<T, List<T>, List<T>> rankDistinct() {
         return RANK_DISTINCT_COLLECTOR.rankDistinct();
     }
 
     public static <T>
-    Collector<T, ?, List<T>> rankDistinct(Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<T>> rankDistinct(Comparator<? super T> comparator) {
         return RANK_DISTINCT_COLLECTOR.rankDistinct(comparator);
     }
 
     public static <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> rankDistinct(Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, R> rankDistinct(Collector<? super T, ?, R> downstream) {
         return RANK_DISTINCT_COLLECTOR.rankDistinct(downstream);
     }
 
     public static <T, D extends Comparable<? super D>>
-    Collector<T, ?, List<D>> rankDistinct(Function<? super T, D> mapper) {
+    Collector<T, List<D>, List<D>> rankDistinct(Function<? super T, D> mapper) {
         return RANK_DISTINCT_COLLECTOR.rankDistinct(mapper);
     }
 
     public static <T, R>
-    Collector<T, ?, R> rankDistinct(Comparator<? super T> comparator,
-                                    Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, R> rankDistinct(Comparator<? super T> comparator,
+                                          Collector<? super T, ?, R> downstream) {
         return RANK_DISTINCT_COLLECTOR.rankDistinct(comparator, downstream);
     }
 
     public static <T, D>
-    Collector<T, ?, List<D>> rankDistinct(Comparator<? super D> comparator,
-                                          Function<? super T, D> mapper) {
+    Collector<T, List<D>, List<D>> rankDistinct(Comparator<? super D> comparator,
+                                                Function<? super T, D> mapper) {
         return RANK_DISTINCT_COLLECTOR.rankDistinct(comparator, mapper);
     }
 
     public static <T, D extends Comparable<? super D>, R>
-    Collector<T, ?, R> rankDistinct(Function<? super T, D> mapper,
-                                    Collector<? super D, ?, R> downstream) {
+    Collector<T, List<D>, R> rankDistinct(Function<? super T, D> mapper,
+                                          Collector<? super D, ?, R> downstream) {
         return RANK_DISTINCT_COLLECTOR.rankDistinct(mapper, downstream);
     }
 
     public static <T, D, R>
-    Collector<T, ?, R> rankDistinct(Comparator<? super D> comparator,
-                                    Function<? super T, D> mapper,
-                                    Collector<? super D, ?, R> downstream) {
+    Collector<T, List<D>, R> rankDistinct(Comparator<? super D> comparator,
+                                          Function<? super T, D> mapper,
+                                          Collector<? super D, ?, R> downstream) {
         return RANK_DISTINCT_COLLECTOR.rankDistinct(comparator, mapper, downstream);
     }
 
+    /**
+     * Collects distinct mapped values in sort order like {@link #rankDistinct(Comparator, Function, Collector)}, but
+     * duplicates are dropped during accumulation by a sorted set. This saves memory and sort time when the stream
+     * contains few distinct values. Partial state is written with {@link BinaryCodecs#setState(BinaryCodec)}.
+     *
+     * @param comparator the comparator for custom ordering
+     * @param mapper     the mapper of stream objects
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <D>        the type of mapped values
+     * @param <R>        the result type of the downstream collector
+     * @return the result of downstream collector applied to distinct values
+     */
+    public static <T, D, R>
+    Collector<T, Set<D>, R> rankDistinctWithSortedSet(Comparator<? super D> comparator,
+                                                      Function<? super T, D> mapper,
+                                                      Collector<? super D, ?, R> downstream) {
+        return RANK_DISTINCT_COLLECTOR.rankDistinctWithSortedSet(comparator, mapper, downstream);
+    }
+
+    /**
+     * Collects distinct mapped values in sort order like {@link #rankDistinct(Comparator, Function, Collector)}, but
+     * duplicates are dropped during accumulation by a hash set, so adding a value takes constant time instead of a
+     * sorted set lookup. Distinct values are sorted once by the finisher. Values equal by the comparator but not by
+     * {@link Object#equals(Object)} are dropped by the finisher, so {@code equals} must not consider equal the values
+     * which the comparator distinguishes. Partial state is written with {@link BinaryCodecs#setState(BinaryCodec)}.
+     *
+     * @param comparator the comparator for custom ordering
+     * @param mapper     the mapper of stream objects
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <D>        the type of mapped values
+     * @param <R>        the result type of the downstream collector
+     * @return the result of downstream collector applied to distinct values
+     * @see CollectorEx#rankDistinctWithSortedSet(Comparator, Function, Collector)
+     */
+    public static <T, D, R>
+    Collector<T, Set<D>, R> rankDistinctWithHashSet(Comparator<? super D> comparator,
+                                                    Function<? super T, D> mapper,
+                                                    Collector<? super D, ?, R> downstream) {
+        return RANK_DISTINCT_COLLECTOR.rankDistinctWithHashSet(comparator, mapper, downstream);
+    }
+
     /**
      * Return distinct elements of stream using given mapper function.
      * Example:
@@ -796,7 +2087,7 @@ public class CollectorEx {
      * @return the collection of distinct stream objects
      */
     public static <T, D>
-    Collector<T, ?, Collection<T>> distinct(Function<? super T, D> mapper) {
+    Collector<T, Map<D, T>, Collection<T>> distinct(Function<? super T, D> mapper) {
         return DISTINCT_COLLECTOR.distinct(mapper);
     }
 
@@ -816,11 +2107,155 @@ public class CollectorEx {
      * @return the collection of distinct stream objects
      */
     public static <T, D, R>
-    Collector<T, ?, R> distinct(Function<? super T, D> mapper,
-                                Collector<? super T, ?, R> downstream) {
+    Collector<T, Map<D, T>, R> distinct(Function<? super T, D> mapper,
+                                        Collector<? super T, ?, R> downstream) {
         return DISTINCT_COLLECTOR.distinct(mapper, downstream);
     }
 
+    /**
+     * Returns distinct elements of stream using given mapper function. Unlike {@link #distinct(Function)} the first
+     * occurrence of each key is kept and elements are returned in encounter order, the result is the same for
+     * sequential and parallel streams.
+     * Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(-1, 2, 2, 1, 1);
+     *     List<Integer> result = list.stream().collect(CollectorEx.distinctFirst(Math::abs));
+     *     System.out.println(result);
+     * }</pre>
+     * This will prints {@code [-1, 2]}
+     *
+     * @param mapper the mapping function
+     * @param <T>    the type of stream objects
+     * @param <D>    the return type of mapping object
+     * @return the list of the first occurrences of distinct stream objects
+     */
+    public static <T, D>
+    Collector<T, ?, List<T>> distinctFirst(Function<? super T, D> mapper) {
+        return DISTINCT_COLLECTOR.distinctFirst(mapper);
+    }
+
+    /**
+     * Returns distinct elements of stream using given mapper function and collects the first occurrences of each
+     * key in encounter order using given downstream collector. Elements are passed to the downstream accumulator
+     * as soon as they are seen for the first time. When partial results of parallel stream are combined the first
+     * occurrences of the right part are replayed into the left downstream container.
+     *
+     * @param mapper     the mapping function
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of stream objects
+     * @param <D>        the return type of mapping object
+     * @param <R>        the result type of the reduction operation
+     * @return the result of the downstream collector
+     * @see CollectorEx#distinctFirst(Function)
+     */
+    public static <T, D, R>
+    Collector<T, ?, R> distinctFirst(Function<? super T, D> mapper,
+                                     Collector<? super T, ?, R> downstream) {
+        return DISTINCT_COLLECTOR.distinctFirst(mapper, downstream);
+    }
+
+    /**
+     * Returns elements of stream which keys are probably seen for the first time. Keys are tested against a Bloom
+     * filter sized for given number of insertions and false positive probability, so memory does not depend on
+     * the number of distinct keys. A duplicate key is always rejected, a new key is wrongly rejected with given
+     * probability. In a parallel stream each part has its own filter, duplicates which first appear in different
+     * parts are all kept. Keys are hashed by {@link Object#hashCode()}, distinct keys with equal hash codes are always
+     * taken for duplicates, so the false positive probability can not be lower than the probability of hash code
+     * collision. Use {@link #approximateDistinctByHash(Function, ToLongFunction, long, double)} with a 64 bit hash
+     * function for large number of keys.
+     * Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(-1, 2, 2, 1, 1);
+     *     List<Integer> result = list.stream().collect(CollectorEx.approximateDistinct(Math::abs, 1000, 0.01));
+     *     System.out.println(result);
+     * }</pre>
+     * This will prints {@code [-1, 2]}
+     *
+     * @param mapper                   the mapping function
+     * @param expectedInsertions       the expected number of distinct keys
+     * @param falsePositiveProbability the probability to reject a new key
+     * @param <T>                      the type of stream objects
+     * @param <D>                      the return type of mapping object
+     * @return the list of stream objects which keys are probably distinct
+     * @throws IllegalArgumentException if the filter for given number of insertions and probability is too large
+     */
+    public static <T, D>
+    Collector<T, ?, List<T>> approximateDistinct(Function<? super T, D> mapper,
+                                                 long expectedInsertions,
+                                                 double falsePositiveProbability) {
+        return APPROXIMATE_DISTINCT_COLLECTOR.approximateDistinct(mapper, expectedInsertions, falsePositiveProbability);
+    }
+
+    /**
+     * Passes elements of stream which keys are probably seen for the first time to given downstream collector.
+     *
+     * @param mapper                   the mapping function
+     * @param expectedInsertions       the expected number of distinct keys
+     * @param falsePositiveProbability the probability to reject a new key
+     * @param downstream               the reduction operation (e.g. the downstream collector)
+     * @param <T>                      the type of stream objects
+     * @param <D>                      the return type of mapping object
+     * @param <R>                      the result type of the reduction operation
+     * @return the result of the downstream collector
+     * @see CollectorEx#approximateDistinct(Function, long, double)
+     */
+    public static <T, D, R>
+    Collector<T, ?, R> approximateDistinct(Function<? super T, D> mapper,
+                                           long expectedInsertions,
+                                           double falsePositiveProbability,
+                                           Collector<? super T, ?, R> downstream) {
+        return APPROXIMATE_DISTINCT_COLLECTOR.approximateDistinct(mapper, expectedInsertions,
+                falsePositiveProbability, downstream);
+    }
+
+    /**
+     * Returns elements of stream which keys are probably seen for the first time. Keys are tested against a Bloom
+     * filter using given 64 bit hash function, so keys with equal {@link Object#hashCode()} are not taken for
+     * duplicates.
+     *
+     * @param mapper                   the mapping function
+     * @param hashFunction             the 64 bit hash function of keys
+     * @param expectedInsertions       the expected number of distinct keys
+     * @param falsePositiveProbability the probability to reject a new key
+     * @param <T>                      the type of stream objects
+     * @param <D>                      the return type of mapping object
+     * @return the list of stream objects which keys are probably distinct
+     * @see CollectorEx#approximateDistinct(Function, long, double)
+     */
+    public static <T, D>
+    Collector<T, ?, List<T>> approximateDistinctByHash(Function<? super T, D> mapper,
+                                                       ToLongFunction<? super D> hashFunction,
+                                                       long expectedInsertions,
+                                                       double falsePositiveProbability) {
+        return APPROXIMATE_DISTINCT_COLLECTOR.approximateDistinctByHash(mapper, hashFunction, expectedInsertions,
+                falsePositiveProbability);
+    }
+
+    /**
+     * Passes elements of stream which keys are probably seen for the first time to given downstream collector. Keys
+     * are tested against a Bloom filter using given 64 bit hash function.
+     *
+     * @param mapper                   the mapping function
+     * @param hashFunction             the 64 bit hash function of keys
+     * @param expectedInsertions       the expected number of distinct keys
+     * @param falsePositiveProbability the probability to reject a new key
+     * @param downstream               the reduction operation (e.g. the downstream collector)
+     * @param <T>                      the type of stream objects
+     * @param <D>                      the return type of mapping object
+     * @param <R>                      the result type of the reduction operation
+     * @return the result of the downstream collector
+     * @see CollectorEx#approximateDistinctByHash(Function, ToLongFunction, long, double)
+     */
+    public static <T, D, R>
+    Collector<T, ?, R> approximateDistinctByHash(Function<? super T, D> mapper,
+                                                 ToLongFunction<? super D> hashFunction,
+                                                 long expectedInsertions,
+                                                 double falsePositiveProbability,
+                                                 Collector<? super T, ?, R> downstream) {
+        return APPROXIMATE_DISTINCT_COLLECTOR.approximateDistinctByHash(mapper, hashFunction, expectedInsertions,
+                falsePositiveProbability, downstream);
+    }
+
     /**
      * Collects stream of {@link Map map's} to multi value map.
      * Example:
@@ -839,7 +2274,7 @@ public class CollectorEx {
      * @return the map with collection of values for the same key entries
      */
     public static <K, V>
-    Collector<Map<K, V>, ?, Map<K, List<V>>> mapStreamToMultiValueMap() {
+    Collector<Map<K, V>, Map<K, List<V>>, Map<K, List<V>>> mapStreamToMultiValueMap() {
         return MULTI_VALUE_MAP_COLLECTOR.mapStreamToMultiValueMap();
     }
 
@@ -862,7 +2297,7 @@ public class CollectorEx {
      * @return the map with collection of values for the same key entries
      */
     public static <K, V, R>
-    Collector<Map<K, V>, ?, Map<K, R>> mapStreamToMultiValueMap(Collector<? super V, ?, R> downstream) {
+    Collector<Map<K, V>, Map<K, List<V>>, Map<K, R>> mapStreamToMultiValueMap(Collector<? super V, ?, R> downstream) {
         return MULTI_VALUE_MAP_COLLECTOR.mapStreamToMultiValueMap(downstream);
     }
 
@@ -874,7 +2309,7 @@ public class CollectorEx {
      * @return the map with collection of values for the same key entries
      */
     public static <K, V>
-    Collector<Entry<K, V>, ?, Map<K, List<V>>> entryStreamToMultiValueMap() {
+    Collector<Entry<K, V>, Map<K, List<V>>, Map<K, List<V>>> entryStreamToMultiValueMap() {
         return MULTI_VALUE_MAP_COLLECTOR.entryStreamToMultiValueMap();
     }
 
@@ -887,7 +2322,7 @@ public class CollectorEx {
      * @return the map with collection of values for the same key entries
      */
     public static <K, V, R>
-    Collector<Entry<K, V>, ?, Map<K, R>> entryStreamToMultiValueMap(Collector<? super V, ?, R> downstream) {
+    Collector<Entry<K, V>, Map<K, List<V>>, Map<K, R>> entryStreamToMultiValueMap(Collector<? super V, ?, R> downstream) {
         return MULTI_VALUE_MAP_COLLECTOR.entryStreamToMultiValueMap(downstream);
     }
 
@@ -904,8 +2339,8 @@ public class CollectorEx {
      * @return the map with collection of values for the same key entries
      */
     public static <T, K, V, R>
-    Collector<T, ?, Map<K, List<V>>> toMultiValueMap(Function<? super T, ? extends K> keyMapper,
-                                                     Function<? super T, ? extends V> valueMapper) {
+    Collector<T, Map<K, List<V>>, Map<K, List<V>>> toMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                   Function<? super T, ? extends V> valueMapper) {
         return MULTI_VALUE_MAP_COLLECTOR.toMultiValueMap(keyMapper, valueMapper);
     }
 
@@ -923,14 +2358,208 @@ public class CollectorEx {
      * @return the map with collection of values for the same key entries
      */
     public static <T, K, V, R>
-    Collector<T, ?, Map<K, R>> toMultiValueMap(Function<? super T, ? extends K> keyMapper,
-                                               Function<? super T, ? extends V> valueMapper,
-                                               Collector<? super V, ?, R> downstream) {
+    Collector<T, Map<K, List<V>>, Map<K, R>> toMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                             Function<? super T, ? extends V> valueMapper,
+                                                             Collector<? super V, ?, R> downstream) {
         return MULTI_VALUE_MAP_COLLECTOR.toMultiValueMap(keyMapper, valueMapper, downstream);
     }
 
+    /**
+     * Collects stream elements into concurrent multi-value map whose keys and values are the result of applying
+     * the provided mapping functions to the input elements. The collector is {@link Collector.Characteristics#CONCURRENT}
+     * and {@link Collector.Characteristics#UNORDERED}, so a parallel stream accumulates into a single shared map
+     * with lock-free value queues and never combines partial maps. Values of the same key are in arbitrary order.
+     * Null keys and values are not supported.
+     * Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 2, 3, 4, 5, 6);
+     *     ConcurrentMap<Integer, Collection<Integer>> result = list.parallelStream()
+     *              .collect(CollectorEx.toConcurrentMultiValueMap(i -> i % 2, Function.identity()));
+     *     System.out.println(result);
+     * }</pre>
+     * This will prints something like {@code {0=[4, 2, 6], 1=[1, 5, 3]}}
+     *
+     * @param keyMapper   a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @param <T>         the type of stream elements
+     * @param <K>         the output type of the key mapping function
+     * @param <V>         the output type of the value mapping function
+     * @return the concurrent map with collection of values for the same key entries
+     */
+    public static <T, K, V>
+    Collector<T, ?, ConcurrentMap<K, Collection<V>>> toConcurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                               Function<? super T, ? extends V> valueMapper) {
+        return MULTI_VALUE_MAP_COLLECTOR.toConcurrentMultiValueMap(keyMapper, valueMapper);
+    }
+
+    /**
+     * Collects stream elements into concurrent multi-value map keeping values of the same key in encounter order.
+     * The collector is {@link Collector.Characteristics#CONCURRENT} but not {@link Collector.Characteristics#UNORDERED},
+     * so an ordered parallel stream accumulates into a map per part and combines them in encounter order.
+     * Null keys and values are not supported.
+     *
+     * @param keyMapper   a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @param <T>         the type of stream elements
+     * @param <K>         the output type of the key mapping function
+     * @param <V>         the output type of the value mapping function
+     * @return the concurrent map with collection of values for the same key entries
+     * @see CollectorEx#toConcurrentMultiValueMap(Function, Function)
+     */
+    public static <T, K, V>
+    Collector<T, ?, ConcurrentMap<K, Collection<V>>> toOrderedConcurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                                      Function<? super T, ? extends V> valueMapper) {
+        return MULTI_VALUE_MAP_COLLECTOR.toOrderedConcurrentMultiValueMap(keyMapper, valueMapper);
+    }
+
+    /**
+     * Collects stream elements into concurrent multi-value map and reduces values of each key using given
+     * downstream collector. Downstream collectors of different keys are evaluated in parallel.
+     *
+     * @param keyMapper   a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @param downstream  the reduction operation (e.g. the downstream collector)
+     * @param <T>         the type of stream elements
+     * @param <K>         the output type of the key mapping function
+     * @param <V>         the output type of the value mapping function
+     * @param <R>         the result type of the reduction operation
+     * @return the concurrent map with result of the downstream collector for the same key entries
+     * @see CollectorEx#toConcurrentMultiValueMap(Function, Function)
+     */
+    public static <T, K, V, R>
+    Collector<T, ?, ConcurrentMap<K, R>> toConcurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                   Function<? super T, ? extends V> valueMapper,
+                                                                   Collector<? super V, ?, R> downstream) {
+        return MULTI_VALUE_MAP_COLLECTOR.toConcurrentMultiValueMap(keyMapper, valueMapper, downstream);
+    }
+
+    /**
+     * Collects stream elements into concurrent multi-value map keeping values of the same key in encounter order
+     * and reduces values of each key using given downstream collector.
+     *
+     * @param keyMapper   a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @param downstream  the reduction operation (e.g. the downstream collector)
+     * @param <T>         the type of stream elements
+     * @param <K>         the output type of the key mapping function
+     * @param <V>         the output type of the value mapping function
+     * @param <R>         the result type of the reduction operation
+     * @return the concurrent map with result of the downstream collector for the same key entries
+     * @see CollectorEx#toOrderedConcurrentMultiValueMap(Function, Function)
+     */
+    public static <T, K, V, R>
+    Collector<T, ?, ConcurrentMap<K, R>> toOrderedConcurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                          Function<? super T, ? extends V> valueMapper,
+                                                                          Collector<? super V, ?, R> downstream) {
+        return MULTI_VALUE_MAP_COLLECTOR.toOrderedConcurrentMultiValueMap(keyMapper, valueMapper, downstream);
+    }
+
+    /**
+     * Creates window specification which computes window functions for partitions of the stream in a single pass.
+     * Unlike {@code groupingBy(key, CollectorEx.rank(comparator))} the stream is buffered once into a single array,
+     * rows are grouped by partitions with a counting sort and partitions of large streams are sorted and computed
+     * in parallel.
+     * Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(1, 2, 3, 4, 5, 6);
+     *     Map<Integer, int[]> result = list.stream()
+     *              .collect(CollectorEx.window()
+     *                      .partitionBy((Integer i) -> i % 2)
+     *                      .orderBy(Comparator.<Integer>reverseOrder())
+     *                      .apply(WindowFunction.summingInt(i -> i)));
+     *     result.forEach((key, sums) -> System.out.println(key + "=" + Arrays.toString(sums)));
+     * }</pre>
+     * This will prints {@code 1=[5, 8, 9]} and {@code 0=[6, 10, 12]}
+     *
+     * @return the window without partitions and order
+     * @see Window
+     * @see WindowFunction
+     */
+    public static Window<Object, Object> window() {
+        return Window.unpartitioned();
+    }
+
+    /**
+     * Computes several window functions sharing the same order over the whole stream. The stream is buffered and
+     * sorted once and every function is applied to the same sorted list, instead of buffering and sorting the stream
+     * by each collector separately.
+     * Example:
+     * <pre>{@code
+     *     List<Integer> list = Arrays.asList(3, 1, 2, 2);
+     *     WindowFunction<Integer, SortedMap<Integer, List<Integer>>> rank = WindowFunction.rank();
+     *     WindowFunction<Integer, int[]> runningTotal = WindowFunction.summingInt(i -> i);
+     *     WindowResults results = list.stream()
+     *              .collect(CollectorEx.windowFunctions(Integer::compare, rank, runningTotal));
+     *     System.out.println(results.get(rank) + " " + Arrays.toString(results.get(runningTotal)));
+     * }</pre>
+     * This will prints {@code {1=[1], 2=[2, 2], 4=[3]} [1, 3, 5, 8]}
+     *
+     * @param comparator the comparator for custom ordering
+     * @param functions  the window functions
+     * @param <T>        the type of stream objects
+     * @return the results of window functions
+     * @see Window#compute(WindowFunction[])
+     */
+    @SafeVarargs
+    public static <T>
+    Collector<T, ?, WindowResults> windowFunctions(Comparator<? super T> comparator,
+                                                   WindowFunction<T, ?>... functions) {
+        Objects.requireNonNull(functions, "Window functions cannot be null");
+        List<WindowFunction<T, ?>> list = new ArrayList<>(functions.length);
+        for (WindowFunction<T, ?> function : functions)
+            list.add(function);
+        return WINDOW_COLLECTOR.windowFunctions(comparator, list);
+    }
+
+    /**
+     * Creates empty resumable partial result of given collector. Elements can be added to accumulation in batches,
+     * accumulations can be merged and the current result can be computed at any time without rescanning
+     * previously added elements. Accumulations of external collectors hold temporary files and must be closed.
+     * Example:
+     * <pre>{@code
+     *     Accumulation<Integer, List<Integer>, SortedMap<Integer, List<Integer>>> ranks
+     *              = CollectorEx.accumulation(CollectorEx.<Integer>rank());
+     *     ranks.addAll(Arrays.asList(3, 1, 2));
+     *     System.out.println(ranks.result());
+     *     ranks.addAll(Arrays.asList(1, 4));
+     *     System.out.println(ranks.result());
+     * }</pre>
+     * This will prints {@code {1=[1], 2=[2], 3=[3]}} and {@code {1=[1, 1], 3=[2], 4=[3], 5=[4]}}
+     *
+     * @param collector the collector
+     * @param <T>       the type of input elements
+     * @param <A>       the mutable accumulation type of the collector
+     * @param <R>       the result type of the collector
+     * @return the empty accumulation
+     */
+    public static <T, A, R>
+    Accumulation<T, A, R> accumulation(Collector<T, A, R> collector) {
+        return new Accumulation<>(collector);
+    }
+
     static <T> List<T> listCombiner(List<T> left, List<T> right) {
         left.addAll(right);
         return left;
     }
+
+    /**
+     * Sorts buffered list in finishers. Lists of at least {@link #PARALLEL_SORT_THRESHOLD} elements are copied into
+     * an array, sorted by {@link Arrays#parallelSort(Object[], Comparator)} and written back, so the finisher does not
+     * sort on a single thread after a parallel stream was accumulated. {@link SortedRunList} sorts itself and does
+     * nothing when its runs were already merged by the combiner.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void sortList(List<T> list, Comparator<? super T> comparator) {
+        if (list instanceof SortedRunList || list.size() < PARALLEL_SORT_THRESHOLD) {
+            list.sort(comparator);
+            return;
+        }
+        T[] array = (T[]) list.toArray();
+        Arrays.parallelSort(array, comparator);
+        ListIterator<T> iterator = list.listIterator();
+        for (T item : array) {
+            iterator.next();
+            iterator.set(item);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package org.agzamovr.collectors;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
+
+/**
+ * Collector which knows how to copy its container. Combiners of some collectors reuse parts of the right container,
+ * e.g. value lists of multi value maps, which is fine in streams where the right container is discarded after
+ * combining. {@link Accumulation} keeps its container after the result is computed, so it copies the container with
+ * the copy function of the collector instead of combining it into an empty one. Containers which hold resources,
+ * e.g. temporary files of external sorts, are released by {@link Accumulation#close()} with the release function.
+ *
+ * @param <T> the type of input elements
+ * @param <A> the mutable accumulation type of the collector
+ * @param <R> the result type of the collector
+ */
+final class CopyingCollector<T, A, R> implements Collector<T, A, R> {
+    private final Collector<T, A, R> collector;
+    private final UnaryOperator<A> copier;
+    private final Consumer<A> releaser;
+
+    private CopyingCollector(Collector<T, A, R> collector, UnaryOperator<A> copier, Consumer<A> releaser) {
+        this.collector = collector;
+        this.copier = copier;
+        this.releaser = releaser;
+    }
+
+    static <T, A, R> Collector<T, A, R> of(Collector<T, A, R> collector, UnaryOperator<A> copier) {
+        return new CopyingCollector<>(collector, copier, container -> {
+        });
+    }
+
+    static <T, A, R> Collector<T, A, R> of(Collector<T, A, R> collector,
+                                           UnaryOperator<A> copier,
+                                           Consumer<A> releaser) {
+        return new CopyingCollector<>(collector, copier, releaser);
+    }
+
+    UnaryOperator<A> copier() {
+        return copier;
+    }
+
+    Consumer<A> releaser() {
+        return releaser;
+    }
+
+    @Override
+    public Supplier<A> supplier() {
+        return collector.supplier();
+    }
+
+    @Override
+    public BiConsumer<A, T> accumulator() {
+        return collector.accumulator();
+    }
+
+    @Override
+    public BinaryOperator<A> combiner() {
+        return collector.combiner();
+    }
+
+    @Override
+    public Function<A, R> finisher() {
+        return collector.finisher();
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+        return collector.characteristics();
+    }
+}
@@ -1,14 +1,49 @@
 package org.agzamovr.collectors;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collector;
 
+import static java.util.stream.Collectors.toList;
+
 class DistinctCollector {
     static final DistinctCollector DISTINCT_COLLECTOR = new DistinctCollector();
 
+    /**
+     * Keeps the first occurrence of each key in encounter order. First occurrences are passed to the downstream
+     * container as they arrive and kept to be replayed into the left container when partial results are combined.
+     */
+    static class FirstDistinct<T, D, A> {
+        private final Set<D> keys = new HashSet<>();
+        private final List<T> items = new ArrayList<>();
+        private final A container;
+
+        FirstDistinct(A container) {
+            this.container = container;
+        }
+
+        void add(D key, T item, BiConsumer<A, ? super T> downstreamAccumulator) {
+            if (keys.add(key)) {
+                items.add(item);
+                downstreamAccumulator.accept(container, item);
+            }
+        }
+
+        FirstDistinct<T, D, A> merge(FirstDistinct<T, D, A> other,
+                                     Function<? super T, D> mapper,
+                                     BiConsumer<A, ? super T> downstreamAccumulator) {
+            for (T item : other.items)
+                add(mapper.apply(item), item, downstreamAccumulator);
+            return this;
+        }
+
+        A container() {
+            return container;
+        }
+    }
+
     <T, D, R>
     R distinctFinisher(Map<D, T> map,
                        Collector<? super T, ?, R> downstream) {
@@ -42,4 +77,23 @@ class DistinctCollector {
                 this::combiner,
                 (map) -> distinctFinisher(map, downstream));
     }
+
+    <T, D>
+    Collector<T, ?, List<T>> distinctFirst(Function<? super T, D> mapper) {
+        return distinctFirst(mapper, toList());
+    }
+
+    <T, D, A, R>
+    Collector<T, FirstDistinct<T, D, A>, R> distinctFirst(Function<? super T, D> mapper,
+                                                         Collector<? super T, A, R> downstream) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        Function<A, R> downstreamFinisher = downstream.finisher();
+        return Collector.of(() -> new FirstDistinct<>(downstreamSupplier.get()),
+                (state, item) -> state.add(mapper.apply(item), item, downstreamAccumulator),
+                (left, right) -> left.merge(right, mapper, downstreamAccumulator),
+                (state) -> downstreamFinisher.apply(state.container()));
+    }
 }
\ No newline at end of file
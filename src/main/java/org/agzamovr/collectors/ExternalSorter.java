@@ -0,0 +1,264 @@
+package org.agzamovr.collectors;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Sorts elements which may not fit into the heap. Elements are buffered until the buffer holds
+ * {@code maxElementsInMemory} elements, then the buffer is sorted and spilled as a run into a temporary file using the
+ * element codec. Runs are read back through fixed size read buffers and merged with a priority queue, so only the
+ * buffer and one element per run are kept in the heap. The merge is stable: equal elements are passed in the order
+ * they were added, runs are ordered by their index and the in-memory buffer is the last run. Temporary files are
+ * deleted when the sorted iteration is finished or by {@link #clear()}. Files of sorters which are abandoned, e.g.
+ * when a stream fails before its finisher runs, are deleted on JVM exit.
+ *
+ * @param <T> the type of elements
+ */
+class ExternalSorter<T> {
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final Comparator<? super T> comparator;
+    private final BinaryCodec<T> codec;
+    private final int maxElementsInMemory;
+    private final List<T> buffer = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private long size;
+
+    ExternalSorter(Comparator<? super T> comparator, BinaryCodec<T> codec, int maxElementsInMemory) {
+        this.comparator = comparator;
+        this.codec = codec;
+        this.maxElementsInMemory = maxElementsInMemory;
+    }
+
+    void add(T item) {
+        buffer.add(item);
+        size++;
+        if (buffer.size() >= maxElementsInMemory)
+            spill();
+    }
+
+    /**
+     * Adds elements of the other sorter after elements of this one. This sorter takes ownership of the runs of the
+     * other sorter, which is left empty. Buffered elements of this sorter are spilled before the runs of the other
+     * sorter are appended, so the order of runs stays the order of elements.
+     */
+    ExternalSorter<T> merge(ExternalSorter<T> other) {
+        if (!other.runs.isEmpty() && !buffer.isEmpty())
+            spill();
+        runs.addAll(other.runs);
+        other.runs.clear();
+        size += other.size - other.buffer.size();
+        other.buffer.forEach(this::add);
+        other.buffer.clear();
+        other.size = 0;
+        return this;
+    }
+
+    /**
+     * Returns an independent sorter with the same elements, spilled runs are copied into new temporary files.
+     */
+    ExternalSorter<T> copy() {
+        ExternalSorter<T> copy = new ExternalSorter<>(comparator, codec, maxElementsInMemory);
+        copy.copyRuns(runs);
+        copy.buffer.addAll(buffer);
+        copy.size = size;
+        return copy;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Deletes spilled runs and drops buffered elements.
+     */
+    void clear() {
+        deleteRuns();
+        buffer.clear();
+        size = 0;
+    }
+
+    /**
+     * Passes all elements in sorted order to the consumer and deletes spilled runs.
+     */
+    void forEachSorted(Consumer<? super T> consumer) {
+        buffer.sort(comparator);
+        if (runs.isEmpty()) {
+            buffer.forEach(consumer);
+            return;
+        }
+        List<RunReader<T>> readers = new ArrayList<>(runs.size());
+        try {
+            for (int i = 0; i < runs.size(); i++)
+                readers.add(new RunReader<>(runs.get(i), i, codec));
+            mergeRuns(readers, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (RunReader<T> reader : readers)
+                reader.close();
+            deleteRuns();
+        }
+    }
+
+    private void mergeRuns(List<RunReader<T>> readers, Consumer<? super T> consumer) throws IOException {
+        PriorityQueue<RunReader<T>> queue = new PriorityQueue<>(readers.size(), (left, right) -> {
+            int cmp = comparator.compare(left.current, right.current);
+            return cmp != 0 ? cmp : Integer.compare(left.index, right.index);
+        });
+        for (RunReader<T> reader : readers)
+            if (reader.next())
+                queue.add(reader);
+        Iterator<T> memory = buffer.iterator();
+        T memoryItem = memory.hasNext() ? memory.next() : null;
+        boolean hasMemoryItem = !buffer.isEmpty();
+        while (!queue.isEmpty() || hasMemoryItem) {
+            RunReader<T> reader = queue.peek();
+            if (reader == null || hasMemoryItem && comparator.compare(memoryItem, reader.current) < 0) {
+                consumer.accept(memoryItem);
+                hasMemoryItem = memory.hasNext();
+                memoryItem = hasMemoryItem ? memory.next() : null;
+            } else {
+                queue.poll();
+                consumer.accept(reader.current);
+                if (reader.next())
+                    queue.add(reader);
+            }
+        }
+    }
+
+    private void spill() {
+        buffer.sort(comparator);
+        try {
+            Path run = Files.createTempFile("collectorex-run", ".bin");
+            run.toFile().deleteOnExit();
+            runs.add(run);
+            try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+                for (T item : buffer)
+                    bytes = write(channel, bytes, item);
+                bytes.flip();
+                while (bytes.hasRemaining())
+                    channel.write(bytes);
+            }
+        } catch (IOException e) {
+            deleteRuns();
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private ByteBuffer write(FileChannel channel, ByteBuffer bytes, T item) throws IOException {
+        while (true) {
+            int position = bytes.position();
+            try {
+                codec.write(item, bytes);
+                return bytes;
+            } catch (BufferOverflowException e) {
+                bytes.position(position);
+                if (position == 0) {
+                    bytes = ByteBuffer.allocate(Math.multiplyExact(bytes.capacity(), 2));
+                } else {
+                    bytes.flip();
+                    while (bytes.hasRemaining())
+                        channel.write(bytes);
+                    bytes.clear();
+                }
+            }
+        }
+    }
+
+    private void copyRuns(List<Path> otherRuns) {
+        try {
+            for (Path otherRun : otherRuns) {
+                Path run = Files.createTempFile("collectorex-run", ".bin");
+                run.toFile().deleteOnExit();
+                runs.add(run);
+                Files.copy(otherRun, run, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            deleteRuns();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteRuns() {
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                // the file stays in the temporary directory
+            }
+        }
+        runs.clear();
+    }
+
+    /**
+     * Reads elements of a run through a heap buffer. The rest of the buffer is moved to its start and refilled when the
+     * next element does not fit into it, the buffer grows when a single element is larger than the whole buffer.
+     */
+    private static final class RunReader<T> {
+        private final FileChannel channel;
+        private final int index;
+        private final BinaryCodec<T> codec;
+        private ByteBuffer bytes = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private boolean endOfRun;
+        private T current;
+
+        RunReader(Path run, int index, BinaryCodec<T> codec) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.index = index;
+            this.codec = codec;
+            bytes.flip();
+        }
+
+        boolean next() throws IOException {
+            while (true) {
+                if (!bytes.hasRemaining() && !fill())
+                    return false;
+                int position = bytes.position();
+                try {
+                    current = codec.read(bytes);
+                    return true;
+                } catch (BufferUnderflowException e) {
+                    bytes.position(position);
+                    if (!fill())
+                        throw new IllegalStateException("Run is truncated or codec is not symmetric", e);
+                }
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (endOfRun)
+                return false;
+            if (bytes.position() == 0 && bytes.limit() == bytes.capacity())
+                bytes = ByteBuffer.allocate(Math.multiplyExact(bytes.capacity(), 2)).put(bytes);
+            else
+                bytes.compact();
+            int read = channel.read(bytes);
+            bytes.flip();
+            if (read < 0)
+                endOfRun = true;
+            return read > 0;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing to do with a read only channel
+            }
+        }
+    }
+}
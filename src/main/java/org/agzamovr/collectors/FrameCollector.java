@@ -0,0 +1,201 @@
+package org.agzamovr.collectors;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+import static java.util.Comparator.nullsLast;
+
+class FrameCollector {
+    static final FrameCollector FRAME_COLLECTOR = new FrameCollector();
+
+    private void validateInput(ToDoubleFunction<?> mapper,
+                               FrameFunction function,
+                               double preceding,
+                               double following) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(function, "Frame function cannot be null");
+        if (!(preceding >= 0))
+            throw new IllegalArgumentException("Preceding offset must not be negative: " + preceding);
+        if (!(following >= 0))
+            throw new IllegalArgumentException("Following offset must not be negative: " + following);
+    }
+
+    /**
+     * Bounds of the ROWS frame of each row, the frame of row {@code i} is {@code [i - preceding, i + following]}
+     * limited by the partition.
+     */
+    static void rowsBounds(int from, int to, int preceding, int following, int[] lo, int[] hi) {
+        for (int i = from; i < to; i++) {
+            lo[i] = i - from > preceding ? i - preceding : from;
+            hi[i] = to - 1 - i > following ? i + following : to - 1;
+        }
+    }
+
+    /**
+     * Bounds of the RANGE frame of each row, the frame contains all rows which key is within
+     * {@code [key - preceding, key + following]}. Keys must be sorted in ascending order, so both bounds only move
+     * forward.
+     */
+    static void rangeBounds(double[] keys, int from, int to, double preceding, double following, int[] lo, int[] hi) {
+        int start = from;
+        int end = from;
+        for (int i = from; i < to; i++) {
+            while (keys[start] < keys[i] - preceding)
+                start++;
+            if (end < i)
+                end = i;
+            while (end + 1 < to && keys[end + 1] <= keys[i] + following)
+                end++;
+            lo[i] = start;
+            hi[i] = end;
+        }
+    }
+
+    /**
+     * Computes the function over the frame {@code [lo[i], hi[i]]} of each row, both bounds must not decrease.
+     * Sums are updated with Kahan summation as rows enter and leave the frame, minimum and maximum are maintained
+     * by a monotonic deque of row indexes, so the total work is linear in the number of rows.
+     */
+    static void aggregate(double[] values, int from, int to, int[] lo, int[] hi,
+                          FrameFunction function, double[] result) {
+        switch (function) {
+            case COUNT:
+                for (int i = from; i < to; i++)
+                    result[i] = hi[i] - lo[i] + 1;
+                break;
+            case SUM:
+            case AVG:
+                slidingSum(values, from, to, lo, hi, function == FrameFunction.AVG, result);
+                break;
+            case MIN:
+            case MAX:
+                slidingExtremum(values, from, to, lo, hi, function == FrameFunction.MAX, result);
+                break;
+        }
+    }
+
+    private static void slidingSum(double[] values, int from, int to, int[] lo, int[] hi,
+                                   boolean average, double[] result) {
+        double sum = 0.0;
+        double compensation = 0.0;
+        int start = from;
+        int end = from;
+        for (int i = from; i < to; i++) {
+            for (; end <= hi[i]; end++) {
+                double y = values[end] - compensation;
+                double t = sum + y;
+                compensation = (t - sum) - y;
+                sum = t;
+            }
+            for (; start < lo[i]; start++) {
+                double y = -values[start] - compensation;
+                double t = sum + y;
+                compensation = (t - sum) - y;
+                sum = t;
+            }
+            result[i] = average ? sum / (hi[i] - lo[i] + 1) : sum;
+        }
+    }
+
+    private static void slidingExtremum(double[] values, int from, int to, int[] lo, int[] hi,
+                                        boolean max, double[] result) {
+        int[] deque = new int[to - from];
+        int head = 0;
+        int tail = 0;
+        int end = from;
+        for (int i = from; i < to; i++) {
+            for (; end <= hi[i]; end++) {
+                double value = values[end];
+                while (tail > head && (max ? values[deque[tail - 1]] <= value : values[deque[tail - 1]] >= value))
+                    tail--;
+                deque[tail++] = end;
+            }
+            while (deque[head] < lo[i])
+                head++;
+            result[i] = values[deque[head]];
+        }
+    }
+
+    private <T> double[] rowsFrameFinisher(List<T> list,
+                                           ToDoubleFunction<? super T> mapper,
+                                           Comparator<? super T> comparator,
+                                           int preceding,
+                                           int following,
+                                           FrameFunction function) {
+        CollectorEx.sortList(list, comparator);
+        int size = list.size();
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++)
+            values[i] = mapper.applyAsDouble(list.get(i));
+        int[] lo = new int[size];
+        int[] hi = new int[size];
+        rowsBounds(0, size, preceding, following, lo, hi);
+        double[] result = new double[size];
+        aggregate(values, 0, size, lo, hi, function, result);
+        return result;
+    }
+
+    private <T> double[] rangeFrameFinisher(List<T> list,
+                                            ToDoubleFunction<? super T> mapper,
+                                            ToDoubleFunction<? super T> orderKey,
+                                            Comparator<? super T> comparator,
+                                            double preceding,
+                                            double following,
+                                            FrameFunction function) {
+        CollectorEx.sortList(list, comparator);
+        int size = list.size();
+        double[] values = new double[size];
+        double[] keys = new double[size];
+        for (int i = 0; i < size; i++) {
+            T item = list.get(i);
+            values[i] = mapper.applyAsDouble(item);
+            keys[i] = orderKey.applyAsDouble(item);
+        }
+        int[] lo = new int[size];
+        int[] hi = new int[size];
+        rangeBounds(keys, 0, size, preceding, following, lo, hi);
+        double[] result = new double[size];
+        aggregate(values, 0, size, lo, hi, function, result);
+        return result;
+    }
+
+    <T extends Comparable<? super T>>
+    Collector<T, ?, double[]> rowsFrame(ToDoubleFunction<? super T> mapper,
+                                        int preceding,
+                                        int following,
+                                        FrameFunction function) {
+        return rowsFrame(mapper, nullsLast(Comparator.<T>naturalOrder()), preceding, following, function);
+    }
+
+    <T>
+    Collector<T, List<T>, double[]> rowsFrame(ToDoubleFunction<? super T> mapper,
+                                              Comparator<? super T> comparator,
+                                              int preceding,
+                                              int following,
+                                              FrameFunction function) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        validateInput(mapper, function, preceding, following);
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> rowsFrameFinisher(list, mapper, comparator, preceding, following, function));
+    }
+
+    <T>
+    Collector<T, List<T>, double[]> rangeFrame(ToDoubleFunction<? super T> mapper,
+                                               ToDoubleFunction<? super T> orderKey,
+                                               double preceding,
+                                               double following,
+                                               FrameFunction function) {
+        Objects.requireNonNull(orderKey, "Order key cannot be null");
+        validateInput(mapper, function, preceding, following);
+        Comparator<T> comparator = Comparator.comparingDouble(orderKey);
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> rangeFrameFinisher(list, mapper, orderKey, comparator, preceding, following, function));
+    }
+}
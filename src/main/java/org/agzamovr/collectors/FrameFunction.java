@@ -0,0 +1,16 @@
+package org.agzamovr.collectors;
+
+/**
+ * Aggregate function computed over the frame of each row by frame collectors. {@link #AVG} of a frame is its sum
+ * divided by {@link #COUNT}, frames are never empty because each frame contains the current row.
+ *
+ * @see CollectorEx#rowsFrame(java.util.function.ToDoubleFunction, java.util.Comparator, int, int, FrameFunction)
+ * @see CollectorEx#rangeFrame(java.util.function.ToDoubleFunction, java.util.function.ToDoubleFunction, double, double, FrameFunction)
+ */
+public enum FrameFunction {
+    SUM,
+    MIN,
+    MAX,
+    AVG,
+    COUNT
+}
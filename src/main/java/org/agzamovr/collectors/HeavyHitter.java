@@ -0,0 +1,57 @@
+package org.agzamovr.collectors;
+
+import java.util.Objects;
+
+/**
+ * Frequent item reported by {@link CollectorEx#approximateMode(int, java.util.function.Function)}. The count is
+ * an upper bound of the true frequency of the item and the error is the maximum overestimation, so the true
+ * frequency lies between {@code count - error} and {@code count}.
+ *
+ * @param <D> the type of item
+ */
+public final class HeavyHitter<D> {
+    private final D item;
+    private final long count;
+    private final long error;
+
+    HeavyHitter(D item, long count, long error) {
+        this.item = item;
+        this.count = count;
+        this.error = error;
+    }
+
+    public D getItem() {
+        return item;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getError() {
+        return error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        HeavyHitter<?> that = (HeavyHitter<?>) o;
+
+        return count == that.count && error == that.error && Objects.equals(item, that.item);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = item != null ? item.hashCode() : 0;
+        result = 31 * result + Long.hashCode(count);
+        result = 31 * result + Long.hashCode(error);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return item + "=" + count + "+/-" + error;
+    }
+}
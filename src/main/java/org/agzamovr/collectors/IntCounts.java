@@ -0,0 +1,123 @@
+package org.agzamovr.collectors;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table of int keys with linear probing. Slot is free when its count is zero,
+ * so the table does not need a separate marker for the zero key. The maximum count is tracked during
+ * accumulation.
+ * <p>
+ * Partial state of {@link CollectorEx#modeInt} collector, it is written and read by
+ * {@link BinaryCodecs#modeIntState()}.
+ */
+public final class IntCounts {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private int size;
+    private long max;
+
+    IntCounts() {
+    }
+
+    void add(int key) {
+        add(key, 1L);
+    }
+
+    void add(int key, long count) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (counts[slot] != 0 && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot] = Math.addExact(counts[slot], count);
+        if (counts[slot] > max)
+            max = counts[slot];
+        if (size * 2 > keys.length)
+            resize();
+    }
+
+    IntCounts merge(IntCounts other) {
+        for (int slot = 0; slot < other.keys.length; slot++)
+            if (other.counts[slot] != 0)
+                add(other.keys[slot], other.counts[slot]);
+        return this;
+    }
+
+    /**
+     * Writes number of keys followed by ascending keys, the first key is zigzag encoded and every next key
+     * is encoded as a delta to the previous one, each key is followed by its count.
+     */
+    void writeTo(ByteBuffer buffer) {
+        int[] sorted = new int[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++)
+            if (counts[slot] != 0)
+                sorted[index++] = keys[slot];
+        Arrays.sort(sorted);
+        BinaryCodecs.writeVarLong(buffer, size);
+        for (int i = 0; i < sorted.length; i++) {
+            long delta = i == 0 ? BinaryCodecs.zigzag(sorted[0]) : (long) sorted[i] - sorted[i - 1];
+            BinaryCodecs.writeVarLong(buffer, delta);
+            BinaryCodecs.writeVarLong(buffer, counts[find(sorted[i])]);
+        }
+    }
+
+    static IntCounts readFrom(ByteBuffer buffer) {
+        IntCounts intCounts = new IntCounts();
+        int size = (int) BinaryCodecs.readVarLong(buffer);
+        long key = 0;
+        for (int i = 0; i < size; i++) {
+            long value = BinaryCodecs.readVarLong(buffer);
+            key = i == 0 ? BinaryCodecs.unzigzag(value) : key + value;
+            intCounts.add((int) key, BinaryCodecs.readVarLong(buffer));
+        }
+        return intCounts;
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != key)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    int[] modes() {
+        int[] modes = new int[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++)
+            if (counts[slot] != 0 && counts[slot] == max)
+                modes[index++] = keys[slot];
+        modes = Arrays.copyOf(modes, index);
+        Arrays.sort(modes);
+        return modes;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new long[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] == 0)
+                continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (counts[slot] != 0)
+                slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,176 @@
+package org.agzamovr.collectors;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Rows sorted by a primitive key. Keys are extracted once into a primitive array and sorted together with the
+ * permutation of row indexes by LSD radix sort, passes over bytes which are the same for all keys are skipped.
+ * The radix sort is stable, so rows with equal keys keep the encounter order like in comparator sorts.
+ * Double keys are mapped to long bits which signed order is the order of {@link Double#compare(double, double)}.
+ */
+class KeySortedRows {
+    private static final int RADIX = 256;
+
+    private final Object[] rows;
+    private final int[] intKeys;
+    private final long[] longKeys;
+
+    private KeySortedRows(Object[] rows, int[] intKeys, long[] longKeys) {
+        this.rows = rows;
+        this.intKeys = intKeys;
+        this.longKeys = longKeys;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> KeySortedRows byInt(List<T> list, ToIntFunction<? super T> key) {
+        Object[] rows = list.toArray();
+        int[] keys = new int[rows.length];
+        for (int i = 0; i < rows.length; i++)
+            keys[i] = key.applyAsInt((T) rows[i]);
+        return new KeySortedRows(permute(rows, sort(keys)), keys, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> KeySortedRows byLong(List<T> list, ToLongFunction<? super T> key) {
+        Object[] rows = list.toArray();
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++)
+            keys[i] = key.applyAsLong((T) rows[i]);
+        return new KeySortedRows(permute(rows, sort(keys)), null, keys);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> KeySortedRows byDouble(List<T> list, ToDoubleFunction<? super T> key) {
+        Object[] rows = list.toArray();
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++)
+            keys[i] = sortableBits(key.applyAsDouble((T) rows[i]));
+        return new KeySortedRows(permute(rows, sort(keys)), null, keys);
+    }
+
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    Object[] rows() {
+        return rows;
+    }
+
+    /**
+     * Returns start indexes of the groups of rows with equal keys followed by the number of rows.
+     */
+    int[] groupStarts() {
+        int[] starts = new int[16];
+        int groups = 0;
+        for (int i = 0; i < rows.length; i++) {
+            boolean startNextGroup = i == 0
+                    || (intKeys != null ? intKeys[i] != intKeys[i - 1] : longKeys[i] != longKeys[i - 1]);
+            if (startNextGroup) {
+                if (groups + 1 == starts.length)
+                    starts = Arrays.copyOf(starts, starts.length * 2);
+                starts[groups++] = i;
+            }
+        }
+        starts[groups] = rows.length;
+        return Arrays.copyOf(starts, groups + 1);
+    }
+
+    private static Object[] permute(Object[] rows, int[] order) {
+        Object[] sorted = new Object[rows.length];
+        for (int i = 0; i < order.length; i++)
+            sorted[i] = rows[order[i]];
+        return sorted;
+    }
+
+    private static int[] identity(int size) {
+        int[] index = new int[size];
+        for (int i = 0; i < size; i++)
+            index[i] = i;
+        return index;
+    }
+
+    /**
+     * Sorts keys in place and returns original indexes of sorted keys.
+     */
+    static int[] sort(int[] keys) {
+        int size = keys.length;
+        int[] index = identity(size);
+        int[] src = keys;
+        int[] srcIndex = index;
+        int[] dst = new int[size];
+        int[] dstIndex = new int[size];
+        int[] count = new int[RADIX + 1];
+        for (int shift = 0; shift < Integer.SIZE && size > 1; shift += 8) {
+            Arrays.fill(count, 0);
+            for (int key : src)
+                count[digit(key, shift) + 1]++;
+            if (count[digit(src[0], shift) + 1] == size)
+                continue;
+            for (int d = 0; d < RADIX; d++)
+                count[d + 1] += count[d];
+            for (int i = 0; i < size; i++) {
+                int position = count[digit(src[i], shift)]++;
+                dst[position] = src[i];
+                dstIndex[position] = srcIndex[i];
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+            swap = srcIndex;
+            srcIndex = dstIndex;
+            dstIndex = swap;
+        }
+        if (src != keys)
+            System.arraycopy(src, 0, keys, 0, size);
+        return srcIndex;
+    }
+
+    /**
+     * Sorts keys in place and returns original indexes of sorted keys.
+     */
+    static int[] sort(long[] keys) {
+        int size = keys.length;
+        int[] index = identity(size);
+        long[] src = keys;
+        int[] srcIndex = index;
+        long[] dst = new long[size];
+        int[] dstIndex = new int[size];
+        int[] count = new int[RADIX + 1];
+        for (int shift = 0; shift < Long.SIZE && size > 1; shift += 8) {
+            Arrays.fill(count, 0);
+            for (long key : src)
+                count[digit(key, shift) + 1]++;
+            if (count[digit(src[0], shift) + 1] == size)
+                continue;
+            for (int d = 0; d < RADIX; d++)
+                count[d + 1] += count[d];
+            for (int i = 0; i < size; i++) {
+                int position = count[digit(src[i], shift)]++;
+                dst[position] = src[i];
+                dstIndex[position] = srcIndex[i];
+            }
+            long[] swap = src;
+            src = dst;
+            dst = swap;
+            int[] swapIndex = srcIndex;
+            srcIndex = dstIndex;
+            dstIndex = swapIndex;
+        }
+        if (src != keys)
+            System.arraycopy(src, 0, keys, 0, size);
+        return srcIndex;
+    }
+
+    private static int digit(int key, int shift) {
+        return ((key ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+}
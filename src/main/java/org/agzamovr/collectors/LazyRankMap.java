@@ -0,0 +1,252 @@
+package org.agzamovr.collectors;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Read only {@link SortedMap} of ranks backed by the sorted array of objects and the array of start indexes of
+ * the same ranked groups. The downstream collector is applied to a group only when its value is accessed, the value
+ * is cached, so every group is reduced at most once. Rank of a group is the start index plus one or the group index
+ * plus one for dense ranks, so keys are never stored. Head, tail and sub maps are views sharing the arrays and
+ * the cache, they are created by binary search of group bounds.
+ * <p>
+ * The map is not thread safe.
+ *
+ * @param <T> the type of ranked objects
+ * @param <R> the result type of the downstream collector
+ */
+class LazyRankMap<T, R> extends AbstractMap<Integer, R> implements SortedMap<Integer, R> {
+    private static final Object NOT_COMPUTED = new Object();
+
+    private final Object[] rows;
+    private final int[] starts;
+    private final boolean denseRank;
+    private final Collector<? super T, Object, R> downstream;
+    private final Object[] cache;
+    private final int fromGroup;
+    private final int toGroup;
+
+    /**
+     * @param rows       the sorted objects
+     * @param starts     start indexes of groups followed by the number of objects
+     * @param denseRank  the dense rank flag
+     * @param downstream the reduction operation applied to each group
+     */
+    @SuppressWarnings("unchecked")
+    LazyRankMap(Object[] rows, int[] starts, boolean denseRank, Collector<? super T, ?, R> downstream) {
+        this(rows, starts, denseRank, (Collector<? super T, Object, R>) downstream, newCache(starts.length - 1),
+                0, starts.length - 1);
+    }
+
+    /**
+     * Creates the map of groups already reduced by the downstream collector.
+     *
+     * @param starts    start indexes of groups followed by the number of objects
+     * @param denseRank the dense rank flag
+     * @param values    the reduced groups
+     */
+    LazyRankMap(int[] starts, boolean denseRank, Object[] values) {
+        this(null, starts, denseRank, null, values, 0, starts.length - 1);
+    }
+
+    private LazyRankMap(Object[] rows, int[] starts, boolean denseRank, Collector<? super T, Object, R> downstream,
+                        Object[] cache, int fromGroup, int toGroup) {
+        this.rows = rows;
+        this.starts = starts;
+        this.denseRank = denseRank;
+        this.downstream = downstream;
+        this.cache = cache;
+        this.fromGroup = fromGroup;
+        this.toGroup = toGroup;
+    }
+
+    private static Object[] newCache(int groups) {
+        Object[] cache = new Object[groups];
+        Arrays.fill(cache, NOT_COMPUTED);
+        return cache;
+    }
+
+    private int rankOf(int group) {
+        return denseRank ? group + 1 : starts[group] + 1;
+    }
+
+    /**
+     * Returns index of the first group which rank is not less than given rank.
+     */
+    private int lowerBound(int rank) {
+        int low = 0;
+        int high = starts.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rankOf(mid) < rank)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private int groupOf(Object key) {
+        if (!(key instanceof Integer))
+            return -1;
+        int rank = (Integer) key;
+        int group = lowerBound(rank);
+        return group >= fromGroup && group < toGroup && rankOf(group) == rank ? group : -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R valueOf(int group) {
+        Object value = cache[group];
+        if (value == NOT_COMPUTED) {
+            Object container = downstream.supplier().get();
+            BiConsumer<Object, ? super T> accumulator = downstream.accumulator();
+            for (int i = starts[group]; i < starts[group + 1]; i++)
+                accumulator.accept(container, (T) rows[i]);
+            value = downstream.finisher().apply(container);
+            cache[group] = value;
+        }
+        return (R) value;
+    }
+
+    private LazyRankMap<T, R> slice(int from, int to) {
+        from = Math.max(from, fromGroup);
+        to = Math.max(Math.min(to, toGroup), from);
+        return new LazyRankMap<>(rows, starts, denseRank, downstream, cache, from, to);
+    }
+
+    @Override
+    public Comparator<? super Integer> comparator() {
+        return null;
+    }
+
+    @Override
+    public SortedMap<Integer, R> subMap(Integer fromKey, Integer toKey) {
+        if (fromKey > toKey)
+            throw new IllegalArgumentException("fromKey > toKey: " + fromKey + " > " + toKey);
+        return slice(lowerBound(fromKey), lowerBound(toKey));
+    }
+
+    @Override
+    public SortedMap<Integer, R> headMap(Integer toKey) {
+        return slice(fromGroup, lowerBound(toKey));
+    }
+
+    @Override
+    public SortedMap<Integer, R> tailMap(Integer fromKey) {
+        return slice(lowerBound(fromKey), toGroup);
+    }
+
+    @Override
+    public Integer firstKey() {
+        if (fromGroup == toGroup)
+            throw new NoSuchElementException();
+        return rankOf(fromGroup);
+    }
+
+    @Override
+    public Integer lastKey() {
+        if (fromGroup == toGroup)
+            throw new NoSuchElementException();
+        return rankOf(toGroup - 1);
+    }
+
+    @Override
+    public int size() {
+        return toGroup - fromGroup;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return groupOf(key) >= 0;
+    }
+
+    @Override
+    public R get(Object key) {
+        int group = groupOf(key);
+        return group >= 0 ? valueOf(group) : null;
+    }
+
+    @Override
+    public Set<Integer> keySet() {
+        return new AbstractSet<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new GroupIterator<Integer>() {
+                    @Override
+                    Integer element(int group) {
+                        return rankOf(group);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LazyRankMap.this.size();
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return containsKey(key);
+            }
+        };
+    }
+
+    @Override
+    public Collection<R> values() {
+        return new AbstractCollection<R>() {
+            @Override
+            public Iterator<R> iterator() {
+                return new GroupIterator<R>() {
+                    @Override
+                    R element(int group) {
+                        return valueOf(group);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LazyRankMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<Integer, R>> entrySet() {
+        return new AbstractSet<Entry<Integer, R>>() {
+            @Override
+            public Iterator<Entry<Integer, R>> iterator() {
+                return new GroupIterator<Entry<Integer, R>>() {
+                    @Override
+                    Entry<Integer, R> element(int group) {
+                        return new SimpleImmutableEntry<>(rankOf(group), valueOf(group));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LazyRankMap.this.size();
+            }
+        };
+    }
+
+    private abstract class GroupIterator<E> implements Iterator<E> {
+        private int group = fromGroup;
+
+        abstract E element(int group);
+
+        @Override
+        public boolean hasNext() {
+            return group < toGroup;
+        }
+
+        @Override
+        public E next() {
+            if (group >= toGroup)
+                throw new NoSuchElementException();
+            return element(group++);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.agzamovr.collectors;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table of long keys with linear probing.
+ *
+ * @see IntCounts
+ * <p>
+ * Partial state of {@link CollectorEx#modeLong} collector, it is written and read by
+ * {@link BinaryCodecs#modeLongState()}.
+ */
+public final class LongCounts {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private int size;
+    private long max;
+
+    LongCounts() {
+    }
+
+    void add(long key) {
+        add(key, 1L);
+    }
+
+    void add(long key, long count) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (counts[slot] != 0 && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot] = Math.addExact(counts[slot], count);
+        if (counts[slot] > max)
+            max = counts[slot];
+        if (size * 2 > keys.length)
+            resize();
+    }
+
+    LongCounts merge(LongCounts other) {
+        for (int slot = 0; slot < other.keys.length; slot++)
+            if (other.counts[slot] != 0)
+                add(other.keys[slot], other.counts[slot]);
+        return this;
+    }
+
+    /**
+     * Writes keys and counts in the same format as {@link IntCounts#writeTo(ByteBuffer)}. Deltas of long keys
+     * are written as unsigned values.
+     */
+    void writeTo(ByteBuffer buffer) {
+        long[] sorted = new long[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++)
+            if (counts[slot] != 0)
+                sorted[index++] = keys[slot];
+        Arrays.sort(sorted);
+        BinaryCodecs.writeVarLong(buffer, size);
+        for (int i = 0; i < sorted.length; i++) {
+            BinaryCodecs.writeVarLong(buffer, i == 0 ? BinaryCodecs.zigzag(sorted[0]) : sorted[i] - sorted[i - 1]);
+            BinaryCodecs.writeVarLong(buffer, counts[find(sorted[i])]);
+        }
+    }
+
+    static LongCounts readFrom(ByteBuffer buffer) {
+        LongCounts longCounts = new LongCounts();
+        int size = (int) BinaryCodecs.readVarLong(buffer);
+        long key = 0;
+        for (int i = 0; i < size; i++) {
+            long value = BinaryCodecs.readVarLong(buffer);
+            key = i == 0 ? BinaryCodecs.unzigzag(value) : key + value;
+            longCounts.add(key, BinaryCodecs.readVarLong(buffer));
+        }
+        return longCounts;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != key)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    long[] modes() {
+        long[] modes = new long[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++)
+            if (counts[slot] != 0 && counts[slot] == max)
+                modes[index++] = keys[slot];
+        modes = Arrays.copyOf(modes, index);
+        Arrays.sort(modes);
+        return modes;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] == 0)
+                continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (counts[slot] != 0)
+                slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -12,47 +12,35 @@ class ModeCollector {
     static final ModeCollector MODE_COLLECTOR = new ModeCollector();
 
     <D, R>
-    R modeFinisher(Map<D, Long> map,
+    R modeFinisher(ModeCounts<D> modeCounts,
                    Collector<? super D, ?, R> downstream) {
-        Long max = Collections.max(map.values());
-        return map.entrySet().stream()
-                .filter(e -> Objects.equals(e.getValue(), max))
+        long max = modeCounts.max();
+        return modeCounts.counts().entrySet().stream()
+                .filter(e -> e.getValue()[0] == max)
                 .collect(mapping(Entry::getKey, downstream));
     }
 
-    <T, D>
-    void accumulator(Map<D, Long> map, T item, Function<? super T, D> mapper) {
-        D result = mapper.apply(item);
-        map.merge(result, 1L, Math::addExact);
-    }
-
-    <D>
-    Map<D, Long> combiner(Map<D, Long> left, Map<D, Long> right) {
-        right.forEach((item, count) -> left.merge(item, count, Math::addExact));
-        return left;
-    }
-
     <T>
-    Collector<T, ?, Set<T>> mode() {
+    Collector<T, ModeCounts<T>, Set<T>> mode() {
         return mode(Function.identity());
     }
 
     <T, D>
-    Collector<T, ?, Set<D>> mode(Function<? super T, D> mapper) {
+    Collector<T, ModeCounts<D>, Set<D>> mode(Function<? super T, D> mapper) {
         return mode(mapper, toSet());
     }
 
     <T, R>
-    Collector<T, ?, R> mode(Collector<? super T, ?, R> downstream) {
+    Collector<T, ModeCounts<T>, R> mode(Collector<? super T, ?, R> downstream) {
         return mode(Function.identity(), downstream);
     }
 
     <T, D, R>
-    Collector<T, Map<D, Long>, R> mode(Function<? super T, D> mapper,
-                                       Collector<? super D, ?, R> downstream) {
-        return Collector.of(HashMap::new,
-                (map, item) -> accumulator(map, item, mapper),
-                this::combiner,
-                (list) -> modeFinisher(list, downstream));
+    Collector<T, ModeCounts<D>, R> mode(Function<? super T, D> mapper,
+                                        Collector<? super D, ?, R> downstream) {
+        return Collector.of(ModeCounts::new,
+                (modeCounts, item) -> modeCounts.add(mapper.apply(item)),
+                ModeCounts::merge,
+                (modeCounts) -> modeFinisher(modeCounts, downstream));
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package org.agzamovr.collectors;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts occurrences of objects. Each object has a mutable counter, so only the first occurrence of an object
+ * allocates. The maximum count is tracked during accumulation.
+ * <p>
+ * Partial state of {@link CollectorEx#mode} collectors, it is written and read by
+ * {@link BinaryCodecs#modeState(BinaryCodec)}.
+ *
+ * @param <D> the type of counted objects
+ */
+public final class ModeCounts<D> {
+    private final Map<D, long[]> counts = new HashMap<>();
+    private long max;
+
+    ModeCounts() {
+    }
+
+    void add(D item) {
+        add(item, 1L);
+    }
+
+    void add(D item, long count) {
+        long[] counter = counts.computeIfAbsent(item, k -> new long[1]);
+        counter[0] = Math.addExact(counter[0], count);
+        if (counter[0] > max)
+            max = counter[0];
+    }
+
+    ModeCounts<D> merge(ModeCounts<D> other) {
+        other.counts.forEach((item, counter) -> add(item, counter[0]));
+        return this;
+    }
+
+    long max() {
+        return max;
+    }
+
+    Map<D, long[]> counts() {
+        return counts;
+    }
+}
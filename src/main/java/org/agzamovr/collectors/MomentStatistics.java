@@ -0,0 +1,154 @@
+package org.agzamovr.collectors;
+
+/**
+ * Count, sum, minimum, maximum and central moments of values collected by
+ * {@link CollectorEx#statisticsDouble(java.util.function.ToDoubleFunction)}. Moments are updated by Welford's online
+ * algorithm extended to the third and fourth moments, statistics of parallel streams are merged by the pairwise
+ * formulas of Chan et al., so values are never buffered. The sum is Kahan compensated.
+ * <p>
+ * Mean, variance and standard deviation of an empty stream are NaN, skewness and kurtosis are NaN when all values are
+ * equal. Minimum and maximum of an empty stream are positive and negative infinity.
+ */
+public final class MomentStatistics {
+    private long count;
+    private double sum;
+    private double compensation;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double mean;
+    private double m2;
+    private double m3;
+    private double m4;
+
+    MomentStatistics() {
+    }
+
+    void accept(double value) {
+        long previousCount = count++;
+        double n = count;
+        double delta = value - mean;
+        double deltaN = delta / n;
+        double deltaN2 = deltaN * deltaN;
+        double term = delta * deltaN * previousCount;
+        mean += deltaN;
+        m4 += term * deltaN2 * (n * n - 3 * n + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+        m3 += term * deltaN * (n - 2) - 3 * deltaN * m2;
+        m2 += term;
+        addToSum(value);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    MomentStatistics combine(MomentStatistics other) {
+        if (other.count == 0)
+            return this;
+        if (count == 0) {
+            copy(other);
+            return this;
+        }
+        double na = count;
+        double nb = other.count;
+        double n = na + nb;
+        double delta = other.mean - mean;
+        double delta2 = delta * delta;
+        double m2a = m2;
+        double m3a = m3;
+        m4 += other.m4
+                + delta2 * delta2 * na * nb * (na * na - na * nb + nb * nb) / (n * n * n)
+                + 6 * delta2 * (na * na * other.m2 + nb * nb * m2a) / (n * n)
+                + 4 * delta * (na * other.m3 - nb * m3a) / n;
+        m3 += other.m3
+                + delta2 * delta * na * nb * (na - nb) / (n * n)
+                + 3 * delta * (na * other.m2 - nb * m2a) / n;
+        m2 += other.m2 + delta2 * na * nb / n;
+        mean += delta * nb / n;
+        count += other.count;
+        addToSum(other.sum);
+        addToSum(-other.compensation);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    private void copy(MomentStatistics other) {
+        count = other.count;
+        sum = other.sum;
+        compensation = other.compensation;
+        min = other.min;
+        max = other.max;
+        mean = other.mean;
+        m2 = other.m2;
+        m3 = other.m3;
+        m4 = other.m4;
+    }
+
+    private void addToSum(double value) {
+        double y = value - compensation;
+        double t = sum + y;
+        compensation = (t - sum) - y;
+        sum = t;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * @return the population variance, the second central moment divided by the count
+     */
+    public double getVariance() {
+        return count > 0 ? m2 / count : Double.NaN;
+    }
+
+    /**
+     * @return the unbiased sample variance, the second central moment divided by the count minus one
+     */
+    public double getSampleVariance() {
+        return count > 1 ? m2 / (count - 1) : Double.NaN;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getSampleStandardDeviation() {
+        return Math.sqrt(getSampleVariance());
+    }
+
+    /**
+     * @return the population skewness
+     */
+    public double getSkewness() {
+        return count > 0 && m2 > 0 ? Math.sqrt((double) count) * m3 / Math.pow(m2, 1.5) : Double.NaN;
+    }
+
+    /**
+     * @return the population excess kurtosis, which is zero for the normal distribution
+     */
+    public double getKurtosis() {
+        return count > 0 && m2 > 0 ? count * m4 / (m2 * m2) - 3 : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return "MomentStatistics{count=" + count + ", sum=" + getSum() + ", min=" + min + ", max=" + max
+                + ", mean=" + getMean() + ", variance=" + getVariance() + ", skewness=" + getSkewness()
+                + ", kurtosis=" + getKurtosis() + "}";
+    }
+}
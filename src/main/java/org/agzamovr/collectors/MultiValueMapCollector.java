@@ -1,10 +1,10 @@
 package org.agzamovr.collectors;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collector;
@@ -33,23 +33,61 @@ class MultiValueMapCollector {
     }
 
     <T, V>
-    Collector<Map<T, V>, ?, Map<T, List<V>>> mapStreamToMultiValueMap() {
-        return Collector.of(HashMap::new,
+    Map<T, List<V>> copy(Map<T, List<V>> map) {
+        Map<T, List<V>> copy = new HashMap<>();
+        map.forEach((key, value) -> copy.put(key, new ArrayList<>(value)));
+        return copy;
+    }
+
+    <K, V, R>
+    ConcurrentMap<K, R> concurrentMultiValueMapFinisher(ConcurrentHashMap<K, Collection<V>> map,
+                                                        Collector<? super V, ?, R> downstream) {
+        ConcurrentMap<K, R> resultMap = new ConcurrentHashMap<>(map.size());
+        map.forEach(1, (key, value) -> resultMap.put(key, value.stream().collect(downstream)));
+        return resultMap;
+    }
+
+    <K, V>
+    void concurrentAccumulator(ConcurrentMap<K, Collection<V>> map, K key, V value) {
+        Objects.requireNonNull(key, "Concurrent multi value map does not support null keys");
+        Objects.requireNonNull(value, "Concurrent multi value map does not support null values");
+        map.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(value);
+    }
+
+    <K, V, M extends ConcurrentMap<K, Collection<V>>>
+    M concurrentCombiner(M left, M right) {
+        right.forEach((key, value) -> left.merge(key, value, (leftValue, rightValue) -> {
+            leftValue.addAll(rightValue);
+            return leftValue;
+        }));
+        return left;
+    }
+
+    <K, V>
+    ConcurrentHashMap<K, Collection<V>> concurrentCopy(ConcurrentMap<K, Collection<V>> map) {
+        ConcurrentHashMap<K, Collection<V>> copy = new ConcurrentHashMap<>(map.size());
+        map.forEach((key, value) -> copy.put(key, new ConcurrentLinkedQueue<>(value)));
+        return copy;
+    }
+
+    <T, V>
+    Collector<Map<T, V>, Map<T, List<V>>, Map<T, List<V>>> mapStreamToMultiValueMap() {
+        return CopyingCollector.of(Collector.of(HashMap::new,
                 this::accumulator,
                 this::combiner,
-                Characteristics.IDENTITY_FINISH);
+                Characteristics.IDENTITY_FINISH), this::copy);
     }
 
     <T, V, R>
     Collector<Map<T, V>, Map<T, List<V>>, Map<T, R>> mapStreamToMultiValueMap(Collector<? super V, ?, R> downstream) {
-        return Collector.of(HashMap::new,
+        return CopyingCollector.of(Collector.of(HashMap::new,
                 this::accumulator,
                 this::combiner,
-                (map) -> multiValueMapFinisher(map, downstream));
+                (map) -> multiValueMapFinisher(map, downstream)), this::copy);
     }
 
     <T, V>
-    Collector<Entry<T, V>, ?, Map<T, List<V>>> entryStreamToMultiValueMap() {
+    Collector<Entry<T, V>, Map<T, List<V>>, Map<T, List<V>>> entryStreamToMultiValueMap() {
         return toMultiValueMap(Entry::getKey, Entry::getValue);
     }
 
@@ -68,10 +106,10 @@ class MultiValueMapCollector {
             List<V> list = map.computeIfAbsent(key, k -> new ArrayList<>());
             list.add(value);
         };
-        return Collector.of(HashMap::new,
+        return CopyingCollector.of(Collector.of(HashMap::new,
                 accumulator,
                 this::combiner,
-                Characteristics.IDENTITY_FINISH);
+                Characteristics.IDENTITY_FINISH), this::copy);
     }
 
     <T, K, V, R>
@@ -85,9 +123,80 @@ class MultiValueMapCollector {
             List<V> list = map.computeIfAbsent(key, k -> new ArrayList<>());
             list.add(value);
         };
-        return Collector.of(HashMap::new,
+        return CopyingCollector.of(Collector.of(HashMap::new,
                 accumulator,
                 this::combiner,
-                (map) -> multiValueMapFinisher(map, downstream));
+                (map) -> multiValueMapFinisher(map, downstream)), this::copy);
+    }
+
+    <T, K, V>
+    Collector<T, ?, ConcurrentMap<K, Collection<V>>> toConcurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                               Function<? super T, ? extends V> valueMapper) {
+        return concurrentMultiValueMap(keyMapper, valueMapper, false);
+    }
+
+    <T, K, V>
+    Collector<T, ?, ConcurrentMap<K, Collection<V>>> toOrderedConcurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                                      Function<? super T, ? extends V> valueMapper) {
+        return concurrentMultiValueMap(keyMapper, valueMapper, true);
+    }
+
+    private <T, K, V>
+    Collector<T, ?, ConcurrentMap<K, Collection<V>>> concurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                             Function<? super T, ? extends V> valueMapper,
+                                                                             boolean preserveOrder) {
+        BiConsumer<ConcurrentMap<K, Collection<V>>, T> accumulator
+                = (map, element) -> concurrentAccumulator(map, keyMapper.apply(element), valueMapper.apply(element));
+        Collector<T, ConcurrentMap<K, Collection<V>>, ConcurrentMap<K, Collection<V>>> collector = preserveOrder
+                ? Collector.of(ConcurrentHashMap::new,
+                accumulator,
+                this::concurrentCombiner,
+                Characteristics.IDENTITY_FINISH,
+                Characteristics.CONCURRENT)
+                : Collector.of(ConcurrentHashMap::new,
+                accumulator,
+                this::concurrentCombiner,
+                Characteristics.IDENTITY_FINISH,
+                Characteristics.CONCURRENT,
+                Characteristics.UNORDERED);
+        return CopyingCollector.of(collector, this::concurrentCopy);
+    }
+
+    <T, K, V, R>
+    Collector<T, ?, ConcurrentMap<K, R>> toConcurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                   Function<? super T, ? extends V> valueMapper,
+                                                                   Collector<? super V, ?, R> downstream) {
+        return concurrentMultiValueMap(keyMapper, valueMapper, false, downstream);
+    }
+
+    <T, K, V, R>
+    Collector<T, ?, ConcurrentMap<K, R>> toOrderedConcurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                          Function<? super T, ? extends V> valueMapper,
+                                                                          Collector<? super V, ?, R> downstream) {
+        return concurrentMultiValueMap(keyMapper, valueMapper, true, downstream);
+    }
+
+    private <T, K, V, R>
+    Collector<T, ?, ConcurrentMap<K, R>> concurrentMultiValueMap(Function<? super T, ? extends K> keyMapper,
+                                                                 Function<? super T, ? extends V> valueMapper,
+                                                                 boolean preserveOrder,
+                                                                 Collector<? super V, ?, R> downstream) {
+        BiConsumer<ConcurrentHashMap<K, Collection<V>>, T> accumulator
+                = (map, element) -> concurrentAccumulator(map, keyMapper.apply(element), valueMapper.apply(element));
+        Function<ConcurrentHashMap<K, Collection<V>>, ConcurrentMap<K, R>> finisher
+                = (map) -> concurrentMultiValueMapFinisher(map, downstream);
+        Collector<T, ConcurrentHashMap<K, Collection<V>>, ConcurrentMap<K, R>> collector = preserveOrder
+                ? Collector.of(ConcurrentHashMap::new,
+                accumulator,
+                this::concurrentCombiner,
+                finisher,
+                Characteristics.CONCURRENT)
+                : Collector.of(ConcurrentHashMap::new,
+                accumulator,
+                this::concurrentCombiner,
+                finisher,
+                Characteristics.CONCURRENT,
+                Characteristics.UNORDERED);
+        return CopyingCollector.of(collector, this::concurrentCopy);
     }
-}
+}
\ No newline at end of file
@@ -1,12 +1,19 @@
 package org.agzamovr.collectors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
+import java.util.stream.IntStream;
 
 import static java.util.Comparator.nullsLast;
 import static java.util.stream.Collectors.toList;
@@ -14,50 +21,119 @@ import static java.util.stream.Collectors.toList;
 class NTileCollector {
     static final NTileCollector N_TILE_COLLECTOR = new NTileCollector();
 
+    /**
+     * Distributes elements passed in sorted order into buckets of equal size, the size of buckets is computed from the
+     * total number of elements known in advance.
+     */
+    static class TileAssigner<T, A, R> implements Consumer<T> {
+        private final long bucketSize;
+        private final Supplier<A> downstreamSupplier;
+        private final BiConsumer<A, ? super T> downstreamAccumulator;
+        private final Function<A, R> downstreamFinisher;
+        private final List<R> result = new ArrayList<>();
+        private long position;
+        private A container;
+
+        TileAssigner(long size, int tiles, Collector<? super T, A, R> downstream) {
+            this.bucketSize = computeBucketSize(size, tiles);
+            this.downstreamSupplier = downstream.supplier();
+            this.downstreamAccumulator = downstream.accumulator();
+            this.downstreamFinisher = downstream.finisher();
+        }
+
+        @Override
+        public void accept(T item) {
+            if (position++ % bucketSize == 0) {
+                if (container != null)
+                    result.add(downstreamFinisher.apply(container));
+                container = downstreamSupplier.get();
+            }
+            downstreamAccumulator.accept(container, item);
+        }
+
+        List<R> finish() {
+            if (container != null)
+                result.add(downstreamFinisher.apply(container));
+            return result;
+        }
+    }
+
     <T, A, R>
     List<R> ntileFinisher(List<T> list,
                           int tiles,
                           Comparator<? super T> comparator,
                           Collector<? super T, A, R> downstream) {
-        list.sort(comparator);
-        int bucketSize = computeBucketSize(list.size(), tiles);
-        List<R> result = new ArrayList<>();
-        Supplier<A> downstreamSupplier = downstream.supplier();
-        Function<A, R> downstreamFinisher = downstream.finisher();
-        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
-        A container = null;
-        for (int i = 0; i < list.size(); i++) {
-            if (i % bucketSize == 0) {
-                if (container != null)
-                    result.add(downstreamFinisher.apply(container));
-                container = downstreamSupplier.get();
-            }
-            downstreamAccumulator.accept(container, list.get(i));
+        CollectorEx.sortList(list, comparator);
+        return ntileSorted(list, tiles, downstream);
+    }
+
+    private <T, A, R>
+    List<R> ntileSorted(List<T> list,
+                        int tiles,
+                        Collector<? super T, A, R> downstream) {
+        if (list.size() >= CollectorEx.PARALLEL_SORT_THRESHOLD)
+            return parallelNtileFinisher(list, tiles, downstream);
+        TileAssigner<T, A, R> assigner = new TileAssigner<>(list.size(), tiles, downstream);
+        list.forEach(assigner);
+        return assigner.finish();
+    }
+
+    /**
+     * Reduces every bucket of the sorted list by the downstream collector in parallel.
+     */
+    private <T, A, R>
+    List<R> parallelNtileFinisher(List<T> list,
+                                  int tiles,
+                                  Collector<? super T, A, R> downstream) {
+        int size = list.size();
+        int bucketSize = (int) computeBucketSize(size, tiles);
+        int buckets = (size + bucketSize - 1) / bucketSize;
+        Object[] results = new Object[buckets];
+        IntStream.range(0, buckets)
+                .parallel()
+                .forEach(bucket -> results[bucket] = RankingCollector.collect(list, bucket * bucketSize,
+                        (int) Math.min(size, (long) (bucket + 1) * bucketSize), downstream));
+        List<R> result = new ArrayList<>(buckets);
+        for (Object bucketResult : results) {
+            @SuppressWarnings("unchecked")
+            R r = (R) bucketResult;
+            result.add(r);
         }
-        if (container != null)
-            result.add(downstreamFinisher.apply(container));
         return result;
     }
 
-    private int computeBucketSize(int size, int tiles) {
-        int r = (size % tiles == 0) ? 0 : 1;
+    <T, A, R>
+    List<R> externalNtileFinisher(ExternalSorter<T> sorter,
+                                  int tiles,
+                                  Collector<? super T, A, R> downstream) {
+        try {
+            TileAssigner<T, A, R> assigner = new TileAssigner<>(sorter.size(), tiles, downstream);
+            sorter.forEachSorted(assigner);
+            return assigner.finish();
+        } finally {
+            sorter.clear();
+        }
+    }
+
+    private static long computeBucketSize(long size, int tiles) {
+        long r = (size % tiles == 0) ? 0 : 1;
         return size / tiles + r;
     }
 
     <T extends Comparable<? super T>>
-    Collector<T, ?, List<List<T>>> ntile(int tiles) {
+    Collector<T, List<T>, List<List<T>>> ntile(int tiles) {
         return ntile(tiles, nullsLast(Comparator.<T>naturalOrder()), toList());
     }
 
     <T>
-    Collector<T, ?, List<List<T>>> ntile(int tiles,
-                                         Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<List<T>>> ntile(int tiles,
+                                               Comparator<? super T> comparator) {
         return ntile(tiles, comparator, toList());
     }
 
     <T extends Comparable<? super T>, R>
-    Collector<T, ?, List<R>> ntile(int tiles,
-                                   Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, List<R>> ntile(int tiles,
+                                         Collector<? super T, ?, R> downstream) {
         return ntile(tiles, nullsLast(Comparator.<T>naturalOrder()), downstream);
     }
 
@@ -65,9 +141,85 @@ class NTileCollector {
     Collector<T, List<T>, List<R>> ntile(int tiles,
                                          Comparator<? super T> comparator,
                                          Collector<? super T, ?, R> downstream) {
-        return Collector.of(ArrayList::new,
+        return Collector.of(() -> new SortedRunList<T>(comparator),
                 List::add,
-                CollectorEx::listCombiner,
+                SortedRunList.combiner(comparator),
                 (list) -> ntileFinisher(list, tiles, comparator, downstream));
     }
+
+    <T, R>
+    Collector<T, ?, List<R>> externalNtile(int tiles,
+                                           Comparator<? super T> comparator,
+                                           BinaryCodec<T> codec,
+                                           int maxElementsInMemory,
+                                           Collector<? super T, ?, R> downstream) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        RankingCollector.validateExternalInput(codec, maxElementsInMemory);
+        Collector<T, ExternalSorter<T>, List<R>> collector
+                = Collector.of(() -> new ExternalSorter<>(comparator, codec, maxElementsInMemory),
+                ExternalSorter::add,
+                ExternalSorter::merge,
+                (sorter) -> externalNtileFinisher(sorter, tiles, downstream));
+        return CopyingCollector.of(collector, ExternalSorter::copy, ExternalSorter::clear);
+    }
+
+    <T>
+    Collector<T, List<T>, List<List<T>>> ntileByInt(int tiles,
+                                                    ToIntFunction<? super T> key) {
+        return ntileByInt(tiles, key, toList());
+    }
+
+    <T, R>
+    Collector<T, List<T>, List<R>> ntileByInt(int tiles,
+                                              ToIntFunction<? super T> key,
+                                              Collector<? super T, ?, R> downstream) {
+        Objects.requireNonNull(key, "Key mapper cannot be null");
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> ntileByKeyFinisher(KeySortedRows.byInt(list, key), tiles, downstream));
+    }
+
+    <T>
+    Collector<T, List<T>, List<List<T>>> ntileByLong(int tiles,
+                                                     ToLongFunction<? super T> key) {
+        return ntileByLong(tiles, key, toList());
+    }
+
+    <T, R>
+    Collector<T, List<T>, List<R>> ntileByLong(int tiles,
+                                               ToLongFunction<? super T> key,
+                                               Collector<? super T, ?, R> downstream) {
+        Objects.requireNonNull(key, "Key mapper cannot be null");
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> ntileByKeyFinisher(KeySortedRows.byLong(list, key), tiles, downstream));
+    }
+
+    <T>
+    Collector<T, List<T>, List<List<T>>> ntileByDouble(int tiles,
+                                                       ToDoubleFunction<? super T> key) {
+        return ntileByDouble(tiles, key, toList());
+    }
+
+    <T, R>
+    Collector<T, List<T>, List<R>> ntileByDouble(int tiles,
+                                                 ToDoubleFunction<? super T> key,
+                                                 Collector<? super T, ?, R> downstream) {
+        Objects.requireNonNull(key, "Key mapper cannot be null");
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> ntileByKeyFinisher(KeySortedRows.byDouble(list, key), tiles, downstream));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, R>
+    List<R> ntileByKeyFinisher(KeySortedRows sorted,
+                               int tiles,
+                               Collector<? super T, ?, R> downstream) {
+        return ntileSorted(Arrays.asList((T[]) sorted.rows()), tiles, downstream);
+    }
 }
@@ -0,0 +1,203 @@
+package org.agzamovr.collectors;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+import static java.util.Comparator.nullsLast;
+
+class ParallelSummingCollector {
+    static final ParallelSummingCollector PARALLEL_SUMMING_COLLECTOR = new ParallelSummingCollector();
+
+    private static final int MIN_CHUNK_SIZE = 1 << 13;
+
+    private void validateInput(Object mapper, Comparator<?> comparator) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T[] parallelSort(List<T> list, Comparator<? super T> comparator) {
+        if (list instanceof SortedRunList) {
+            list.sort(comparator);
+            return (T[]) list.toArray();
+        }
+        T[] array = (T[]) list.toArray();
+        Arrays.parallelSort(array, comparator);
+        return array;
+    }
+
+    private int chunks(int size) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism() * 4;
+        return Math.max(1, Math.min(size / MIN_CHUNK_SIZE, parallelism));
+    }
+
+    private int chunkStart(int chunk, int chunks, int size) {
+        return (int) ((long) size * chunk / chunks);
+    }
+
+    <T> int[] parallelSummingIntFinisher(ToIntFunction<? super T> mapper,
+                                         Comparator<? super T> comparator,
+                                         List<T> list) {
+        validateInput(mapper, comparator);
+        T[] array = parallelSort(list, comparator);
+        int[] sums = new int[array.length];
+        Arrays.parallelSetAll(sums, i -> mapper.applyAsInt(array[i]));
+        Arrays.parallelPrefix(sums, Integer::sum);
+        return sums;
+    }
+
+    <T> long[] parallelSummingLongFinisher(ToLongFunction<? super T> mapper,
+                                           Comparator<? super T> comparator,
+                                           List<T> list) {
+        validateInput(mapper, comparator);
+        T[] array = parallelSort(list, comparator);
+        long[] sums = new long[array.length];
+        Arrays.parallelSetAll(sums, i -> mapper.applyAsLong(array[i]));
+        Arrays.parallelPrefix(sums, Long::sum);
+        return sums;
+    }
+
+    /**
+     * Computes Kahan compensated cumulative sums in three passes. First pass computes compensated sum of each chunk
+     * in parallel, second pass sequentially accumulates chunk sums into the starting sum and compensation of each
+     * chunk, third pass continues Kahan summation within each chunk in parallel from its starting state.
+     */
+    <T> double[] parallelSummingDoubleFinisher(ToDoubleFunction<? super T> mapper,
+                                               Comparator<? super T> comparator,
+                                               List<T> list) {
+        validateInput(mapper, comparator);
+        T[] array = parallelSort(list, comparator);
+        int size = array.length;
+        double[] values = new double[size];
+        Arrays.parallelSetAll(values, i -> mapper.applyAsDouble(array[i]));
+        int chunks = chunks(size);
+        double[] chunkSums = new double[chunks];
+        double[] chunkCompensations = new double[chunks];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            double[] state = new double[2];
+            for (int i = chunkStart(chunk, chunks, size); i < chunkStart(chunk + 1, chunks, size); i++)
+                kahanAdd(state, values[i]);
+            chunkSums[chunk] = state[0];
+            chunkCompensations[chunk] = state[1];
+        });
+        double[] startSums = new double[chunks];
+        double[] startCompensations = new double[chunks];
+        double[] carry = new double[2];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            startSums[chunk] = carry[0];
+            startCompensations[chunk] = carry[1];
+            kahanAdd(carry, chunkSums[chunk]);
+            kahanAdd(carry, -chunkCompensations[chunk]);
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            double[] state = {startSums[chunk], startCompensations[chunk]};
+            for (int i = chunkStart(chunk, chunks, size); i < chunkStart(chunk + 1, chunks, size); i++) {
+                kahanAdd(state, values[i]);
+                values[i] = state[0];
+            }
+        });
+        return values;
+    }
+
+    private void kahanAdd(double[] state, double value) {
+        double y = value - state[1];
+        double t = state[0] + y;
+        state[1] = (t - state[0]) - y;
+        state[0] = t;
+    }
+
+    <T> List<BigDecimal> parallelSummingBigDecimalFinisher(Function<? super T, BigDecimal> mapper,
+                                                           Comparator<? super T> comparator,
+                                                           List<T> list) {
+        validateInput(mapper, comparator);
+        T[] array = parallelSort(list, comparator);
+        int size = array.length;
+        BigDecimal[] sums = new BigDecimal[size];
+        Arrays.parallelSetAll(sums, i -> mapper.apply(array[i]));
+        int chunks = chunks(size);
+        BigDecimal[] chunkSums = new BigDecimal[chunks];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int i = chunkStart(chunk, chunks, size); i < chunkStart(chunk + 1, chunks, size); i++)
+                sum = sum.add(sums[i]);
+            chunkSums[chunk] = sum;
+        });
+        BigDecimal[] startSums = new BigDecimal[chunks];
+        BigDecimal carry = BigDecimal.ZERO;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            startSums[chunk] = carry;
+            carry = carry.add(chunkSums[chunk]);
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            BigDecimal sum = startSums[chunk];
+            for (int i = chunkStart(chunk, chunks, size); i < chunkStart(chunk + 1, chunks, size); i++) {
+                sum = sum.add(sums[i]);
+                sums[i] = sum;
+            }
+        });
+        return Arrays.asList(sums);
+    }
+
+    <T extends Comparable<? super T>>
+    Collector<T, List<T>, int[]> parallelSummingInt(ToIntFunction<? super T> mapper) {
+        return parallelSummingInt(mapper, nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, List<T>, int[]> parallelSummingInt(ToIntFunction<? super T> mapper,
+                                                    Comparator<? super T> comparator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> parallelSummingIntFinisher(mapper, comparator, list));
+    }
+
+    <T extends Comparable<? super T>>
+    Collector<T, List<T>, long[]> parallelSummingLong(ToLongFunction<? super T> mapper) {
+        return parallelSummingLong(mapper, nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, List<T>, long[]> parallelSummingLong(ToLongFunction<? super T> mapper,
+                                                      Comparator<? super T> comparator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> parallelSummingLongFinisher(mapper, comparator, list));
+    }
+
+    <T extends Comparable<? super T>>
+    Collector<T, List<T>, double[]> parallelSummingDouble(ToDoubleFunction<? super T> mapper) {
+        return parallelSummingDouble(mapper, nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, List<T>, double[]> parallelSummingDouble(ToDoubleFunction<? super T> mapper,
+                                                          Comparator<? super T> comparator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> parallelSummingDoubleFinisher(mapper, comparator, list));
+    }
+
+    <T extends Comparable<? super T>>
+    Collector<T, List<T>, List<BigDecimal>> parallelSummingBigDecimal(Function<? super T, BigDecimal> mapper) {
+        return parallelSummingBigDecimal(mapper, nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, List<T>, List<BigDecimal>> parallelSummingBigDecimal(Function<? super T, BigDecimal> mapper,
+                                                                      Comparator<? super T> comparator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> parallelSummingBigDecimalFinisher(mapper, comparator, list));
+    }
+}
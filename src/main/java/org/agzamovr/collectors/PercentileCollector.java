@@ -0,0 +1,172 @@
+package org.agzamovr.collectors;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+class PercentileCollector {
+    static final PercentileCollector PERCENTILE_COLLECTOR = new PercentileCollector();
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int SORT_THRESHOLD = 16;
+
+    /**
+     * Growable buffer of doubles, buffers of parallel streams are merged by copying the right buffer into the left.
+     */
+    static class DoubleBuffer {
+        private double[] values = new double[INITIAL_CAPACITY];
+        private int size;
+
+        void add(double value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size + (size >> 1));
+            values[size++] = value;
+        }
+
+        DoubleBuffer merge(DoubleBuffer other) {
+            if (size + other.size > values.length)
+                values = Arrays.copyOf(values, Math.max(size + other.size, size + (size >> 1)));
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+    }
+
+    private static void validatePercentile(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 1.0))
+            throw new IllegalArgumentException("Percentile must be between 0 and 1: " + percentile);
+    }
+
+    /**
+     * Finds requested percentiles by selecting only the ranks they need. Discrete percentile is the value at rank
+     * {@code ceil(p * n)}, continuous percentile interpolates between ranks {@code floor(p * (n - 1))} and the next
+     * one. Values are ordered as by {@link Double#compare(double, double)}, percentiles of an empty stream are NaN.
+     */
+    double[] percentilesFinisher(DoubleBuffer buffer, double[] percentiles, boolean continuous) {
+        int size = buffer.size;
+        double[] result = new double[percentiles.length];
+        if (size == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        double[] values = buffer.values;
+        int[] ranks = new int[percentiles.length * 2];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (continuous) {
+                int lower = (int) Math.floor(percentiles[i] * (size - 1));
+                ranks[2 * i] = lower;
+                ranks[2 * i + 1] = Math.min(lower + 1, size - 1);
+            } else {
+                int rank = Math.max(0, (int) Math.ceil(percentiles[i] * size) - 1);
+                ranks[2 * i] = rank;
+                ranks[2 * i + 1] = rank;
+            }
+        }
+        int[] distinctRanks = Arrays.stream(ranks).sorted().distinct().toArray();
+        select(values, 0, size - 1, distinctRanks, 0, distinctRanks.length);
+        for (int i = 0; i < percentiles.length; i++) {
+            double lower = values[ranks[2 * i]];
+            if (continuous) {
+                double fraction = percentiles[i] * (size - 1) - ranks[2 * i];
+                double upper = values[ranks[2 * i + 1]];
+                result[i] = fraction == 0.0 || lower == upper ? lower : lower + fraction * (upper - lower);
+            } else {
+                result[i] = lower;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Places values of all given sorted ranks at their positions. The middle rank is selected first, ranks on the
+     * left and on the right of it are then selected in the smaller ranges.
+     */
+    static void select(double[] values, int low, int high, int[] ranks, int fromRank, int toRank) {
+        if (fromRank >= toRank || low > high)
+            return;
+        int middle = (fromRank + toRank) >>> 1;
+        int rank = ranks[middle];
+        select(values, low, high, rank);
+        select(values, low, rank - 1, ranks, fromRank, middle);
+        select(values, rank + 1, high, ranks, middle + 1, toRank);
+    }
+
+    /**
+     * Introselect: quickselect with three way partitioning around the median of three, which falls back to
+     * sorting of the remaining range when the recursion depth exceeds twice the logarithm of the range size.
+     */
+    static void select(double[] values, int low, int high, int rank) {
+        int depth = 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(high - low + 1));
+        while (high > low) {
+            if (depth-- == 0 || high - low < SORT_THRESHOLD) {
+                Arrays.sort(values, low, high + 1);
+                return;
+            }
+            double pivot = medianOfThree(values[low], values[(low + high) >>> 1], values[high]);
+            int lt = low;
+            int gt = high;
+            int i = low;
+            while (i <= gt) {
+                int cmp = Double.compare(values[i], pivot);
+                if (cmp < 0)
+                    swap(values, lt++, i++);
+                else if (cmp > 0)
+                    swap(values, i, gt--);
+                else
+                    i++;
+            }
+            if (rank < lt)
+                high = lt - 1;
+            else if (rank > gt)
+                low = gt + 1;
+            else
+                return;
+        }
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        if (Double.compare(a, b) > 0) {
+            double t = a;
+            a = b;
+            b = t;
+        }
+        if (Double.compare(b, c) > 0)
+            b = Double.compare(a, c) > 0 ? a : c;
+        return b;
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double t = values[i];
+        values[i] = values[j];
+        values[j] = t;
+    }
+
+    <T>
+    Collector<T, ?, Double> percentile(ToDoubleFunction<? super T> mapper,
+                                       double percentile,
+                                       boolean continuous) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        validatePercentile(percentile);
+        double[] percentiles = {percentile};
+        return Collector.of(DoubleBuffer::new,
+                (buffer, item) -> buffer.add(mapper.applyAsDouble(item)),
+                DoubleBuffer::merge,
+                (buffer) -> percentilesFinisher(buffer, percentiles, continuous)[0]);
+    }
+
+    <T>
+    Collector<T, ?, double[]> percentiles(ToDoubleFunction<? super T> mapper,
+                                          double[] percentiles,
+                                          boolean continuous) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(percentiles, "Percentiles cannot be null");
+        double[] copy = percentiles.clone();
+        for (double percentile : copy)
+            validatePercentile(percentile);
+        return Collector.of(DoubleBuffer::new,
+                (buffer, item) -> buffer.add(mapper.applyAsDouble(item)),
+                DoubleBuffer::merge,
+                (buffer) -> percentilesFinisher(buffer, copy, continuous));
+    }
+}
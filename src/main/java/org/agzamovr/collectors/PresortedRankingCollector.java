@@ -0,0 +1,144 @@
+package org.agzamovr.collectors;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import static java.util.Comparator.nullsLast;
+import static java.util.stream.Collectors.toList;
+
+class PresortedRankingCollector {
+    static final PresortedRankingCollector PRESORTED_RANKING_COLLECTOR = new PresortedRankingCollector();
+
+    /**
+     * Ranks of already sorted segment of a stream. Each rank has its own downstream container which is filled as
+     * objects arrive, ranks are local to the segment and shifted when segments are combined.
+     */
+    static class RankedRun<T, A> {
+        private final Comparator<? super T> comparator;
+        private final boolean denseRank;
+        private final Supplier<A> downstreamSupplier;
+        private final BiConsumer<A, ? super T> downstreamAccumulator;
+        private final List<A> containers = new ArrayList<>();
+        private int[] ranks = new int[16];
+        private int count;
+        private T first;
+        private T last;
+
+        RankedRun(Comparator<? super T> comparator,
+                  boolean denseRank,
+                  Supplier<A> downstreamSupplier,
+                  BiConsumer<A, ? super T> downstreamAccumulator) {
+            this.comparator = comparator;
+            this.denseRank = denseRank;
+            this.downstreamSupplier = downstreamSupplier;
+            this.downstreamAccumulator = downstreamAccumulator;
+        }
+
+        void add(T item) {
+            if (count == 0) {
+                first = item;
+                startRank(1);
+            } else {
+                int order = comparator.compare(item, last);
+                if (order < 0)
+                    throw new IllegalStateException("Stream is not sorted: " + item + " follows " + last);
+                if (order > 0)
+                    startRank(denseRank ? containers.size() + 1 : count + 1);
+            }
+            downstreamAccumulator.accept(containers.get(containers.size() - 1), item);
+            last = item;
+            count++;
+        }
+
+        RankedRun<T, A> merge(RankedRun<T, A> other, BinaryOperator<A> downstreamCombiner) {
+            if (other.count == 0)
+                return this;
+            if (count == 0) {
+                for (int i = 0; i < other.containers.size(); i++) {
+                    containers.add(downstreamCombiner.apply(downstreamSupplier.get(), other.containers.get(i)));
+                    addRank(other.ranks[i]);
+                }
+                count = other.count;
+                first = other.first;
+                last = other.last;
+                return this;
+            }
+            int order = comparator.compare(other.first, last);
+            if (order < 0)
+                throw new IllegalStateException("Stream is not sorted: " + other.first + " follows " + last);
+            int from = 0;
+            if (order == 0) {
+                int lastIndex = containers.size() - 1;
+                containers.set(lastIndex, downstreamCombiner.apply(containers.get(lastIndex), other.containers.get(0)));
+                from = 1;
+            }
+            int offset = denseRank ? containers.size() - from : count;
+            for (int i = from; i < other.containers.size(); i++) {
+                containers.add(other.containers.get(i));
+                addRank(other.ranks[i] + offset);
+            }
+            count += other.count;
+            last = other.last;
+            return this;
+        }
+
+        <R> SortedMap<Integer, R> finish(Function<A, R> downstreamFinisher) {
+            SortedMap<Integer, R> map = new TreeMap<>();
+            for (int i = 0; i < containers.size(); i++)
+                map.put(ranks[i], downstreamFinisher.apply(containers.get(i)));
+            return map;
+        }
+
+        private void startRank(int rank) {
+            containers.add(downstreamSupplier.get());
+            addRank(rank);
+        }
+
+        private void addRank(int rank) {
+            int index = containers.size() - 1;
+            if (index == ranks.length)
+                ranks = Arrays.copyOf(ranks, ranks.length * 2);
+            ranks[index] = rank;
+        }
+    }
+
+    <T extends Comparable<? super T>>
+    Collector<T, ?, SortedMap<Integer, List<T>>> presortedRank() {
+        return presortedRank(nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> presortedRank(Comparator<? super T> comparator) {
+        return presortedRank(comparator, false, toList());
+    }
+
+    <T extends Comparable<? super T>>
+    Collector<T, ?, SortedMap<Integer, List<T>>> presortedDenseRank() {
+        return presortedDenseRank(nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> presortedDenseRank(Comparator<? super T> comparator) {
+        return presortedRank(comparator, true, toList());
+    }
+
+    <T, A, R>
+    Collector<T, RankedRun<T, A>, SortedMap<Integer, R>> presortedRank(Comparator<? super T> comparator,
+                                                                       boolean denseRank,
+                                                                       Collector<? super T, A, R> downstream) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        Function<A, R> downstreamFinisher = downstream.finisher();
+        return Collector.of(() -> new RankedRun<>(comparator, denseRank, downstreamSupplier, downstreamAccumulator),
+                RankedRun::add,
+                (left, right) -> left.merge(right, downstreamCombiner),
+                (run) -> run.finish(downstreamFinisher));
+    }
+}
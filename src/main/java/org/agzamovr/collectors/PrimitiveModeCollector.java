@@ -0,0 +1,28 @@
+package org.agzamovr.collectors;
+
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+class PrimitiveModeCollector {
+    static final PrimitiveModeCollector PRIMITIVE_MODE_COLLECTOR = new PrimitiveModeCollector();
+
+    <T>
+    Collector<T, IntCounts, int[]> modeInt(ToIntFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        return Collector.of(IntCounts::new,
+                (counts, item) -> counts.add(mapper.applyAsInt(item)),
+                IntCounts::merge,
+                IntCounts::modes);
+    }
+
+    <T>
+    Collector<T, LongCounts, long[]> modeLong(ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        return Collector.of(LongCounts::new,
+                (counts, item) -> counts.add(mapper.applyAsLong(item)),
+                LongCounts::merge,
+                LongCounts::modes);
+    }
+}
@@ -0,0 +1,120 @@
+package org.agzamovr.collectors;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mergeable quantile sketch based on the KLL algorithm. Items are stored in levels of compactors, an item stored
+ * on level {@code h} represents {@code 2^h} stream items. When a level exceeds its capacity it is sorted and every
+ * second item starting from a random offset is promoted to the next level. The top level has capacity {@code k},
+ * capacities of lower levels decrease geometrically, so the sketch keeps {@code O(k)} items and the normalized
+ * rank error is approximately {@code 3 / k}.
+ *
+ * @param <T> the type of items
+ */
+class QuantileSketch<T> {
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+    private static final double ERROR_FACTOR = 3.0;
+
+    private final Comparator<? super T> comparator;
+    private final int k;
+    private final List<List<T>> levels = new ArrayList<>();
+    private long count;
+
+    QuantileSketch(int k, Comparator<? super T> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        levels.add(new ArrayList<>());
+    }
+
+    static int computeK(double rankError) {
+        if (!(rankError > 0 && rankError < 1))
+            throw new IllegalArgumentException("Rank error must be between 0 and 1: " + rankError);
+        return Math.max(8, (int) Math.ceil(ERROR_FACTOR / rankError));
+    }
+
+    void add(T item) {
+        List<T> level = levels.get(0);
+        level.add(item);
+        count++;
+        if (level.size() >= capacity(0))
+            compress();
+    }
+
+    QuantileSketch<T> merge(QuantileSketch<T> other) {
+        while (levels.size() < other.levels.size())
+            levels.add(new ArrayList<>());
+        for (int h = 0; h < other.levels.size(); h++)
+            levels.get(h).addAll(other.levels.get(h));
+        count += other.count;
+        compress();
+        return this;
+    }
+
+    long count() {
+        return count;
+    }
+
+    /**
+     * Returns approximate quantiles for each of given ascending normalized ranks.
+     */
+    List<T> quantiles(double[] ranks) {
+        List<Weighted<T>> items = new ArrayList<>();
+        for (int h = 0; h < levels.size(); h++)
+            for (T item : levels.get(h))
+                items.add(new Weighted<>(item, 1L << h));
+        items.sort((left, right) -> comparator.compare(left.item, right.item));
+        List<T> result = new ArrayList<>(ranks.length);
+        if (items.isEmpty())
+            return result;
+        long weight = 0;
+        int i = 0;
+        for (double rank : ranks) {
+            double target = rank * count;
+            while (i < items.size() - 1 && weight + items.get(i).weight < target)
+                weight += items.get(i++).weight;
+            result.add(items.get(i).item);
+        }
+        return result;
+    }
+
+    private int capacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void compress() {
+        for (int h = 0; h < levels.size(); h++)
+            if (levels.get(h).size() >= capacity(h))
+                compact(h);
+    }
+
+    private void compact(int level) {
+        if (level + 1 == levels.size())
+            levels.add(new ArrayList<>());
+        List<T> items = levels.get(level);
+        List<T> next = levels.get(level + 1);
+        items.sort(comparator);
+        boolean odd = items.size() % 2 != 0;
+        T last = odd ? items.get(items.size() - 1) : null;
+        int size = odd ? items.size() - 1 : items.size();
+        for (int i = ThreadLocalRandom.current().nextInt(2); i < size; i += 2)
+            next.add(items.get(i));
+        items.clear();
+        if (odd)
+            items.add(last);
+    }
+
+    private static final class Weighted<T> {
+        final T item;
+        final long weight;
+
+        Weighted(T item, long weight) {
+            this.item = item;
+            this.weight = weight;
+        }
+    }
+}
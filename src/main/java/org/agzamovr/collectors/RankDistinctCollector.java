@@ -3,6 +3,7 @@ package org.agzamovr.collectors;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collector;
 
 import static java.util.Comparator.nullsLast;
@@ -11,66 +12,126 @@ import static java.util.stream.Collectors.toList;
 class RankDistinctCollector {
     static final RankDistinctCollector RANK_DISTINCT_COLLECTOR = new RankDistinctCollector();
 
-    <T, A, D, R>
-    R distinctFinisher(Collection<T> collection,
+    /**
+     * Sorts mapped values and passes the first value of each run of equal values to downstream collector, the sort
+     * is stable, so it is the first value in encounter order.
+     */
+    <A, D, R>
+    R distinctFinisher(List<D> list,
                        Comparator<? super D> comparator,
-                       Function<? super T, D> mapper,
                        Collector<? super D, A, R> downstream) {
-        Map<Integer, List<D>> rankedMap = collection.stream()
-                .map(mapper)
-                .collect(CollectorEx.rank(comparator));
-        Function<A, R> downstreamFinisher = downstream.finisher();
+        CollectorEx.sortList(list, comparator);
         BiConsumer<A, ? super D> downstreamAccumulator = downstream.accumulator();
         A container = downstream.supplier().get();
-        rankedMap.forEach((rank, items) -> downstreamAccumulator.accept(container, items.get(0)));
-        return downstreamFinisher.apply(container);
+        D previous = null;
+        boolean first = true;
+        for (D item : list) {
+            if (first || comparator.compare(previous, item) != 0)
+                downstreamAccumulator.accept(container, item);
+            previous = item;
+            first = false;
+        }
+        return downstream.finisher().apply(container);
+    }
+
+    <A, D, R>
+    R distinctSetFinisher(Set<D> set,
+                          Collector<? super D, A, R> downstream) {
+        BiConsumer<A, ? super D> downstreamAccumulator = downstream.accumulator();
+        A container = downstream.supplier().get();
+        for (D item : set)
+            downstreamAccumulator.accept(container, item);
+        return downstream.finisher().apply(container);
+    }
+
+    static <D> Set<D> setCombiner(Set<D> left, Set<D> right) {
+        left.addAll(right);
+        return left;
     }
 
     <T extends Comparable<? super T>>
-    Collector<T, ?, List<T>> rankDistinct() {
+    Collector<T, List<T>, List<T>> rankDistinct() {
         return rankDistinct(nullsLast(Comparator.<T>naturalOrder()), Function.identity(), toList());
     }
 
     <T>
-    Collector<T, ?, List<T>> rankDistinct(Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<T>> rankDistinct(Comparator<? super T> comparator) {
         return rankDistinct(comparator, Function.identity(), toList());
     }
 
     <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> rankDistinct(Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, R> rankDistinct(Collector<? super T, ?, R> downstream) {
         return rankDistinct(nullsLast(Comparator.<T>naturalOrder()), Function.identity(), downstream);
     }
 
     <T, D extends Comparable<? super D>>
-    Collector<T, ?, List<D>> rankDistinct(Function<? super T, D> mapper) {
+    Collector<T, List<D>, List<D>> rankDistinct(Function<? super T, D> mapper) {
         return rankDistinct(nullsLast(Comparator.naturalOrder()), mapper, toList());
     }
 
     <T, R>
-    Collector<T, ?, R> rankDistinct(Comparator<? super T> comparator,
-                                    Collector<? super T, ?, R> downstream) {
+    Collector<T, List<T>, R> rankDistinct(Comparator<? super T> comparator,
+                                          Collector<? super T, ?, R> downstream) {
         return rankDistinct(comparator, Function.identity(), downstream);
     }
 
     <T, D>
-    Collector<T, ?, List<D>> rankDistinct(Comparator<? super D> comparator,
-                                          Function<? super T, D> mapper) {
+    Collector<T, List<D>, List<D>> rankDistinct(Comparator<? super D> comparator,
+                                                Function<? super T, D> mapper) {
         return rankDistinct(comparator, mapper, toList());
     }
 
     <T, D extends Comparable<? super D>, R>
-    Collector<T, ?, R> rankDistinct(Function<? super T, D> mapper,
-                                    Collector<? super D, ?, R> downstream) {
+    Collector<T, List<D>, R> rankDistinct(Function<? super T, D> mapper,
+                                          Collector<? super D, ?, R> downstream) {
         return rankDistinct(nullsLast(Comparator.naturalOrder()), mapper, downstream);
     }
 
     <T, D, R>
-    Collector<T, List<T>, R> rankDistinct(Comparator<? super D> comparator,
+    Collector<T, List<D>, R> rankDistinct(Comparator<? super D> comparator,
                                           Function<? super T, D> mapper,
                                           Collector<? super D, ?, R> downstream) {
-        return Collector.of(ArrayList::new,
-                List::add,
-                CollectorEx::listCombiner,
-                (list) -> distinctFinisher(list, comparator, mapper, downstream));
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        return Collector.of(() -> new SortedRunList<D>(comparator),
+                (list, item) -> list.add(mapper.apply(item)),
+                SortedRunList.combiner(comparator),
+                (list) -> distinctFinisher(list, comparator, downstream));
+    }
+
+    /**
+     * Mapped values are accumulated into {@link TreeSet} which keeps the first of equal values, so memory is
+     * proportional to the number of distinct values and the finisher does not sort.
+     */
+    <T, D, R>
+    Collector<T, Set<D>, R> rankDistinctWithSortedSet(Comparator<? super D> comparator,
+                                                      Function<? super T, D> mapper,
+                                                      Collector<? super D, ?, R> downstream) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        return Collector.of(() -> new TreeSet<D>(comparator),
+                (set, item) -> set.add(mapper.apply(item)),
+                RankDistinctCollector::setCombiner,
+                (set) -> distinctSetFinisher(set, downstream));
+    }
+
+    /**
+     * Mapped values are accumulated into {@link LinkedHashSet}, which drops values equal by {@link Object#equals}
+     * in constant time and keeps the first of them in encounter order. The remaining values are sorted once in the
+     * finisher and values equal by the comparator are dropped there, like in the buffering collector.
+     */
+    <T, D, R>
+    Collector<T, Set<D>, R> rankDistinctWithHashSet(Comparator<? super D> comparator,
+                                                    Function<? super T, D> mapper,
+                                                    Collector<? super D, ?, R> downstream) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        return Collector.of(LinkedHashSet::new,
+                (set, item) -> set.add(mapper.apply(item)),
+                RankDistinctCollector::setCombiner,
+                (set) -> distinctFinisher(new ArrayList<>(set), comparator, downstream));
     }
-}
\ No newline at end of file
+}
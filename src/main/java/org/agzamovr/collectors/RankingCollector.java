@@ -3,15 +3,35 @@ package org.agzamovr.collectors;
 
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
+import java.util.stream.IntStream;
 
 import static java.util.Comparator.nullsLast;
 import static java.util.stream.Collectors.toList;
 
 class RankingCollector {
     static final RankingCollector RANKING_COLLECTOR = new RankingCollector();
+    static final Comparator<Integer> ASCENDING_RANKS = Integer::compareTo;
+
+    @SuppressWarnings("rawtypes")
+    private static final Comparator NATURAL_ORDER = Comparator.naturalOrder();
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final Comparator NULLS_LAST_ORDER = nullsLast(NATURAL_ORDER);
+
+    /**
+     * Returns the shared default comparator of comparable objects, the rank scan recognizes it and compares objects
+     * without the comparator.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Comparable<? super T>> Comparator<T> nullsLastOrder() {
+        return NULLS_LAST_ORDER;
+    }
 
     private void validateInput(Comparator<?> comparator,
                                Comparator<?> rankOrder,
@@ -21,6 +41,55 @@ class RankingCollector {
         Objects.requireNonNull(downstream, "Downstream collector cannot be null");
     }
 
+    /**
+     * Assigns ranks to elements passed in sorted order and accumulates elements of the same rank into a downstream
+     * container.
+     */
+    static class RankAssigner<T, A, R> implements Consumer<T> {
+        private final Comparator<? super T> comparator;
+        private final boolean denseRank;
+        private final Supplier<A> downstreamSupplier;
+        private final BiConsumer<A, ? super T> downstreamAccumulator;
+        private final Function<A, R> downstreamFinisher;
+        private final SortedMap<Integer, R> map;
+        private int rank;
+        private int position;
+        private T prev;
+        private A container;
+
+        RankAssigner(Comparator<? super T> comparator,
+                     Comparator<Integer> rankOrder,
+                     boolean denseRank,
+                     Collector<? super T, A, R> downstream) {
+            this.comparator = comparator;
+            this.denseRank = denseRank;
+            this.downstreamSupplier = downstream.supplier();
+            this.downstreamAccumulator = downstream.accumulator();
+            this.downstreamFinisher = downstream.finisher();
+            this.map = new TreeMap<>(rankOrder);
+        }
+
+        @Override
+        public void accept(T current) {
+            position++;
+            boolean startNextRank = rank == 0 || comparator.compare(current, prev) != 0;
+            if (startNextRank) {
+                if (container != null)
+                    map.put(rank, downstreamFinisher.apply(container));
+                rank = denseRank ? rank + 1 : position;
+                container = downstreamSupplier.get();
+            }
+            downstreamAccumulator.accept(container, current);
+            prev = current;
+        }
+
+        SortedMap<Integer, R> finish() {
+            if (container != null)
+                map.put(rank, downstreamFinisher.apply(container));
+            return map;
+        }
+    }
+
     <T, A, R>
     SortedMap<Integer, R> rankFinisher(List<T> list,
                                        Comparator<? super T> comparator,
@@ -28,98 +97,245 @@ class RankingCollector {
                                        boolean denseRank,
                                        Collector<? super T, A, R> downstream) {
         validateInput(comparator, rankOrder, downstream);
-        list.sort(comparator);
+        CollectorEx.sortList(list, comparator);
+        return rankSorted(list.toArray(), comparator, rankOrder, denseRank, downstream);
+    }
+
+    /**
+     * Ranks the sorted array of objects. Start indexes of the same ranked groups are found by a scan with int ranks,
+     * every group is reduced by the downstream collector, in parallel for large arrays, and ranks are boxed only when
+     * the result map is built. The map of ascending ranks is built from the sorted groups without comparisons.
+     */
+    static <T, R> SortedMap<Integer, R> rankSorted(Object[] sorted,
+                                                  Comparator<? super T> comparator,
+                                                  Comparator<Integer> rankOrder,
+                                                  boolean denseRank,
+                                                  Collector<? super T, ?, R> downstream) {
+        return rankGroups(sorted, groupStarts(sorted, comparator), rankOrder, denseRank, downstream);
+    }
+
+    static <T, R> SortedMap<Integer, R> rankGroups(Object[] sorted,
+                                                  int[] starts,
+                                                  Comparator<Integer> rankOrder,
+                                                  boolean denseRank,
+                                                  Collector<? super T, ?, R> downstream) {
+        int groups = starts.length - 1;
+        Object[] results = new Object[groups];
+        IntStream range = IntStream.range(0, groups);
+        if (sorted.length >= CollectorEx.PARALLEL_SORT_THRESHOLD)
+            range = range.parallel();
+        range.forEach(group -> results[group] = collect(sorted, starts[group], starts[group + 1], downstream));
+        SortedMap<Integer, R> ranks = new LazyRankMap<>(starts, denseRank, results);
+        if (rankOrder == ASCENDING_RANKS)
+            return new TreeMap<>(ranks);
         SortedMap<Integer, R> map = new TreeMap<>(rankOrder);
-        Integer rank = 0;
+        map.putAll(ranks);
+        return map;
+    }
+
+    /**
+     * Returns start indexes of the same ranked objects of the sorted array followed by the length of the array.
+     * Objects sorted by the natural order are compared directly by {@link Comparable#compareTo(Object)}.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> int[] groupStarts(Object[] sorted, Comparator<? super T> comparator) {
+        if (comparator == NULLS_LAST_ORDER || comparator == NATURAL_ORDER)
+            return comparableGroupStarts(sorted);
+        int[] starts = new int[16];
+        int groups = 0;
         T prev = null;
-        Supplier<A> downstreamSupplier = downstream.supplier();
-        Function<A, R> downstreamFinisher = downstream.finisher();
-        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
-        A container = null;
-        for (int i = 0; i < list.size(); i++) {
-            T current = list.get(i);
-            boolean startNextRank = rank == 0 || comparator.compare(current, prev) != 0;
-            if (startNextRank) {
-                if (container != null)
-                    map.put(rank, downstreamFinisher.apply(container));
-                rank = denseRank ? rank + 1 : i + 1;
-                container = downstreamSupplier.get();
-            }
-            downstreamAccumulator.accept(container, current);
+        for (int i = 0; i < sorted.length; i++) {
+            T current = (T) sorted[i];
+            if (i == 0 || comparator.compare(current, prev) != 0)
+                starts = appendStart(starts, groups++, i);
             prev = current;
         }
-        if (container != null)
-            map.put(rank, downstreamFinisher.apply(container));
-        return map;
+        return finishStarts(starts, groups, sorted.length);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static int[] comparableGroupStarts(Object[] sorted) {
+        int[] starts = new int[16];
+        int groups = 0;
+        Comparable prev = null;
+        for (int i = 0; i < sorted.length; i++) {
+            Comparable current = (Comparable) sorted[i];
+            boolean startNextGroup = i == 0
+                    || (current == null ? prev != null : prev == null || current.compareTo(prev) != 0);
+            if (startNextGroup)
+                starts = appendStart(starts, groups++, i);
+            prev = current;
+        }
+        return finishStarts(starts, groups, sorted.length);
+    }
+
+    private static int[] appendStart(int[] starts, int group, int start) {
+        if (group + 1 == starts.length)
+            starts = Arrays.copyOf(starts, starts.length * 2);
+        starts[group] = start;
+        return starts;
+    }
+
+    private static int[] finishStarts(int[] starts, int groups, int length) {
+        starts[groups] = length;
+        return Arrays.copyOf(starts, groups + 1);
+    }
+
+    static <T, A, R> R collect(List<T> list, int from, int to, Collector<? super T, A, R> downstream) {
+        A container = downstream.supplier().get();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        for (int i = from; i < to; i++)
+            accumulator.accept(container, list.get(i));
+        return downstream.finisher().apply(container);
     }
 
+    @SuppressWarnings("unchecked")
+    static <T, A, R> R collect(Object[] rows, int from, int to, Collector<? super T, A, R> downstream) {
+        A container = downstream.supplier().get();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        for (int i = from; i < to; i++)
+            accumulator.accept(container, (T) rows[i]);
+        return downstream.finisher().apply(container);
+    }
+
+    <T, A, R>
+    SortedMap<Integer, R> externalRankFinisher(ExternalSorter<T> sorter,
+                                               Comparator<? super T> comparator,
+                                               boolean denseRank,
+                                               Collector<? super T, A, R> downstream) {
+        try {
+            RankAssigner<T, A, R> assigner = new RankAssigner<>(comparator, ASCENDING_RANKS, denseRank, downstream);
+            sorter.forEachSorted(assigner);
+            return assigner.finish();
+        } finally {
+            sorter.clear();
+        }
+    }
+
+    /**
+     * Sorts objects and finds start indexes of the same ranked groups, downstream collector is applied later by
+     * the returned map on access.
+     */
+    <T, R>
+    SortedMap<Integer, R> lazyRankFinisher(List<T> list,
+                                           Comparator<? super T> comparator,
+                                           boolean denseRank,
+                                           Collector<? super T, ?, R> downstream) {
+        CollectorEx.sortList(list, comparator);
+        Object[] rows = list.toArray();
+        int[] starts = groupStarts(rows, comparator);
+        return new LazyRankMap<>(rows, starts, denseRank, downstream);
+    }
+
+    /**
+     * Assigns ranks by groups of the sorted array, the boxed rank is shared by all objects of the same rank.
+     */
+    @SuppressWarnings("unchecked")
     <T, R>
     Map<R, Integer> mapObjToRankFinisher(List<T> list,
                                          Function<? super T, R> mapper,
                                          Comparator<? super T> comparator,
                                          boolean denseRank) {
-        SortedMap<Integer, List<T>> rankedMap = rankFinisher(list, comparator, Integer::compareTo, denseRank, toList());
-        Map<R, Integer> mapObjToRank = new HashMap<>();
-        rankedMap.forEach((rank, items) -> items.forEach((item) -> mapObjToRank.put(mapper.apply(item), rank)));
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        CollectorEx.sortList(list, comparator);
+        Object[] rows = list.toArray();
+        int[] starts = groupStarts(rows, comparator);
+        Map<R, Integer> mapObjToRank = new HashMap<>(Math.max(16, (int) (rows.length / 0.75f) + 1));
+        for (int group = 0; group < starts.length - 1; group++) {
+            Integer rank = denseRank ? group + 1 : starts[group] + 1;
+            for (int i = starts[group]; i < starts[group + 1]; i++)
+                mapObjToRank.put(mapper.apply((T) rows[i]), rank);
+        }
         return mapObjToRank;
     }
 
+    /**
+     * Stores the rank of each object at the index computed by the index mapper. The size of the array is the maximum
+     * index plus one, slots of indexes which do not belong to any object are zero.
+     */
+    @SuppressWarnings("unchecked")
+    <T>
+    int[] mapIndexToRankFinisher(List<T> list,
+                                 ToIntFunction<? super T> indexMapper,
+                                 Comparator<? super T> comparator,
+                                 boolean denseRank) {
+        CollectorEx.sortList(list, comparator);
+        Object[] rows = list.toArray();
+        int[] indexes = new int[rows.length];
+        int maxIndex = -1;
+        for (int i = 0; i < indexes.length; i++) {
+            int index = indexMapper.applyAsInt((T) rows[i]);
+            if (index < 0)
+                throw new IllegalArgumentException("Index must not be negative: " + index);
+            indexes[i] = index;
+            maxIndex = Math.max(maxIndex, index);
+        }
+        int[] starts = groupStarts(rows, comparator);
+        int[] ranks = new int[maxIndex + 1];
+        for (int group = 0; group < starts.length - 1; group++) {
+            int rank = denseRank ? group + 1 : starts[group] + 1;
+            for (int i = starts[group]; i < starts[group + 1]; i++)
+                ranks[indexes[i]] = rank;
+        }
+        return ranks;
+    }
+
     <T extends Comparable<? super T>>
-    Collector<T, ?, SortedMap<Integer, List<T>>> denseRank() {
-        return denseRank(nullsLast(Comparator.<T>naturalOrder()));
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> denseRank() {
+        return denseRank(nullsLastOrder());
     }
 
     <T>
-    Collector<T, ?, SortedMap<Integer, List<T>>> denseRank(Comparator<? super T> comparator) {
-        return denseRank(comparator, Integer::compareTo);
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> denseRank(Comparator<? super T> comparator) {
+        return denseRank(comparator, ASCENDING_RANKS);
     }
 
     <T extends Comparable<? super T>, R>
-    Collector<T, ?, SortedMap<Integer, R>> denseRank(Collector<? super T, ?, R> downstream) {
-        return rank(nullsLast(Comparator.<T>naturalOrder()), Integer::compareTo, true, downstream);
+    Collector<T, List<T>, SortedMap<Integer, R>> denseRank(Collector<? super T, ?, R> downstream) {
+        return rank(nullsLastOrder(), ASCENDING_RANKS, true, downstream);
     }
 
     <T>
-    Collector<T, ?, SortedMap<Integer, List<T>>> denseRank(Comparator<? super T> comparator,
-                                                           Comparator<Integer> rankOrder) {
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> denseRank(Comparator<? super T> comparator,
+                                                                 Comparator<Integer> rankOrder) {
         return rank(comparator, rankOrder, true, toList());
     }
 
     <T extends Comparable<? super T>>
-    Collector<T, ?, SortedMap<Integer, List<T>>> rank() {
-        return rank(nullsLast(Comparator.<T>naturalOrder()));
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rank() {
+        return rank(nullsLastOrder());
     }
 
     <T>
-    Collector<T, ?, SortedMap<Integer, List<T>>> rank(Comparator<? super T> comparator) {
-        return rank(comparator, Integer::compareTo);
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rank(Comparator<? super T> comparator) {
+        return rank(comparator, ASCENDING_RANKS);
     }
 
     <T extends Comparable<? super T>, R>
-    Collector<T, ?, SortedMap<Integer, R>> rank(Collector<? super T, ?, R> downstream) {
-        return rank(nullsLast(Comparator.<T>naturalOrder()), Integer::compareTo, false, downstream);
+    Collector<T, List<T>, SortedMap<Integer, R>> rank(Collector<? super T, ?, R> downstream) {
+        return rank(nullsLastOrder(), ASCENDING_RANKS, false, downstream);
     }
 
     <T>
-    Collector<T, ?, SortedMap<Integer, List<T>>> rank(Comparator<? super T> comparator,
-                                                      Comparator<Integer> rankOrder) {
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rank(Comparator<? super T> comparator,
+                                                            Comparator<Integer> rankOrder) {
         return rank(comparator, rankOrder, false, toList());
     }
 
     <T, R>
-    Collector<T, ?, SortedMap<Integer, R>> rank(Comparator<? super T> comparator,
-                                                Comparator<Integer> rankOrder,
-                                                boolean denseRank,
-                                                Collector<? super T, ?, R> downstream) {
-        return Collector.of((Supplier<List<T>>) ArrayList::new,
+    Collector<T, List<T>, SortedMap<Integer, R>> rank(Comparator<? super T> comparator,
+                                                      Comparator<Integer> rankOrder,
+                                                      boolean denseRank,
+                                                      Collector<? super T, ?, R> downstream) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
                 List::add,
-                CollectorEx::listCombiner,
+                SortedRunList.combiner(comparator),
                 (list) -> rankFinisher(list, comparator, rankOrder, denseRank, downstream));
     }
 
     <T extends Comparable<? super T>>
     Collector<T, ?, Map<T, Integer>> mapObjToDenseRank() {
-        return mapObjToRank(nullsLast(Comparator.<T>naturalOrder()), true);
+        return mapObjToRank(nullsLastOrder(), true);
     }
 
     <T>
@@ -129,12 +345,12 @@ class RankingCollector {
 
     <T extends Comparable<? super T>, R>
     Collector<T, ?, Map<R, Integer>> mapObjToDenseRank(Function<? super T, R> mapper) {
-        return mapObjToRank(mapper, nullsLast(Comparator.<T>naturalOrder()), true);
+        return mapObjToRank(mapper, nullsLastOrder(), true);
     }
 
     <T extends Comparable<? super T>>
     Collector<T, ?, Map<T, Integer>> mapObjToRank() {
-        return mapObjToRank(nullsLast(Comparator.<T>naturalOrder()), false);
+        return mapObjToRank(nullsLastOrder(), false);
     }
 
     <T>
@@ -144,7 +360,7 @@ class RankingCollector {
 
     <T extends Comparable<? super T>, R>
     Collector<T, ?, Map<R, Integer>> mapObjToRank(Function<? super T, R> mapper) {
-        return mapObjToRank(mapper, nullsLast(Comparator.<T>naturalOrder()), false);
+        return mapObjToRank(mapper, nullsLastOrder(), false);
     }
 
     <T>
@@ -157,9 +373,121 @@ class RankingCollector {
     Collector<T, List<T>, Map<R, Integer>> mapObjToRank(Function<? super T, R> mapper,
                                                         Comparator<? super T> comparator,
                                                         boolean denseRank) {
-        return Collector.of(ArrayList::new,
+        return Collector.of(() -> new SortedRunList<T>(comparator),
                 List::add,
-                CollectorEx::listCombiner,
+                SortedRunList.combiner(comparator),
                 (list) -> mapObjToRankFinisher(list, mapper, comparator, denseRank));
     }
+
+    <T, R>
+    Collector<T, ?, SortedMap<Integer, R>> externalRank(Comparator<? super T> comparator,
+                                                        BinaryCodec<T> codec,
+                                                        int maxElementsInMemory,
+                                                        boolean denseRank,
+                                                        Collector<? super T, ?, R> downstream) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        validateExternalInput(codec, maxElementsInMemory);
+        Collector<T, ExternalSorter<T>, SortedMap<Integer, R>> collector
+                = Collector.of(() -> new ExternalSorter<>(comparator, codec, maxElementsInMemory),
+                ExternalSorter::add,
+                ExternalSorter::merge,
+                (sorter) -> externalRankFinisher(sorter, comparator, denseRank, downstream));
+        return CopyingCollector.of(collector, ExternalSorter::copy, ExternalSorter::clear);
+    }
+
+    <T>
+    Collector<T, List<T>, int[]> mapIndexToRank(ToIntFunction<? super T> indexMapper,
+                                                Comparator<? super T> comparator,
+                                                boolean denseRank) {
+        Objects.requireNonNull(indexMapper, "Index mapper cannot be null");
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> mapIndexToRankFinisher(list, indexMapper, comparator, denseRank));
+    }
+
+    <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> lazyRank(Comparator<? super T> comparator) {
+        return lazyRank(comparator, false, toList());
+    }
+
+    <T, R>
+    Collector<T, ?, SortedMap<Integer, R>> lazyRank(Comparator<? super T> comparator,
+                                                    boolean denseRank,
+                                                    Collector<? super T, ?, R> downstream) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> lazyRankFinisher(list, comparator, denseRank, downstream));
+    }
+
+    <T>
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rankByInt(ToIntFunction<? super T> key) {
+        return rankByInt(key, false, toList());
+    }
+
+    <T, R>
+    Collector<T, List<T>, SortedMap<Integer, R>> rankByInt(ToIntFunction<? super T> key,
+                                                           boolean denseRank,
+                                                           Collector<? super T, ?, R> downstream) {
+        validateKeyInput(key, downstream);
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> rankByKeyFinisher(KeySortedRows.byInt(list, key), denseRank, downstream));
+    }
+
+    <T>
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rankByLong(ToLongFunction<? super T> key) {
+        return rankByLong(key, false, toList());
+    }
+
+    <T, R>
+    Collector<T, List<T>, SortedMap<Integer, R>> rankByLong(ToLongFunction<? super T> key,
+                                                            boolean denseRank,
+                                                            Collector<? super T, ?, R> downstream) {
+        validateKeyInput(key, downstream);
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> rankByKeyFinisher(KeySortedRows.byLong(list, key), denseRank, downstream));
+    }
+
+    <T>
+    Collector<T, List<T>, SortedMap<Integer, List<T>>> rankByDouble(ToDoubleFunction<? super T> key) {
+        return rankByDouble(key, false, toList());
+    }
+
+    <T, R>
+    Collector<T, List<T>, SortedMap<Integer, R>> rankByDouble(ToDoubleFunction<? super T> key,
+                                                              boolean denseRank,
+                                                              Collector<? super T, ?, R> downstream) {
+        validateKeyInput(key, downstream);
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> rankByKeyFinisher(KeySortedRows.byDouble(list, key), denseRank, downstream));
+    }
+
+    private <T, R>
+    SortedMap<Integer, R> rankByKeyFinisher(KeySortedRows sorted,
+                                            boolean denseRank,
+                                            Collector<? super T, ?, R> downstream) {
+        return rankGroups(sorted.rows(), sorted.groupStarts(), ASCENDING_RANKS, denseRank, downstream);
+    }
+
+    private void validateKeyInput(Object key, Collector<?, ?, ?> downstream) {
+        Objects.requireNonNull(key, "Key mapper cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+    }
+
+    static void validateExternalInput(BinaryCodec<?> codec, int maxElementsInMemory) {
+        Objects.requireNonNull(codec, "Codec cannot be null");
+        if (maxElementsInMemory <= 0)
+            throw new IllegalArgumentException("Max elements in memory must be positive: " + maxElementsInMemory);
+    }
 }
\ No newline at end of file
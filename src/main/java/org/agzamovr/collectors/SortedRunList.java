@@ -0,0 +1,134 @@
+package org.agzamovr.collectors;
+
+import java.util.*;
+import java.util.function.BinaryOperator;
+
+/**
+ * Buffer of sorting collectors which remembers whether its elements are sorted by the collector comparator.
+ * In parallel streams every leaf buffer is sorted when it is combined for the first time, i.e. in the fork join
+ * worker which accumulated it, and the combiner merges two sorted runs in linear time. The merge is done in place
+ * from the end of the grown left array, so no temporary array is allocated. The finisher of a parallel stream gets
+ * the sorted buffer and {@link #sort(Comparator)} with the same comparator does nothing.
+ * Adding an element resets the sorted flag, so the buffer may be continued by {@link Accumulation}.
+ *
+ * @param <T> the type of elements
+ */
+class SortedRunList<T> extends AbstractList<T> implements RandomAccess {
+    private final Comparator<? super T> comparator;
+    private Object[] elements;
+    private int size;
+    private boolean sorted = true;
+
+    SortedRunList(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+        this.elements = new Object[10];
+    }
+
+    private SortedRunList(Comparator<? super T> comparator, Collection<? extends T> items) {
+        this.comparator = comparator;
+        this.elements = items.toArray();
+        this.size = elements.length;
+        this.sorted = size < 2;
+    }
+
+    /**
+     * Returns combiner which merges sorted runs. Lists which are not sorted runs, e.g. partial states read by
+     * {@link BinaryCodecs#listState(BinaryCodec)}, are copied into a run and sorted first.
+     */
+    static <T> BinaryOperator<List<T>> combiner(Comparator<? super T> comparator) {
+        return (left, right) -> {
+            SortedRunList<T> run = asRun(left, comparator);
+            run.merge(asRun(right, comparator));
+            return run;
+        };
+    }
+
+    private static <T> SortedRunList<T> asRun(List<T> list, Comparator<? super T> comparator) {
+        if (list instanceof SortedRunList && ((SortedRunList<T>) list).comparator == comparator)
+            return (SortedRunList<T>) list;
+        return new SortedRunList<>(comparator, list);
+    }
+
+    @Override
+    public boolean add(T item) {
+        if (size == elements.length)
+            elements = Arrays.copyOf(elements, Math.max(size + (size >> 1), size + 1));
+        elements[size++] = item;
+        sorted = size < 2;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return (T) elements[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T item) {
+        if (index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        T previous = (T) elements[index];
+        elements[index] = item;
+        sorted = false;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Sorts elements in place, nothing is done when elements are already sorted by the same comparator. Large runs
+     * are sorted by {@link Arrays#parallelSort(Object[], int, int, Comparator)}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> comparator) {
+        if (sorted && comparator == this.comparator)
+            return;
+        if (size >= CollectorEx.PARALLEL_SORT_THRESHOLD)
+            Arrays.parallelSort((T[]) elements, 0, size, comparator);
+        else
+            Arrays.sort((T[]) elements, 0, size, comparator);
+        sorted = comparator == this.comparator;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void merge(SortedRunList<T> other) {
+        sort(comparator);
+        other.sort(comparator);
+        if (other.size == 0)
+            return;
+        int total = size + other.size;
+        if (total > elements.length)
+            elements = Arrays.copyOf(elements, total);
+        Object[] right = other.elements;
+        int i = size - 1;
+        int j = other.size - 1;
+        int k = total - 1;
+        if (i >= 0 && comparator.compare((T) elements[i], (T) right[0]) <= 0) {
+            System.arraycopy(right, 0, elements, size, other.size);
+            j = -1;
+        }
+        while (j >= 0) {
+            if (i >= 0 && comparator.compare((T) elements[i], (T) right[j]) > 0)
+                elements[k--] = elements[i--];
+            else
+                elements[k--] = right[j--];
+        }
+        size = total;
+        sorted = true;
+        modCount++;
+    }
+}
@@ -0,0 +1,154 @@
+package org.agzamovr.collectors;
+
+import java.util.*;
+
+/**
+ * Mergeable heavy hitters sketch based on the Space-Saving algorithm. The sketch keeps at most {@code capacity}
+ * counters in a min heap ordered by count. When an untracked item arrives and all counters are in use the counter
+ * with the minimum count is reassigned to the item and its count becomes the overestimation error. Every item
+ * which frequency exceeds {@code n / capacity} is tracked and the error of any count does not exceed
+ * {@code n / capacity}, where {@code n} is the number of stream items.
+ *
+ * @param <D> the type of items
+ */
+class SpaceSavingSketch<D> {
+    private final int capacity;
+    private final Map<D, Counter<D>> counters = new HashMap<>();
+    private Counter<D>[] heap;
+    private int size;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.heap = newHeap(Math.min(capacity, 16));
+    }
+
+    void add(D item) {
+        Counter<D> counter = counters.get(item);
+        if (counter == null) {
+            if (size < capacity) {
+                counter = new Counter<>(item, 0, 0);
+                push(counter);
+            } else {
+                counter = heap[0];
+                counters.remove(counter.item);
+                counter.item = item;
+                counter.error = counter.count;
+            }
+            counters.put(item, counter);
+        }
+        counter.count++;
+        siftDown(counter.index);
+    }
+
+    /**
+     * Merges counters of both sketches. An item which is not tracked by one of the sketches may still have occurred
+     * up to the minimum count of that sketch times, so the minimum is added to its count and error.
+     */
+    SpaceSavingSketch<D> merge(SpaceSavingSketch<D> other) {
+        long minCount = minCount();
+        long otherMinCount = other.minCount();
+        List<Counter<D>> merged = new ArrayList<>(size + other.size);
+        for (int i = 0; i < size; i++) {
+            Counter<D> counter = heap[i];
+            Counter<D> otherCounter = other.counters.get(counter.item);
+            if (otherCounter == null)
+                merged.add(new Counter<>(counter.item, counter.count + otherMinCount, counter.error + otherMinCount));
+            else
+                merged.add(new Counter<>(counter.item,
+                        counter.count + otherCounter.count,
+                        counter.error + otherCounter.error));
+        }
+        for (int i = 0; i < other.size; i++) {
+            Counter<D> otherCounter = other.heap[i];
+            if (!counters.containsKey(otherCounter.item))
+                merged.add(new Counter<>(otherCounter.item,
+                        otherCounter.count + minCount,
+                        otherCounter.error + minCount));
+        }
+        merged.sort(Counter.BY_COUNT_DESC);
+        counters.clear();
+        size = 0;
+        for (Counter<D> counter : merged.subList(0, Math.min(capacity, merged.size()))) {
+            push(counter);
+            counters.put(counter.item, counter);
+        }
+        return this;
+    }
+
+    List<HeavyHitter<D>> top(int k) {
+        List<Counter<D>> sorted = new ArrayList<>(Arrays.asList(heap).subList(0, size));
+        sorted.sort(Counter.BY_COUNT_DESC);
+        List<HeavyHitter<D>> result = new ArrayList<>(Math.min(k, sorted.size()));
+        for (Counter<D> counter : sorted.subList(0, Math.min(k, sorted.size())))
+            result.add(new HeavyHitter<>(counter.item, counter.count, counter.error));
+        return result;
+    }
+
+    private long minCount() {
+        return size < capacity ? 0 : heap[0].count;
+    }
+
+    private void push(Counter<D> counter) {
+        if (size == heap.length)
+            heap = Arrays.copyOf(heap, Math.min(capacity, heap.length * 2));
+        counter.index = size;
+        heap[size++] = counter;
+        siftUp(counter.index);
+    }
+
+    private void siftUp(int index) {
+        Counter<D> counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count)
+                break;
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter<D> counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count)
+                child = right;
+            if (counter.count <= heap[child].count)
+                break;
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter<D> counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <D> Counter<D>[] newHeap(int length) {
+        return (Counter<D>[]) new Counter<?>[length];
+    }
+
+    private static final class Counter<D> {
+        static final Comparator<Counter<?>> BY_COUNT_DESC = (left, right) -> {
+            int order = Long.compare(right.count, left.count);
+            return order != 0 ? order : Long.compare(left.error, right.error);
+        };
+
+        D item;
+        long count;
+        long error;
+        int index;
+
+        Counter(D item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
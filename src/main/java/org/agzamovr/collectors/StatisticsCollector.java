@@ -0,0 +1,26 @@
+package org.agzamovr.collectors;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+class StatisticsCollector {
+    static final StatisticsCollector STATISTICS_COLLECTOR = new StatisticsCollector();
+
+    <T>
+    Collector<T, ?, MomentStatistics> statisticsDouble(ToDoubleFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        return Collector.of(MomentStatistics::new,
+                (statistics, item) -> statistics.accept(mapper.applyAsDouble(item)),
+                MomentStatistics::combine,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    <T>
+    Collector<T, ?, MomentStatistics> statisticsBigDecimal(Function<? super T, BigDecimal> mapper) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        return statisticsDouble(item -> mapper.apply(item).doubleValue());
+    }
+}
@@ -1,7 +1,6 @@
 package org.agzamovr.collectors;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -29,13 +28,22 @@ class SummingBigDecimalCollector {
                                           List<T> list,
                                           Collector<BigDecimal, A, R> downstream) {
         validateInput(mapper, comparator, downstream);
-        list.sort(comparator);
+        CollectorEx.sortList(list, comparator);
+        return runningSums(mapper, list, downstream);
+    }
+
+    /**
+     * Passes cumulative sums of rows which are already sorted to the downstream collector.
+     */
+    <T, A, R> R runningSums(Function<? super T, BigDecimal> mapper,
+                            List<T> sortedRows,
+                            Collector<BigDecimal, A, R> downstream) {
         BigDecimal sum = BigDecimal.ZERO;
         Supplier<A> downstreamSupplier = downstream.supplier();
         Function<A, R> finisher = downstream.finisher();
         BiConsumer<A, BigDecimal> downstreamAccumulator = downstream.accumulator();
         A container = downstreamSupplier.get();
-        for (T item : list) {
+        for (T item : sortedRows) {
             sum = sum.add(mapper.apply(item));
             downstreamAccumulator.accept(container, sum);
         }
@@ -43,19 +51,19 @@ class SummingBigDecimalCollector {
     }
 
     <T extends Comparable<? super T>>
-    Collector<T, ?, List<BigDecimal>> summingBigDecimal(Function<? super T, BigDecimal> mapper) {
+    Collector<T, List<T>, List<BigDecimal>> summingBigDecimal(Function<? super T, BigDecimal> mapper) {
         return summingBigDecimal(mapper, nullsLast(Comparator.<T>naturalOrder()));
     }
 
     <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> summingBigDecimal(Function<? super T, BigDecimal> mapper,
-                                         Collector<BigDecimal, ?, R> downstream) {
+    Collector<T, List<T>, R> summingBigDecimal(Function<? super T, BigDecimal> mapper,
+                                               Collector<BigDecimal, ?, R> downstream) {
         return summingBigDecimal(mapper, nullsLast(Comparator.<T>naturalOrder()), downstream);
     }
 
     <T>
-    Collector<T, ?, List<BigDecimal>> summingBigDecimal(Function<? super T, BigDecimal> mapper,
-                                                        Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<BigDecimal>> summingBigDecimal(Function<? super T, BigDecimal> mapper,
+                                                              Comparator<? super T> comparator) {
         return summingBigDecimal(mapper, comparator, toList());
     }
 
@@ -63,9 +71,9 @@ class SummingBigDecimalCollector {
     Collector<T, List<T>, R> summingBigDecimal(Function<? super T, BigDecimal> mapper,
                                                Comparator<? super T> comparator,
                                                Collector<BigDecimal, ?, R> downstream) {
-        return Collector.of(ArrayList::new,
+        return Collector.of(() -> new SortedRunList<T>(comparator),
                 List::add,
-                CollectorEx::listCombiner,
+                SortedRunList.combiner(comparator),
                 (list) -> summingBigDecimalFinisher(mapper, comparator, list, downstream));
     }
 }
\ No newline at end of file
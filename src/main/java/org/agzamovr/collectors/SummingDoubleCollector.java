@@ -1,13 +1,17 @@
 package org.agzamovr.collectors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 
 import static java.util.Comparator.nullsLast;
@@ -17,10 +21,15 @@ class SummingDoubleCollector {
     static final SummingDoubleCollector SUMMING_DOUBLE_COLLECTOR = new SummingDoubleCollector();
 
     private void validateInput(ToDoubleFunction<?> mapper,
-                               Comparator<?> comparator,
-                               Collector<?, ?, ?> downstream) {
+                               Comparator<?> comparator) {
         Objects.requireNonNull(mapper, "Mapper cannot be null");
         Objects.requireNonNull(comparator, "Comparator cannot be null");
+    }
+
+    private void validateInput(ToDoubleFunction<?> mapper,
+                               Comparator<?> comparator,
+                               Collector<?, ?, ?> downstream) {
+        validateInput(mapper, comparator);
         Objects.requireNonNull(downstream, "Downstream collector cannot be null");
     }
 
@@ -29,7 +38,7 @@ class SummingDoubleCollector {
                                       List<T> list,
                                       Collector<Double, A, R> downstream) {
         validateInput(mapper, comparator, downstream);
-        list.sort(comparator);
+        CollectorEx.sortList(list, comparator);
         double sum = 0.0;
         double compensation = 0.0;
         Supplier<A> downstreamSupplier = downstream.supplier();
@@ -47,20 +56,70 @@ class SummingDoubleCollector {
         return finisher.apply(container);
     }
 
+    <T> double[] summingDoubleToArrayFinisher(ToDoubleFunction<? super T> mapper,
+                                              Comparator<? super T> comparator,
+                                              List<T> list) {
+        validateInput(mapper, comparator);
+        CollectorEx.sortList(list, comparator);
+        return runningSums(mapper, list);
+    }
+
+    /**
+     * Computes cumulative sums of rows which are already sorted, numbers are summed using Kahan summation algorithm.
+     */
+    <T> double[] runningSums(ToDoubleFunction<? super T> mapper, List<T> sortedRows) {
+        double sum = 0.0;
+        double compensation = 0.0;
+        double[] result = new double[sortedRows.size()];
+        for (int i = 0; i < result.length; i++) {
+            T item = sortedRows.get(i);
+            double val = mapper.applyAsDouble(item);
+            double y = val - compensation;
+            double t = sum + y;
+            compensation = (t - sum) - y;
+            sum = t;
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    <T, R> R summingDoubleFinisher(ToDoubleFunction<? super T> mapper,
+                                   Comparator<? super T> comparator,
+                                   List<T> list,
+                                   Supplier<R> supplier,
+                                   ObjDoubleConsumer<R> accumulator) {
+        validateInput(mapper, comparator);
+        Objects.requireNonNull(supplier, "Supplier cannot be null");
+        Objects.requireNonNull(accumulator, "Accumulator cannot be null");
+        CollectorEx.sortList(list, comparator);
+        double sum = 0.0;
+        double compensation = 0.0;
+        R container = supplier.get();
+        for (T item : list) {
+            double val = mapper.applyAsDouble(item);
+            double y = val - compensation;
+            double t = sum + y;
+            compensation = (t - sum) - y;
+            sum = t;
+            accumulator.accept(container, sum);
+        }
+        return container;
+    }
+
     <T extends Comparable<? super T>>
-    Collector<T, ?, List<Double>> summingDouble(ToDoubleFunction<? super T> mapper) {
+    Collector<T, List<T>, List<Double>> summingDouble(ToDoubleFunction<? super T> mapper) {
         return summingDouble(mapper, nullsLast(Comparator.<T>naturalOrder()));
     }
 
     <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> summingDouble(ToDoubleFunction<? super T> mapper,
-                                     Collector<Double, ?, R> downstream) {
+    Collector<T, List<T>, R> summingDouble(ToDoubleFunction<? super T> mapper,
+                                           Collector<Double, ?, R> downstream) {
         return summingDouble(mapper, nullsLast(Comparator.<T>naturalOrder()), downstream);
     }
 
     <T>
-    Collector<T, ?, List<Double>> summingDouble(ToDoubleFunction<? super T> mapper,
-                                                Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<Double>> summingDouble(ToDoubleFunction<? super T> mapper,
+                                                      Comparator<? super T> comparator) {
         return summingDouble(mapper, comparator, toList());
     }
 
@@ -68,9 +127,62 @@ class SummingDoubleCollector {
     Collector<T, List<T>, R> summingDouble(ToDoubleFunction<? super T> mapper,
                                            Comparator<? super T> comparator,
                                            Collector<Double, ?, R> downstream) {
-        return Collector.of(ArrayList::new,
+        return Collector.of(() -> new SortedRunList<T>(comparator),
                 List::add,
-                CollectorEx::listCombiner,
+                SortedRunList.combiner(comparator),
                 (list) -> summingDoubleFinisher(mapper, comparator, list, downstream));
     }
-}
\ No newline at end of file
+
+    <T extends Comparable<? super T>>
+    Collector<T, List<T>, double[]> summingDoubleToArray(ToDoubleFunction<? super T> mapper) {
+        return summingDoubleToArray(mapper, nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, List<T>, double[]> summingDoubleToArray(ToDoubleFunction<? super T> mapper,
+                                                         Comparator<? super T> comparator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> summingDoubleToArrayFinisher(mapper, comparator, list));
+    }
+
+    <T, R>
+    Collector<T, List<T>, R> summingDouble(ToDoubleFunction<? super T> mapper,
+                                           Comparator<? super T> comparator,
+                                           Supplier<R> supplier,
+                                           ObjDoubleConsumer<R> accumulator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> summingDoubleFinisher(mapper, comparator, list, supplier, accumulator));
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> double[] summingDoubleToArrayByKeyFinisher(ToDoubleFunction<? super T> mapper,
+                                                   KeySortedRows sorted) {
+        return runningSums(mapper, Arrays.asList((T[]) sorted.rows()));
+    }
+
+    <T>
+    Collector<T, List<T>, double[]> summingDoubleToArrayByKey(ToDoubleFunction<? super T> mapper,
+                                                              ToLongFunction<? super T> sortKey) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(sortKey, "Key mapper cannot be null");
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> summingDoubleToArrayByKeyFinisher(mapper, KeySortedRows.byLong(list, sortKey)));
+    }
+
+    <T>
+    Collector<T, List<T>, double[]> summingDoubleToArrayByIntKey(ToDoubleFunction<? super T> mapper,
+                                                                 ToIntFunction<? super T> sortKey) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(sortKey, "Key mapper cannot be null");
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> summingDoubleToArrayByKeyFinisher(mapper, KeySortedRows.byInt(list, sortKey)));
+    }
+}
@@ -1,13 +1,16 @@
 package org.agzamovr.collectors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 
 import static java.util.Comparator.nullsLast;
@@ -17,10 +20,15 @@ class SummingIntCollector {
     static final SummingIntCollector SUMMING_INT_COLLECTOR = new SummingIntCollector();
 
     private void validateInput(ToIntFunction<?> mapper,
-                               Comparator<?> comparator,
-                               Collector<?, ?, ?> downstream) {
+                               Comparator<?> comparator) {
         Objects.requireNonNull(mapper, "Mapper cannot be null");
         Objects.requireNonNull(comparator, "Comparator cannot be null");
+    }
+
+    private void validateInput(ToIntFunction<?> mapper,
+                               Comparator<?> comparator,
+                               Collector<?, ?, ?> downstream) {
+        validateInput(mapper, comparator);
         Objects.requireNonNull(downstream, "Downstream collector cannot be null");
     }
 
@@ -29,7 +37,7 @@ class SummingIntCollector {
                                    List<T> list,
                                    Collector<Integer, A, R> downstream) {
         validateInput(mapper, comparator, downstream);
-        list.sort(comparator);
+        CollectorEx.sortList(list, comparator);
         int sum = 0;
         Supplier<A> downstreamSupplier = downstream.supplier();
         Function<A, R> finisher = downstream.finisher();
@@ -42,20 +50,60 @@ class SummingIntCollector {
         return finisher.apply(container);
     }
 
+    <T> int[] summingIntToArrayFinisher(ToIntFunction<? super T> mapper,
+                                        Comparator<? super T> comparator,
+                                        List<T> list) {
+        validateInput(mapper, comparator);
+        CollectorEx.sortList(list, comparator);
+        return runningSums(mapper, list);
+    }
+
+    /**
+     * Computes cumulative sums of rows which are already sorted.
+     */
+    <T> int[] runningSums(ToIntFunction<? super T> mapper, List<T> sortedRows) {
+        int sum = 0;
+        int[] result = new int[sortedRows.size()];
+        for (int i = 0; i < result.length; i++) {
+            T item = sortedRows.get(i);
+            sum = sum + mapper.applyAsInt(item);
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    <T, R> R summingIntFinisher(ToIntFunction<? super T> mapper,
+                                Comparator<? super T> comparator,
+                                List<T> list,
+                                Supplier<R> supplier,
+                                ObjIntConsumer<R> accumulator) {
+        validateInput(mapper, comparator);
+        Objects.requireNonNull(supplier, "Supplier cannot be null");
+        Objects.requireNonNull(accumulator, "Accumulator cannot be null");
+        CollectorEx.sortList(list, comparator);
+        int sum = 0;
+        R container = supplier.get();
+        for (T item : list) {
+            sum = sum + mapper.applyAsInt(item);
+            accumulator.accept(container, sum);
+        }
+        return container;
+    }
+
     <T extends Comparable<? super T>>
-    Collector<T, ?, List<Integer>> summingInt(ToIntFunction<? super T> mapper) {
+    Collector<T, List<T>, List<Integer>> summingInt(ToIntFunction<? super T> mapper) {
         return summingInt(mapper, nullsLast(Comparator.<T>naturalOrder()));
     }
 
     <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> summingInt(ToIntFunction<? super T> mapper,
-                                  Collector<Integer, ?, R> downstream) {
+    Collector<T, List<T>, R> summingInt(ToIntFunction<? super T> mapper,
+                                        Collector<Integer, ?, R> downstream) {
         return summingInt(mapper, nullsLast(Comparator.<T>naturalOrder()), downstream);
     }
 
     <T>
-    Collector<T, ?, List<Integer>> summingInt(ToIntFunction<? super T> mapper,
-                                              Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<Integer>> summingInt(ToIntFunction<? super T> mapper,
+                                                    Comparator<? super T> comparator) {
         return summingInt(mapper, comparator, toList());
     }
 
@@ -63,9 +111,62 @@ class SummingIntCollector {
     Collector<T, List<T>, R> summingInt(ToIntFunction<? super T> mapper,
                                         Comparator<? super T> comparator,
                                         Collector<Integer, ?, R> downstream) {
-        return Collector.of(ArrayList::new,
+        return Collector.of(() -> new SortedRunList<T>(comparator),
                 List::add,
-                CollectorEx::listCombiner,
+                SortedRunList.combiner(comparator),
                 (list) -> summingIntFinisher(mapper, comparator, list, downstream));
     }
-}
\ No newline at end of file
+
+    <T extends Comparable<? super T>>
+    Collector<T, List<T>, int[]> summingIntToArray(ToIntFunction<? super T> mapper) {
+        return summingIntToArray(mapper, nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, List<T>, int[]> summingIntToArray(ToIntFunction<? super T> mapper,
+                                                   Comparator<? super T> comparator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> summingIntToArrayFinisher(mapper, comparator, list));
+    }
+
+    <T, R>
+    Collector<T, List<T>, R> summingInt(ToIntFunction<? super T> mapper,
+                                        Comparator<? super T> comparator,
+                                        Supplier<R> supplier,
+                                        ObjIntConsumer<R> accumulator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> summingIntFinisher(mapper, comparator, list, supplier, accumulator));
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> int[] summingIntToArrayByKeyFinisher(ToIntFunction<? super T> mapper,
+                                             KeySortedRows sorted) {
+        return runningSums(mapper, Arrays.asList((T[]) sorted.rows()));
+    }
+
+    <T>
+    Collector<T, List<T>, int[]> summingIntToArrayByKey(ToIntFunction<? super T> mapper,
+                                                        ToLongFunction<? super T> sortKey) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(sortKey, "Key mapper cannot be null");
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> summingIntToArrayByKeyFinisher(mapper, KeySortedRows.byLong(list, sortKey)));
+    }
+
+    <T>
+    Collector<T, List<T>, int[]> summingIntToArrayByIntKey(ToIntFunction<? super T> mapper,
+                                                           ToIntFunction<? super T> sortKey) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(sortKey, "Key mapper cannot be null");
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> summingIntToArrayByKeyFinisher(mapper, KeySortedRows.byInt(list, sortKey)));
+    }
+}
@@ -1,12 +1,15 @@
 package org.agzamovr.collectors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 
@@ -17,10 +20,15 @@ class SummingLongCollector {
     static final SummingLongCollector SUMMING_LONG_COLLECTOR = new SummingLongCollector();
 
     private void validateInput(ToLongFunction<?> mapper,
-                               Comparator<?> comparator,
-                               Collector<?, ?, ?> downstream) {
+                               Comparator<?> comparator) {
         Objects.requireNonNull(mapper, "Mapper cannot be null");
         Objects.requireNonNull(comparator, "Comparator cannot be null");
+    }
+
+    private void validateInput(ToLongFunction<?> mapper,
+                               Comparator<?> comparator,
+                               Collector<?, ?, ?> downstream) {
+        validateInput(mapper, comparator);
         Objects.requireNonNull(downstream, "Downstream collector cannot be null");
     }
 
@@ -29,7 +37,7 @@ class SummingLongCollector {
                                     List<T> list,
                                     Collector<Long, A, R> downstream) {
         validateInput(mapper, comparator, downstream);
-        list.sort(comparator);
+        CollectorEx.sortList(list, comparator);
         long sum = 0;
         Supplier<A> downstreamSupplier = downstream.supplier();
         Function<A, R> finisher = downstream.finisher();
@@ -42,20 +50,60 @@ class SummingLongCollector {
         return finisher.apply(container);
     }
 
+    <T> long[] summingLongToArrayFinisher(ToLongFunction<? super T> mapper,
+                                          Comparator<? super T> comparator,
+                                          List<T> list) {
+        validateInput(mapper, comparator);
+        CollectorEx.sortList(list, comparator);
+        return runningSums(mapper, list);
+    }
+
+    /**
+     * Computes cumulative sums of rows which are already sorted.
+     */
+    <T> long[] runningSums(ToLongFunction<? super T> mapper, List<T> sortedRows) {
+        long sum = 0;
+        long[] result = new long[sortedRows.size()];
+        for (int i = 0; i < result.length; i++) {
+            T item = sortedRows.get(i);
+            sum = sum + mapper.applyAsLong(item);
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    <T, R> R summingLongFinisher(ToLongFunction<? super T> mapper,
+                                 Comparator<? super T> comparator,
+                                 List<T> list,
+                                 Supplier<R> supplier,
+                                 ObjLongConsumer<R> accumulator) {
+        validateInput(mapper, comparator);
+        Objects.requireNonNull(supplier, "Supplier cannot be null");
+        Objects.requireNonNull(accumulator, "Accumulator cannot be null");
+        CollectorEx.sortList(list, comparator);
+        long sum = 0;
+        R container = supplier.get();
+        for (T item : list) {
+            sum = sum + mapper.applyAsLong(item);
+            accumulator.accept(container, sum);
+        }
+        return container;
+    }
+
     <T extends Comparable<? super T>>
-    Collector<T, ?, List<Long>> summingLong(ToLongFunction<? super T> mapper) {
+    Collector<T, List<T>, List<Long>> summingLong(ToLongFunction<? super T> mapper) {
         return summingLong(mapper, nullsLast(Comparator.<T>naturalOrder()));
     }
 
     <T extends Comparable<? super T>, R>
-    Collector<T, ?, R> summingLong(ToLongFunction<? super T> mapper,
-                                   Collector<Long, ?, R> downstream) {
+    Collector<T, List<T>, R> summingLong(ToLongFunction<? super T> mapper,
+                                         Collector<Long, ?, R> downstream) {
         return summingLong(mapper, nullsLast(Comparator.<T>naturalOrder()), downstream);
     }
 
     <T>
-    Collector<T, ?, List<Long>> summingLong(ToLongFunction<? super T> mapper,
-                                            Comparator<? super T> comparator) {
+    Collector<T, List<T>, List<Long>> summingLong(ToLongFunction<? super T> mapper,
+                                                  Comparator<? super T> comparator) {
         return summingLong(mapper, comparator, toList());
     }
 
@@ -63,9 +111,62 @@ class SummingLongCollector {
     Collector<T, List<T>, R> summingLong(ToLongFunction<? super T> mapper,
                                          Comparator<? super T> comparator,
                                          Collector<Long, ?, R> downstream) {
-        return Collector.of(ArrayList::new,
+        return Collector.of(() -> new SortedRunList<T>(comparator),
                 List::add,
-                CollectorEx::listCombiner,
+                SortedRunList.combiner(comparator),
                 (list) -> summingLongFinisher(mapper, comparator, list, downstream));
     }
-}
\ No newline at end of file
+
+    <T extends Comparable<? super T>>
+    Collector<T, List<T>, long[]> summingLongToArray(ToLongFunction<? super T> mapper) {
+        return summingLongToArray(mapper, nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, List<T>, long[]> summingLongToArray(ToLongFunction<? super T> mapper,
+                                                     Comparator<? super T> comparator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> summingLongToArrayFinisher(mapper, comparator, list));
+    }
+
+    <T, R>
+    Collector<T, List<T>, R> summingLong(ToLongFunction<? super T> mapper,
+                                         Comparator<? super T> comparator,
+                                         Supplier<R> supplier,
+                                         ObjLongConsumer<R> accumulator) {
+        return Collector.of(() -> new SortedRunList<T>(comparator),
+                List::add,
+                SortedRunList.combiner(comparator),
+                (list) -> summingLongFinisher(mapper, comparator, list, supplier, accumulator));
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> long[] summingLongToArrayByKeyFinisher(ToLongFunction<? super T> mapper,
+                                               KeySortedRows sorted) {
+        return runningSums(mapper, Arrays.asList((T[]) sorted.rows()));
+    }
+
+    <T>
+    Collector<T, List<T>, long[]> summingLongToArrayByKey(ToLongFunction<? super T> mapper,
+                                                          ToLongFunction<? super T> sortKey) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(sortKey, "Key mapper cannot be null");
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> summingLongToArrayByKeyFinisher(mapper, KeySortedRows.byLong(list, sortKey)));
+    }
+
+    <T>
+    Collector<T, List<T>, long[]> summingLongToArrayByIntKey(ToLongFunction<? super T> mapper,
+                                                             ToIntFunction<? super T> sortKey) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        Objects.requireNonNull(sortKey, "Key mapper cannot be null");
+        return Collector.of((Supplier<List<T>>) ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> summingLongToArrayByKeyFinisher(mapper, KeySortedRows.byInt(list, sortKey)));
+    }
+}
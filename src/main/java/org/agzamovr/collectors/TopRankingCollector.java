@@ -0,0 +1,131 @@
+package org.agzamovr.collectors;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import static java.util.Comparator.nullsLast;
+import static java.util.stream.Collectors.toList;
+
+class TopRankingCollector {
+    static final TopRankingCollector TOP_RANKING_COLLECTOR = new TopRankingCollector();
+
+    /**
+     * Keeps only the elements which rank does not exceed the limit. Equal elements are grouped
+     * under the first seen element, so ties at the last rank are never dropped.
+     */
+    static class TopRanks<T> {
+        private final TreeMap<T, List<T>> groups;
+        private final int limit;
+        private final boolean denseRank;
+        private int size;
+
+        TopRanks(int limit, Comparator<? super T> comparator, boolean denseRank) {
+            this.groups = new TreeMap<>(comparator);
+            this.limit = limit;
+            this.denseRank = denseRank;
+        }
+
+        void add(T item) {
+            if (isRejected(item))
+                return;
+            groups.computeIfAbsent(item, k -> new ArrayList<>()).add(item);
+            size++;
+            trim();
+        }
+
+        void addGroup(T key, List<T> items) {
+            if (isRejected(key))
+                return;
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).addAll(items);
+            size += items.size();
+            trim();
+        }
+
+        TopRanks<T> merge(TopRanks<T> other) {
+            other.groups.forEach(this::addGroup);
+            return this;
+        }
+
+        Collection<List<T>> groups() {
+            return groups.values();
+        }
+
+        private boolean isRejected(T item) {
+            boolean full = denseRank ? groups.size() >= limit : size >= limit;
+            return full && groups.comparator().compare(item, groups.lastKey()) > 0;
+        }
+
+        private void trim() {
+            if (denseRank) {
+                while (groups.size() > limit)
+                    size -= groups.pollLastEntry().getValue().size();
+            } else {
+                while (size - groups.lastEntry().getValue().size() >= limit)
+                    size -= groups.pollLastEntry().getValue().size();
+            }
+        }
+    }
+
+    private void validateInput(int limit,
+                               Comparator<?> comparator,
+                               Collector<?, ?, ?> downstream) {
+        if (limit <= 0)
+            throw new IllegalArgumentException("Number of ranks must be positive: " + limit);
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+    }
+
+    <T, A, R>
+    SortedMap<Integer, R> topRanksFinisher(TopRanks<T> topRanks,
+                                           boolean denseRank,
+                                           Collector<? super T, A, R> downstream) {
+        SortedMap<Integer, R> map = new TreeMap<>();
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        Function<A, R> downstreamFinisher = downstream.finisher();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        int rank = 0;
+        int count = 0;
+        for (List<T> items : topRanks.groups()) {
+            rank = denseRank ? rank + 1 : count + 1;
+            A container = downstreamSupplier.get();
+            for (T item : items)
+                downstreamAccumulator.accept(container, item);
+            map.put(rank, downstreamFinisher.apply(container));
+            count += items.size();
+        }
+        return map;
+    }
+
+    <T extends Comparable<? super T>>
+    Collector<T, ?, SortedMap<Integer, List<T>>> topRanks(int limit) {
+        return topRanks(limit, nullsLast(Comparator.<T>naturalOrder()));
+    }
+
+    <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> topRanks(int limit,
+                                                          Comparator<? super T> comparator) {
+        return topRanks(limit, comparator, false);
+    }
+
+    <T>
+    Collector<T, ?, SortedMap<Integer, List<T>>> topRanks(int limit,
+                                                          Comparator<? super T> comparator,
+                                                          boolean denseRank) {
+        return topRanks(limit, comparator, denseRank, toList());
+    }
+
+    <T, R>
+    Collector<T, TopRanks<T>, SortedMap<Integer, R>> topRanks(int limit,
+                                                              Comparator<? super T> comparator,
+                                                              boolean denseRank,
+                                                              Collector<? super T, ?, R> downstream) {
+        validateInput(limit, comparator, downstream);
+        return Collector.of(() -> new TopRanks<>(limit, comparator, denseRank),
+                TopRanks::add,
+                TopRanks::merge,
+                (topRanks) -> topRanksFinisher(topRanks, denseRank, downstream));
+    }
+}
@@ -0,0 +1,113 @@
+package org.agzamovr.collectors;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import static org.agzamovr.collectors.WindowCollector.WINDOW_COLLECTOR;
+
+/**
+ * Specification of a window, i.e. {@code PARTITION BY} and {@code ORDER BY} clauses of SQL window functions.
+ * The window is immutable, {@link #partitionBy(Function)} and {@link #orderBy(Comparator)} return a new window.
+ * Stream is buffered once, rows are grouped by partitions with a counting sort, every partition is sorted by
+ * the window order and passed to the window function. Partitions of large streams are sorted and computed
+ * in parallel. Without {@code partitionBy} all rows belong to the single partition with the {@code null} key,
+ * without {@code orderBy} rows are kept in encounter order and all of them are peers.
+ * Example:
+ * <pre>{@code
+ *     Map<String, SortedMap<Integer, List<Bid>>> ranks = bids.stream()
+ *          .collect(CollectorEx.window()
+ *                  .partitionBy(Bid::getSupplierId)
+ *                  .orderBy(Comparator.comparing(Bid::getPrice))
+ *                  .apply(WindowFunction.rank()));
+ * }</pre>
+ *
+ * @param <T> the type of stream objects
+ * @param <K> the type of partition keys
+ * @see CollectorEx#window()
+ * @see WindowFunction
+ */
+public final class Window<T, K> {
+    private static final Comparator<Object> NO_ORDER = (left, right) -> 0;
+
+    private final Function<? super T, ? extends K> partitionKey;
+    private final Comparator<? super T> comparator;
+
+    private Window(Function<? super T, ? extends K> partitionKey, Comparator<? super T> comparator) {
+        this.partitionKey = partitionKey;
+        this.comparator = comparator;
+    }
+
+    static Window<Object, Object> unpartitioned() {
+        return new Window<>(item -> null, NO_ORDER);
+    }
+
+    /**
+     * Returns the window which groups rows by given partition key.
+     *
+     * @param partitionKey the function computing the partition of a row
+     * @param <U>          the type of stream objects
+     * @param <P>          the type of partition keys
+     * @return the partitioned window
+     */
+    public <U extends T, P> Window<U, P> partitionBy(Function<? super U, ? extends P> partitionKey) {
+        Objects.requireNonNull(partitionKey, "Partition key cannot be null");
+        return new Window<>(partitionKey, comparator);
+    }
+
+    /**
+     * Returns the window which sorts rows of each partition by given comparator.
+     *
+     * @param comparator the comparator for custom ordering
+     * @param <U>        the type of stream objects
+     * @return the ordered window
+     */
+    public <U extends T> Window<U, K> orderBy(Comparator<? super U> comparator) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        return new Window<>(this.partitionKey, comparator);
+    }
+
+    /**
+     * Returns collector which computes given window function for each partition.
+     *
+     * @param function the window function
+     * @param <U>      the type of stream objects
+     * @param <R>      the result type of the window function
+     * @return {@link Map} containing partition keys in encounter order as keys and results of the function as values
+     */
+    public <U extends T, R> Collector<U, ?, Map<K, R>> apply(WindowFunction<U, R> function) {
+        return WINDOW_COLLECTOR.window(partitionKey, comparator, function);
+    }
+
+    /**
+     * Returns collector which computes all given window functions for each partition. The stream is buffered and
+     * sorted once, every function is applied to the same sorted rows, so the cost of buffering and sorting does not
+     * grow with the number of functions. Results of the functions are looked up by the function instances:
+     * <pre>{@code
+     *     WindowFunction<Bid, SortedMap<Integer, List<Bid>>> rank = WindowFunction.rank();
+     *     WindowFunction<Bid, List<BigDecimal>> runningTotal = WindowFunction.summingBigDecimal(Bid::getPrice);
+     *     Map<String, WindowResults> results = bids.stream()
+     *          .collect(CollectorEx.window()
+     *                  .partitionBy(Bid::getSupplierId)
+     *                  .orderBy(Comparator.comparing(Bid::getPrice))
+     *                  .compute(rank, runningTotal));
+     *     List<BigDecimal> totals = results.get("supplier").get(runningTotal);
+     * }</pre>
+     *
+     * @param functions the window functions
+     * @param <U>       the type of stream objects
+     * @return {@link Map} containing partition keys in encounter order as keys and results of the functions as values
+     */
+    @SafeVarargs
+    public final <U extends T> Collector<U, ?, Map<K, WindowResults>> compute(WindowFunction<U, ?>... functions) {
+        Objects.requireNonNull(functions, "Window functions cannot be null");
+        List<WindowFunction<U, ?>> list = new ArrayList<>(functions.length);
+        for (WindowFunction<U, ?> function : functions)
+            list.add(function);
+        return WINDOW_COLLECTOR.compute(partitionKey, comparator, list);
+    }
+}
@@ -0,0 +1,187 @@
+package org.agzamovr.collectors;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+class WindowCollector {
+    static final WindowCollector WINDOW_COLLECTOR = new WindowCollector();
+
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Rows of the stream grouped by partitions, rows of each partition are stored in a contiguous range of the array
+     * and sorted by the window order.
+     */
+    static class Partitions<T, K> {
+        final List<K> keys;
+        final T[] rows;
+        final int[] offsets;
+
+        Partitions(List<K> keys, T[] rows, int[] offsets) {
+            this.keys = keys;
+            this.rows = rows;
+            this.offsets = offsets;
+        }
+
+        int size() {
+            return keys.size();
+        }
+
+        List<T> rows(int partition) {
+            return Arrays.asList(rows).subList(offsets[partition], offsets[partition + 1]);
+        }
+    }
+
+    /**
+     * Places rows of each partition into a contiguous range with a stable counting sort by partition index, then
+     * sorts every range by the comparator. Large inputs sort partitions in parallel and large partitions are sorted
+     * with {@link Arrays#parallelSort(Object[], int, int, Comparator)}.
+     */
+    @SuppressWarnings("unchecked")
+    <T, K> Partitions<T, K> partition(List<T> list,
+                                      Function<? super T, ? extends K> partitionKey,
+                                      Comparator<? super T> comparator) {
+        int size = list.size();
+        Map<K, Integer> indexes = new HashMap<>();
+        List<K> keys = new ArrayList<>();
+        int[] partitionOf = new int[size];
+        int[] counts = new int[1];
+        for (int i = 0; i < size; i++) {
+            K key = partitionKey.apply(list.get(i));
+            Integer index = indexes.get(key);
+            if (index == null) {
+                index = keys.size();
+                indexes.put(key, index);
+                keys.add(key);
+                if (index == counts.length)
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+            }
+            partitionOf[i] = index;
+            counts[index]++;
+        }
+        int[] offsets = new int[keys.size() + 1];
+        for (int p = 0; p < keys.size(); p++)
+            offsets[p + 1] = offsets[p] + counts[p];
+        int[] next = Arrays.copyOf(offsets, keys.size());
+        T[] rows = (T[]) new Object[size];
+        for (int i = 0; i < size; i++)
+            rows[next[partitionOf[i]]++] = list.get(i);
+        Partitions<T, K> partitions = new Partitions<>(keys, rows, offsets);
+        forEachPartition(partitions, p -> {
+            int from = offsets[p];
+            int to = offsets[p + 1];
+            if (to - from >= PARALLEL_THRESHOLD)
+                Arrays.parallelSort(rows, from, to, comparator);
+            else
+                Arrays.sort(rows, from, to, comparator);
+        });
+        return partitions;
+    }
+
+    /**
+     * Runs the action for every partition index, in parallel when the total number of rows is large enough.
+     */
+    void forEachPartition(Partitions<?, ?> partitions, IntConsumer action) {
+        IntStream indexes = IntStream.range(0, partitions.size());
+        if (partitions.rows.length >= PARALLEL_THRESHOLD && partitions.size() > 1)
+            indexes = indexes.parallel();
+        indexes.forEach(action);
+    }
+
+    <T, K, R>
+    Map<K, R> windowFinisher(List<T> list,
+                             Function<? super T, ? extends K> partitionKey,
+                             Comparator<? super T> comparator,
+                             WindowFunction<T, R> function) {
+        Partitions<T, K> partitions = partition(list, partitionKey, comparator);
+        Object[] results = new Object[partitions.size()];
+        forEachPartition(partitions, p -> results[p] = function.apply(partitions.rows(p), comparator));
+        return toMap(partitions, results);
+    }
+
+    /**
+     * Computes all functions over the same sorted partitions, so the stream is buffered and sorted only once
+     * regardless of the number of functions.
+     */
+    <T, K>
+    Map<K, WindowResults> computeFinisher(List<T> list,
+                                          Function<? super T, ? extends K> partitionKey,
+                                          Comparator<? super T> comparator,
+                                          List<WindowFunction<T, ?>> functions) {
+        Partitions<T, K> partitions = partition(list, partitionKey, comparator);
+        Object[] results = new Object[partitions.size()];
+        forEachPartition(partitions, p -> results[p] = applyAll(partitions.rows(p), comparator, functions));
+        return toMap(partitions, results);
+    }
+
+    <T>
+    WindowResults windowFunctionsFinisher(List<T> list,
+                                          Comparator<? super T> comparator,
+                                          List<WindowFunction<T, ?>> functions) {
+        CollectorEx.sortList(list, comparator);
+        return applyAll(list, comparator, functions);
+    }
+
+    /**
+     * Applies functions to the same sorted rows, large partitions are computed by all functions in parallel.
+     */
+    private <T> WindowResults applyAll(List<T> rows,
+                                       Comparator<? super T> comparator,
+                                       List<WindowFunction<T, ?>> functions) {
+        Object[] results = new Object[functions.size()];
+        IntStream indexes = IntStream.range(0, functions.size());
+        if (rows.size() >= PARALLEL_THRESHOLD && functions.size() > 1)
+            indexes = indexes.parallel();
+        indexes.forEach(i -> results[i] = functions.get(i).apply(rows, comparator));
+        return new WindowResults(functions, results);
+    }
+
+    private void validateFunctions(List<? extends WindowFunction<?, ?>> functions) {
+        for (WindowFunction<?, ?> function : functions)
+            Objects.requireNonNull(function, "Window function cannot be null");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, R> Map<K, R> toMap(Partitions<?, K> partitions, Object[] results) {
+        Map<K, R> map = new LinkedHashMap<>();
+        for (int p = 0; p < partitions.size(); p++)
+            map.put(partitions.keys.get(p), (R) results[p]);
+        return map;
+    }
+
+    <T, K, R>
+    Collector<T, List<T>, Map<K, R>> window(Function<? super T, ? extends K> partitionKey,
+                                           Comparator<? super T> comparator,
+                                           WindowFunction<T, R> function) {
+        Objects.requireNonNull(function, "Window function cannot be null");
+        return Collector.of(ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> windowFinisher(list, partitionKey, comparator, function));
+    }
+
+    <T, K>
+    Collector<T, List<T>, Map<K, WindowResults>> compute(Function<? super T, ? extends K> partitionKey,
+                                                        Comparator<? super T> comparator,
+                                                        List<WindowFunction<T, ?>> functions) {
+        validateFunctions(functions);
+        return Collector.of(ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> computeFinisher(list, partitionKey, comparator, functions));
+    }
+
+    <T>
+    Collector<T, List<T>, WindowResults> windowFunctions(Comparator<? super T> comparator,
+                                                         List<WindowFunction<T, ?>> functions) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null");
+        validateFunctions(functions);
+        return Collector.of(ArrayList::new,
+                List::add,
+                CollectorEx::listCombiner,
+                (list) -> windowFunctionsFinisher(list, comparator, functions));
+    }
+}
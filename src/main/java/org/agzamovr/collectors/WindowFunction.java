@@ -0,0 +1,190 @@
+package org.agzamovr.collectors;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.agzamovr.collectors.SummingBigDecimalCollector.SUMMING_BIG_DECIMAL_COLLECTOR;
+import static org.agzamovr.collectors.SummingDoubleCollector.SUMMING_DOUBLE_COLLECTOR;
+import static org.agzamovr.collectors.SummingIntCollector.SUMMING_INT_COLLECTOR;
+import static org.agzamovr.collectors.SummingLongCollector.SUMMING_LONG_COLLECTOR;
+
+/**
+ * Function computed over the rows of a partition sorted by the window order.
+ *
+ * @param <T> the type of rows
+ * @param <R> the result type of the function
+ * @see Window
+ */
+@FunctionalInterface
+public interface WindowFunction<T, R> {
+
+    /**
+     * Computes the result of the function for one partition.
+     *
+     * @param rows       the rows of the partition sorted by the window order
+     * @param comparator the comparator of the window order, equal rows are peers
+     * @return the result of the function
+     */
+    R apply(List<T> rows, Comparator<? super T> comparator);
+
+    /**
+     * Returns the function which ranks rows of the partition.
+     *
+     * @param <T> the type of rows
+     * @return the function returning {@link SortedMap} with ranks as keys and collection of ranked rows as values
+     * @see CollectorEx#rank()
+     */
+    static <T> WindowFunction<T, SortedMap<Integer, List<T>>> rank() {
+        return rank(false, toList());
+    }
+
+    /**
+     * Returns the function which dense ranks rows of the partition.
+     *
+     * @param <T> the type of rows
+     * @return the function returning {@link SortedMap} with dense ranks as keys and collection of ranked rows as values
+     * @see CollectorEx#denseRank()
+     */
+    static <T> WindowFunction<T, SortedMap<Integer, List<T>>> denseRank() {
+        return rank(true, toList());
+    }
+
+    /**
+     * Returns the function which ranks or dense ranks rows of the partition and collects the same ranked rows using
+     * given downstream collector.
+     *
+     * @param denseRank  the dense rank flag
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of rows
+     * @param <R>        the result type of the downstream collector
+     * @return the function returning {@link SortedMap} with ranks as keys and result of the downstream collector
+     * as values
+     */
+    static <T, R> WindowFunction<T, SortedMap<Integer, R>> rank(boolean denseRank,
+                                                                 Collector<? super T, ?, R> downstream) {
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        return (rows, comparator) -> RankingCollector.rankSorted(rows.toArray(), comparator,
+                RankingCollector.ASCENDING_RANKS, denseRank, downstream);
+    }
+
+    /**
+     * Returns the function which divides rows of the partition into a number of buckets.
+     *
+     * @param tiles number of tiles
+     * @param <T>   the type of rows
+     * @return the function returning {@link List} of tiles with collection of rows as values
+     * @see CollectorEx#ntile(int)
+     */
+    static <T> WindowFunction<T, List<List<T>>> ntile(int tiles) {
+        return ntile(tiles, toList());
+    }
+
+    /**
+     * Returns the function which divides rows of the partition into a number of buckets and collects rows of each
+     * bucket using given downstream collector.
+     *
+     * @param tiles      number of tiles
+     * @param downstream the reduction operation (e.g. the downstream collector)
+     * @param <T>        the type of rows
+     * @param <R>        the result type of the downstream collector
+     * @return the function returning {@link List} of tiles with result of the downstream collector as values
+     */
+    static <T, R> WindowFunction<T, List<R>> ntile(int tiles,
+                                                    Collector<? super T, ?, R> downstream) {
+        if (tiles <= 0)
+            throw new IllegalArgumentException("Number of tiles must be positive: " + tiles);
+        Objects.requireNonNull(downstream, "Downstream collector cannot be null");
+        return (rows, comparator) -> {
+            NTileCollector.TileAssigner<T, ?, R> assigner = new NTileCollector.TileAssigner<>(rows.size(), tiles,
+                    downstream);
+            rows.forEach(assigner);
+            return assigner.finish();
+        };
+    }
+
+    /**
+     * Returns the function which computes the cumulative sum of ints for each row of the partition.
+     *
+     * @param mapper the mapper
+     * @param <T>    the type of rows
+     * @return the function returning the array of cumulative sums
+     * @see CollectorEx#summingIntToArray(ToIntFunction)
+     */
+    static <T> WindowFunction<T, int[]> summingInt(ToIntFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        return (rows, comparator) -> SUMMING_INT_COLLECTOR.runningSums(mapper, rows);
+    }
+
+    /**
+     * Returns the function which computes the cumulative sum of longs for each row of the partition.
+     *
+     * @param mapper the mapper
+     * @param <T>    the type of rows
+     * @return the function returning the array of cumulative sums
+     * @see CollectorEx#summingLongToArray(ToLongFunction)
+     */
+    static <T> WindowFunction<T, long[]> summingLong(ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        return (rows, comparator) -> SUMMING_LONG_COLLECTOR.runningSums(mapper, rows);
+    }
+
+    /**
+     * Returns the function which computes the cumulative sum of doubles for each row of the partition.
+     * Numbers are summed using Kahan summation algorithm.
+     *
+     * @param mapper the mapper
+     * @param <T>    the type of rows
+     * @return the function returning the array of cumulative sums
+     * @see CollectorEx#summingDoubleToArray(ToDoubleFunction)
+     */
+    static <T> WindowFunction<T, double[]> summingDouble(ToDoubleFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        return (rows, comparator) -> SUMMING_DOUBLE_COLLECTOR.runningSums(mapper, rows);
+    }
+
+    /**
+     * Returns the function which computes the cumulative sum of BigDecimals for each row of the partition.
+     *
+     * @param mapper the mapper
+     * @param <T>    the type of rows
+     * @return the function returning the list of cumulative sums
+     * @see CollectorEx#summingBigDecimal(Function)
+     */
+    static <T> WindowFunction<T, List<BigDecimal>> summingBigDecimal(Function<? super T, BigDecimal> mapper) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        return (rows, comparator) -> SUMMING_BIG_DECIMAL_COLLECTOR.runningSums(mapper, rows, toList());
+    }
+
+    /**
+     * Returns the function which finds values appearing most often in the partition.
+     *
+     * @param mapper the mapper
+     * @param <T>    the type of rows
+     * @param <D>    the type of mapped values
+     * @return the function returning the {@link Set} of most frequent values
+     * @see CollectorEx#mode(Function)
+     */
+    static <T, D> WindowFunction<T, Set<D>> mode(Function<? super T, D> mapper) {
+        return collecting(CollectorEx.mode(mapper, toSet()));
+    }
+
+    /**
+     * Returns the function which passes rows of the partition in the window order to given collector.
+     *
+     * @param collector the collector
+     * @param <T>       the type of rows
+     * @param <R>       the result type of the collector
+     * @return the function returning the result of the collector
+     */
+    static <T, R> WindowFunction<T, R> collecting(Collector<? super T, ?, R> collector) {
+        Objects.requireNonNull(collector, "Collector cannot be null");
+        return (rows, comparator) -> rows.stream().collect(collector);
+    }
+}
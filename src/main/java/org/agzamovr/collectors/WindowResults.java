@@ -0,0 +1,62 @@
+package org.agzamovr.collectors;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Results of several window functions computed over the same partition. Results are looked up by the function
+ * instance passed to the window, so keep references to the functions:
+ * <pre>{@code
+ *     WindowFunction<Integer, SortedMap<Integer, List<Integer>>> rank = WindowFunction.rank();
+ *     WindowFunction<Integer, int[]> runningTotal = WindowFunction.summingInt(i -> i);
+ *     WindowResults results = list.stream().collect(CollectorEx.windowFunctions(Integer::compare, rank, runningTotal));
+ *     SortedMap<Integer, List<Integer>> ranks = results.get(rank);
+ * }</pre>
+ *
+ * @see Window#compute(WindowFunction[])
+ * @see CollectorEx#windowFunctions(java.util.Comparator, WindowFunction[])
+ */
+public final class WindowResults {
+    private final List<? extends WindowFunction<?, ?>> functions;
+    private final Object[] results;
+
+    WindowResults(List<? extends WindowFunction<?, ?>> functions, Object[] results) {
+        this.functions = functions;
+        this.results = results;
+    }
+
+    /**
+     * Returns the result of given function.
+     *
+     * @param function the function instance passed to the window
+     * @param <R>      the result type of the function
+     * @return the result of the function
+     * @throws IllegalArgumentException if the function was not computed
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R get(WindowFunction<?, R> function) {
+        for (int i = 0; i < functions.size(); i++)
+            if (functions.get(i) == function)
+                return (R) results[i];
+        throw new IllegalArgumentException("Window function was not computed: " + function);
+    }
+
+    /**
+     * Returns the result of the function at given position of the arguments of {@link Window#compute(WindowFunction[])}.
+     *
+     * @param index the position of the function
+     * @return the result of the function
+     */
+    public Object get(int index) {
+        return results[index];
+    }
+
+    public int size() {
+        return results.length;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(results);
+    }
+}
@@ -0,0 +1,103 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccumulationTest {
+
+    @Test
+    public void testAccumulationWithEmptyState() {
+        Accumulation<Integer, ModeCounts<Integer>, Set<Integer>> accumulation
+                = CollectorEx.accumulation(CollectorEx.mode());
+
+        assertThat(accumulation.result()).isEmpty();
+    }
+
+    @Test
+    public void testRankAccumulationContinuesAfterResult() {
+        Accumulation<Integer, List<Integer>, SortedMap<Integer, List<Integer>>> accumulation
+                = CollectorEx.accumulation(CollectorEx.<Integer>rank());
+
+        SortedMap<Integer, List<Integer>> first = accumulation.addAll(asList(3, 1, 2)).result();
+        SortedMap<Integer, List<Integer>> second = accumulation.addAll(Stream.of(1, 4)).result();
+
+        Entry<Integer, List<Integer>> entry1 = new SimpleEntry<>(1, asList(1, 1));
+        Entry<Integer, List<Integer>> entry2 = new SimpleEntry<>(3, singletonList(2));
+        Entry<Integer, List<Integer>> entry3 = new SimpleEntry<>(4, singletonList(3));
+        Entry<Integer, List<Integer>> entry4 = new SimpleEntry<>(5, singletonList(4));
+        assertThat(first).containsOnlyKeys(1, 2, 3);
+        assertThat(second).containsExactly(entry1, entry2, entry3, entry4);
+    }
+
+    @Test
+    public void testMultiValueMapResultIsNotChangedByFurtherElements() {
+        Accumulation<Integer, Map<Integer, List<Integer>>, Map<Integer, List<Integer>>> accumulation
+                = CollectorEx.accumulation(CollectorEx.toMultiValueMap(i -> i % 2, Function.identity()));
+
+        Map<Integer, List<Integer>> first = accumulation.addAll(asList(1, 2, 3)).result();
+        Map<Integer, List<Integer>> second = accumulation.add(5).result();
+
+        assertThat(first).containsEntry(1, asList(1, 3));
+        assertThat(second).containsEntry(1, asList(1, 3, 5));
+    }
+
+    @Test
+    public void testMergedMultiValueMapAccumulationIsNotChanged() {
+        Collector<Integer, Map<Integer, List<Integer>>, Map<Integer, List<Integer>>> multiValueMap
+                = CollectorEx.toMultiValueMap(i -> i % 2, Function.identity());
+        Accumulation<Integer, Map<Integer, List<Integer>>, Map<Integer, List<Integer>>> left
+                = CollectorEx.accumulation(multiValueMap).add(2);
+        Accumulation<Integer, Map<Integer, List<Integer>>, Map<Integer, List<Integer>>> right
+                = CollectorEx.accumulation(multiValueMap).addAll(asList(1, 3));
+
+        left.merge(right).add(5);
+        right.add(7);
+
+        assertThat(left.result()).containsEntry(1, asList(1, 3, 5));
+        assertThat(right.result()).containsEntry(1, asList(1, 3, 7));
+    }
+
+    @Test
+    public void testMergeAccumulationsOfBatches() {
+        Collector<Integer, ModeCounts<Integer>, Set<Integer>> mode = CollectorEx.mode();
+        Accumulation<Integer, ModeCounts<Integer>, Set<Integer>> hour1
+                = CollectorEx.accumulation(mode).addAll(asList(1, 2, 2));
+        Accumulation<Integer, ModeCounts<Integer>, Set<Integer>> hour2
+                = CollectorEx.accumulation(mode).addAll(asList(1, 1, 3));
+
+        Set<Integer> result = hour1.merge(hour2).result();
+
+        assertThat(result).containsExactly(1);
+        assertThat(hour2.result()).containsExactly(1);
+    }
+
+    @Test
+    public void testPresortedRankAccumulation() {
+        Accumulation<Integer, ?, SortedMap<Integer, List<Integer>>> accumulation
+                = CollectorEx.accumulation(CollectorEx.<Integer>presortedRank());
+
+        SortedMap<Integer, List<Integer>> first = accumulation.addAll(asList(1, 2, 2)).result();
+        accumulation.add(2);
+
+        assertThat(first).containsEntry(2, asList(2, 2));
+        assertThat(accumulation.result()).containsEntry(2, asList(2, 2, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeAccumulationsOfDifferentCollectors() {
+        Accumulation<Integer, ModeCounts<Integer>, Set<Integer>> left = CollectorEx.accumulation(CollectorEx.mode());
+        Accumulation<Integer, ModeCounts<Integer>, Set<Integer>> right = CollectorEx.accumulation(CollectorEx.mode());
+
+        left.merge(right);
+    }
+}
@@ -13,6 +13,22 @@ import org.junit.runners.Suite.SuiteClasses;
         NTileCollectorTest.class,
         ModeCollectorTest.class,
         RankDistinctCollectorTest.class,
-        MultiValueMapCollectorTest.class})
+        MultiValueMapCollectorTest.class,
+        TopRankingCollectorTest.class,
+        ApproximateNTileCollectorTest.class,
+        ParallelSummingCollectorTest.class,
+        PresortedRankingCollectorTest.class,
+        PrimitiveModeCollectorTest.class,
+        ApproximateModeCollectorTest.class,
+        ApproximateDistinctCollectorTest.class,
+        AccumulationTest.class,
+        BinaryCodecsTest.class,
+        ExternalSorterTest.class,
+        FrameCollectorTest.class,
+        WindowCollectorTest.class,
+        SortedRunListTest.class,
+        KeySortedRowsTest.class,
+        PercentileCollectorTest.class,
+        StatisticsCollectorTest.class})
 public class AllTestSuite {
 }
@@ -0,0 +1,81 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApproximateDistinctCollectorTest {
+
+    @Test
+    public void testApproximateDistinctWithEmptyList() {
+        List<Integer> list = emptyList();
+
+        List<Integer> result = list.stream().collect(CollectorEx.approximateDistinct(Function.identity(), 100, 0.01));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testApproximateDistinctKeepsFirstOccurrence() {
+        List<Integer> list = asList(-1, 2, 2, 1, 1, null, null);
+
+        List<Integer> result = list.stream()
+                .collect(CollectorEx.approximateDistinct(item -> item == null ? 0 : Math.abs(item), 1000, 0.01));
+
+        assertThat(result).containsExactly(-1, 2, null);
+    }
+
+    @Test
+    public void testApproximateDistinctNeverKeepsDuplicates() {
+        List<Integer> list = IntStream.range(0, 100_000).map(i -> i % 20_000).boxed().collect(toList());
+
+        List<Integer> result = list.stream().collect(CollectorEx.approximateDistinct(Function.identity(), 20_000, 0.01));
+
+        assertThat(result).doesNotHaveDuplicates();
+        assertThat(result.size()).isBetween(19_500, 20_000);
+    }
+
+    @Test
+    public void testApproximateDistinctWithDownstreamInParallelStream() {
+        List<Integer> list = IntStream.range(0, 100_000).boxed().collect(toList());
+
+        Long result = list.parallelStream()
+                .collect(CollectorEx.approximateDistinct(Function.identity(), 100_000, 0.01, Collectors.counting()));
+
+        assertThat(result).isBetween(97_500L, 100_000L);
+    }
+
+    @Test
+    public void testApproximateDistinctByHashKeepsKeysWithEqualHashCodes() {
+        List<String> list = asList("Aa", "BB", "Aa");
+        ToLongFunction<String> fnv = key -> key.chars().asLongStream()
+                .reduce(0xCBF29CE484222325L, (hash, c) -> (hash ^ c) * 0x100000001B3L);
+
+        List<String> byHashCode = list.stream()
+                .collect(CollectorEx.approximateDistinct(Function.identity(), 1000, 0.01));
+        List<String> byHash = list.stream()
+                .collect(CollectorEx.approximateDistinctByHash(Function.identity(), fnv, 1000, 0.01));
+
+        assertThat(byHashCode).containsExactly("Aa");
+        assertThat(byHash).containsExactly("Aa", "BB");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApproximateDistinctWithTooLargeFilter() {
+        CollectorEx.approximateDistinct(Function.identity(), Long.MAX_VALUE / 2, 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApproximateDistinctWithInvalidProbability() {
+        CollectorEx.approximateDistinct(Function.identity(), 100, 1.0);
+    }
+}
@@ -0,0 +1,72 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApproximateModeCollectorTest {
+
+    @Test
+    public void testApproximateModeWithEmptyList() {
+        List<String> list = emptyList();
+
+        List<HeavyHitter<String>> result = list.stream().collect(CollectorEx.approximateMode(3, Function.identity()));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testApproximateModeIsExactWithinCapacity() {
+        List<String> list = asList("a", "b", "a", "c", "a", "b");
+
+        List<HeavyHitter<String>> result = list.stream().collect(CollectorEx.approximateMode(2, Function.identity()));
+
+        assertThat(result).containsExactly(new HeavyHitter<>("a", 3, 0), new HeavyHitter<>("b", 2, 0));
+    }
+
+    @Test
+    public void testApproximateModeWithNulls() {
+        List<String> list = asList(null, "b", null);
+
+        List<HeavyHitter<String>> result = list.stream().collect(CollectorEx.approximateMode(1, Function.identity()));
+
+        assertThat(result).containsExactly(new HeavyHitter<>(null, 2, 0));
+    }
+
+    @Test
+    public void testApproximateModeErrorBoundsInParallelStream() {
+        Random random = new Random(1);
+        List<Integer> list = IntStream.range(0, 200_000)
+                .map(i -> i % 4 == 0 ? i % 20 : random.nextInt(1_000_000))
+                .boxed()
+                .collect(toList());
+        Map<Integer, Long> frequencies = list.stream().collect(groupingBy(Function.identity(), counting()));
+        int capacity = 200;
+
+        List<HeavyHitter<Integer>> result = list.parallelStream()
+                .collect(CollectorEx.approximateMode(5, capacity, Function.identity()));
+
+        assertThat(result).hasSize(5);
+        for (HeavyHitter<Integer> heavyHitter : result) {
+            long frequency = frequencies.get(heavyHitter.getItem());
+            assertThat(heavyHitter.getItem()).isBetween(0, 16);
+            assertThat(heavyHitter.getError()).isLessThanOrEqualTo(list.size() / capacity);
+            assertThat(heavyHitter.getCount()).isGreaterThanOrEqualTo(frequency);
+            assertThat(heavyHitter.getCount() - heavyHitter.getError()).isLessThanOrEqualTo(frequency);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApproximateModeWithCapacityLessThanK() {
+        CollectorEx.approximateMode(10, 5, Function.identity());
+    }
+}
@@ -0,0 +1,102 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ApproximateNTileCollectorTest {
+
+    @Test
+    public void testBoundariesWithEmptyList() {
+        List<Integer> list = emptyList();
+
+        List<Integer> result = list.stream().collect(CollectorEx.approximateNtileBoundaries(4, 0.01));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testBoundariesOfSmallListAreExact() {
+        List<Integer> list = asList(8, 7, 6, 5, 4, 3, 2, 1);
+
+        List<Integer> result = list.stream().collect(CollectorEx.approximateNtileBoundaries(4, 0.01));
+
+        assertThat(result).containsExactly(2, 4, 6);
+    }
+
+    @Test
+    public void testBoundariesWithinRankError() {
+        double rankError = 0.01;
+        int size = 200_000;
+        List<Integer> list = shuffledRange(size);
+
+        for (List<Integer> result : asList(
+                list.stream().collect(CollectorEx.approximateNtileBoundaries(10, rankError)),
+                list.parallelStream().collect(CollectorEx.approximateNtileBoundaries(10, rankError)))) {
+            assertThat(result).hasSize(9);
+            for (int i = 0; i < result.size(); i++) {
+                double expectedRank = (i + 1) / 10.0;
+                assertThat(result.get(i) / (double) size).isCloseTo(expectedRank, within(2 * rankError));
+            }
+        }
+    }
+
+    @Test
+    public void testBoundariesWithCustomComparator() {
+        List<Integer> list = shuffledRange(1000);
+        Comparator<Integer> intComparator = Integer::compare;
+
+        List<Integer> result = list.stream()
+                .collect(CollectorEx.approximateNtileBoundaries(2, 0.01, intComparator.reversed()));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).isBetween(480, 520);
+    }
+
+    @Test
+    public void testNTileByBoundaries() {
+        List<Integer> list = asList(null, 1, 1, 2, 3, null);
+
+        List<List<Integer>> result = list.stream()
+                .collect(CollectorEx.ntileByBoundaries(asList(1, 2), Comparator.nullsLast(Integer::compareTo)));
+
+        assertThat(result).containsExactly(asList(1, 1), asList(2), asList(null, 3, null));
+    }
+
+    @Test
+    public void testNTileByApproximateBoundariesInParallelStream() {
+        List<Integer> list = shuffledRange(100_000);
+        Comparator<Integer> intComparator = Integer::compare;
+        List<Integer> boundaries = list.parallelStream()
+                .collect(CollectorEx.approximateNtileBoundaries(4, 0.01, intComparator));
+
+        List<Long> result = list.parallelStream()
+                .collect(CollectorEx.ntileByBoundaries(boundaries, intComparator, counting()));
+
+        assertThat(result).hasSize(4);
+        assertThat(result.stream().mapToLong(Long::longValue).sum()).isEqualTo(100_000L);
+        result.forEach(count -> assertThat(count).isBetween(23_000L, 27_000L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundariesWithInvalidRankError() {
+        CollectorEx.approximateNtileBoundaries(4, 0);
+    }
+
+    private List<Integer> shuffledRange(int size) {
+        List<Integer> list = IntStream.rangeClosed(1, size).boxed().collect(toList());
+        Collections.shuffle(list, new Random(1));
+        return list;
+    }
+}
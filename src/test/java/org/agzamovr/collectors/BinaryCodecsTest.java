@@ -0,0 +1,141 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryCodecsTest {
+
+    @Test
+    public void testElementCodecsRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        BinaryCodecs.integers().write(Integer.MIN_VALUE, buffer);
+        BinaryCodecs.longs().write(-1L, buffer);
+        BinaryCodecs.doubles().write(Math.PI, buffer);
+        BinaryCodecs.strings().write("\u043f\u0440\u0438\u0432\u0435\u0442", buffer);
+        BinaryCodecs.bigDecimals().write(new BigDecimal("-123.4500"), buffer);
+        BinaryCodecs.nullable(BinaryCodecs.integers()).write(null, buffer);
+        buffer.flip();
+
+        assertThat(BinaryCodecs.integers().read(buffer)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(BinaryCodecs.longs().read(buffer)).isEqualTo(-1L);
+        assertThat(BinaryCodecs.doubles().read(buffer)).isEqualTo(Math.PI);
+        assertThat(BinaryCodecs.strings().read(buffer)).isEqualTo("\u043f\u0440\u0438\u0432\u0435\u0442");
+        assertThat(BinaryCodecs.bigDecimals().read(buffer)).isEqualTo(new BigDecimal("-123.4500"));
+        assertThat(BinaryCodecs.nullable(BinaryCodecs.integers()).read(buffer)).isNull();
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void testSmallIntegersAreWrittenAsSingleByte() {
+        ByteBuffer buffer = BinaryCodecs.encode(BinaryCodecs.integers(), -64);
+
+        assertThat(buffer.remaining()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRankStateIsMergedFromSnapshots() {
+        Collector<Integer, List<Integer>, SortedMap<Integer, List<Integer>>> rank = CollectorEx.rank();
+        Accumulation<Integer, List<Integer>, SortedMap<Integer, List<Integer>>> worker
+                = CollectorEx.accumulation(rank).addAll(asList(3, 1));
+        Accumulation<Integer, List<Integer>, SortedMap<Integer, List<Integer>>> reducer
+                = CollectorEx.accumulation(rank).addAll(asList(2, 1));
+        BinaryCodec<List<Integer>> stateCodec = BinaryCodecs.listState(BinaryCodecs.integers());
+
+        reducer.mergeFrom(worker.toByteBuffer(stateCodec), stateCodec);
+
+        assertThat(reducer.result()).isEqualTo(Stream.of(3, 1, 2, 1).collect(CollectorEx.rank()));
+    }
+
+    @Test
+    public void testSetStateIsMergedFromSnapshot() {
+        Collector<String, Set<String>, List<String>> distinct = CollectorEx.rankDistinctWithSortedSet(
+                String.CASE_INSENSITIVE_ORDER, Function.identity(), Collectors.toList());
+        Accumulation<String, Set<String>, List<String>> worker
+                = CollectorEx.accumulation(distinct).addAll(asList("b", "A", "c"));
+        Accumulation<String, Set<String>, List<String>> reducer
+                = CollectorEx.accumulation(distinct).addAll(asList("a", "B"));
+        BinaryCodec<Set<String>> stateCodec = BinaryCodecs.setState(BinaryCodecs.strings());
+
+        reducer.mergeFrom(worker.toByteBuffer(stateCodec), stateCodec);
+
+        assertThat(reducer.result()).containsExactly("a", "B", "c");
+    }
+
+    @Test
+    public void testModeStateIsMergedFromSnapshots() {
+        Collector<String, ModeCounts<String>, Set<String>> mode = CollectorEx.mode();
+        BinaryCodec<ModeCounts<String>> stateCodec = BinaryCodecs.modeState(BinaryCodecs.strings());
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        CollectorEx.accumulation(mode).addAll(asList("a", "b", "b")).writeTo(buffer, stateCodec);
+        CollectorEx.accumulation(mode).addAll(asList("a", "c")).writeTo(buffer, stateCodec);
+        buffer.flip();
+
+        Accumulation<String, ModeCounts<String>, Set<String>> reducer = CollectorEx.accumulation(mode)
+                .mergeFrom(buffer, stateCodec)
+                .mergeFrom(buffer, stateCodec);
+
+        assertThat(reducer.result()).containsOnly("a", "b");
+    }
+
+    @Test
+    public void testModeIntStateIsDeltaEncoded() {
+        Collector<Integer, IntCounts, int[]> modeInt = CollectorEx.modeInt(Integer::intValue);
+        List<Integer> values = asList(Integer.MIN_VALUE, -5, 0, 7, 7, 1_000, Integer.MAX_VALUE);
+
+        ByteBuffer buffer = CollectorEx.accumulation(modeInt)
+                .addAll(values)
+                .toByteBuffer(BinaryCodecs.modeIntState());
+        int[] result = CollectorEx.accumulation(modeInt)
+                .add(Integer.MAX_VALUE)
+                .mergeFrom(buffer, BinaryCodecs.modeIntState())
+                .result();
+
+        assertThat(result).containsExactly(7, Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testModeLongStateRoundTrip() {
+        Collector<Long, LongCounts, long[]> modeLong = CollectorEx.modeLong(Long::longValue);
+        List<Long> values = asList(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, 0L);
+
+        ByteBuffer buffer = CollectorEx.accumulation(modeLong)
+                .addAll(values)
+                .toByteBuffer(BinaryCodecs.modeLongState());
+        long[] result = CollectorEx.accumulation(modeLong).mergeFrom(buffer, BinaryCodecs.modeLongState()).result();
+
+        assertThat(result).containsExactly(Long.MIN_VALUE);
+    }
+
+    @Test
+    public void testDistinctAndMultiValueMapStatesRoundTrip() {
+        Collector<Integer, Map<Integer, Integer>, Collection<Integer>> distinct = CollectorEx.distinct(Math::abs);
+        Collector<Integer, Map<Integer, List<Integer>>, Map<Integer, List<Integer>>> multiValueMap
+                = CollectorEx.toMultiValueMap(i -> i % 2, Function.identity());
+        BinaryCodec<Map<Integer, Integer>> distinctCodec
+                = BinaryCodecs.distinctState(BinaryCodecs.integers(), BinaryCodecs.integers());
+        BinaryCodec<Map<Integer, List<Integer>>> multiValueMapCodec
+                = BinaryCodecs.multiValueMapState(BinaryCodecs.integers(), BinaryCodecs.integers());
+
+        ByteBuffer distinctBuffer = CollectorEx.accumulation(distinct)
+                .addAll(asList(-1, 2))
+                .toByteBuffer(distinctCodec);
+        ByteBuffer multiValueMapBuffer = CollectorEx.accumulation(multiValueMap).addAll(asList(1, 2, 3))
+                .toByteBuffer(multiValueMapCodec);
+
+        assertThat(CollectorEx.accumulation(distinct).add(3).mergeFrom(distinctBuffer, distinctCodec).result())
+                .containsOnly(-1, 2, 3);
+        assertThat(CollectorEx.accumulation(multiValueMap).add(5).mergeFrom(multiValueMapBuffer, multiValueMapCodec)
+                .result()).containsEntry(1, asList(5, 1, 3)).containsEntry(0, asList(2));
+    }
+}
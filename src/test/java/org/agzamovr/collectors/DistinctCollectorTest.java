@@ -6,9 +6,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class DistinctCollectorTest {
@@ -39,4 +41,26 @@ public class DistinctCollectorTest {
 
         assertThat(result).contains(1, 2, -1, null);
     }
+
+    @Test
+    public void testDistinctFirstKeepsFirstOccurrenceInEncounterOrder() {
+        List<Integer> list = asList(-1, 2, 2, 1, 1, null, -2);
+
+        List<Integer> result = list.stream().collect(CollectorEx.distinctFirst(item -> item == null ? 0 : Math.abs(item)));
+
+        assertThat(result).containsExactly(-1, 2, null);
+    }
+
+    @Test
+    public void testDistinctFirstInParallelStream() {
+        List<Integer> list = IntStream.range(0, 100_000).map(i -> (i * 7) % 1_000 - 500).boxed().collect(toList());
+
+        List<Integer> expected = list.stream().map(Math::abs).distinct().collect(toList());
+        List<Integer> result = list.parallelStream()
+                .collect(CollectorEx.distinctFirst(Math::abs, Collectors.mapping(Math::abs, toList())));
+
+        assertThat(result).isEqualTo(expected);
+        assertThat(list.parallelStream().collect(CollectorEx.distinctFirst(Math::abs)))
+                .isEqualTo(list.stream().collect(CollectorEx.distinctFirst(Math::abs)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ExternalSorterTest {
+
+    private List<Integer> randomList(int size) {
+        Random random = new Random(42);
+        return IntStream.range(0, size)
+                .mapToObj(i -> random.nextInt(size / 4))
+                .collect(toList());
+    }
+
+    private long countRuns() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(path -> path.getFileName().toString().startsWith("collectorex-run")).count();
+        }
+    }
+
+    @Test
+    public void testExternalRankWithEmptyList() {
+        List<Integer> list = emptyList();
+
+        SortedMap<Integer, Long> result = list.stream()
+                .collect(CollectorEx.externalRank(Integer::compare, BinaryCodecs.integers(), 2, counting()));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testExternalRank() {
+        List<Integer> list = asList(1, 2, 3, 4, 4, 3, 2, 1);
+
+        SortedMap<Integer, List<Integer>> result = list.stream()
+                .collect(CollectorEx.externalRank(Integer::compare, BinaryCodecs.integers(), 3, toList()));
+
+        Entry<Integer, List<Integer>> entry1 = new SimpleEntry<>(1, asList(1, 1));
+        Entry<Integer, List<Integer>> entry2 = new SimpleEntry<>(3, asList(2, 2));
+        Entry<Integer, List<Integer>> entry3 = new SimpleEntry<>(5, asList(3, 3));
+        Entry<Integer, List<Integer>> entry4 = new SimpleEntry<>(7, asList(4, 4));
+        assertThat(result).containsExactly(entry1, entry2, entry3, entry4);
+    }
+
+    @Test
+    public void testExternalRankIsSameAsRank() {
+        List<Integer> list = randomList(10_000);
+        Comparator<Integer> comparator = Integer::compare;
+
+        SortedMap<Integer, Long> expected = list.stream()
+                .collect(CollectorEx.rank(comparator.reversed(), Integer::compare, true, counting()));
+        SortedMap<Integer, Long> result = list.stream()
+                .collect(CollectorEx.externalRank(comparator.reversed(), BinaryCodecs.integers(), 1000, true, counting()));
+
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void testExternalRankWithParallelStream() throws IOException {
+        List<Integer> list = randomList(10_000);
+        long runs = countRuns();
+
+        SortedMap<Integer, Long> expected = list.stream()
+                .collect(CollectorEx.rank(Integer::compare, Integer::compare, false, counting()));
+        SortedMap<Integer, Long> result = list.parallelStream()
+                .collect(CollectorEx.externalRank(Integer::compare, BinaryCodecs.integers(), 500, counting()));
+
+        assertThat(result).isEqualTo(expected);
+        assertThat(countRuns()).isEqualTo(runs);
+    }
+
+    @Test
+    public void testExternalRankDeletesRunsOfEmptyParts() throws IOException {
+        long runs = countRuns();
+
+        SortedMap<Integer, Long> result = IntStream.range(0, 100_000).boxed().parallel()
+                .filter(i -> i >= 90_000)
+                .collect(CollectorEx.externalRank(Integer::compare, BinaryCodecs.integers(), 100, counting()));
+
+        assertThat(result).hasSize(10_000);
+        assertThat(countRuns()).isEqualTo(runs);
+    }
+
+    @Test
+    public void testExternalRankDeletesRunsWhenDownstreamFails() throws IOException {
+        List<Integer> list = randomList(1_000);
+        long runs = countRuns();
+
+        Throwable thrown = catchThrowable(() -> list.stream()
+                .collect(CollectorEx.externalRank(Integer::compare, BinaryCodecs.integers(), 100,
+                        Collectors.reducing(0, (left, right) -> {
+                            throw new IllegalStateException("Downstream failed");
+                        }))));
+
+        assertThat(thrown).isInstanceOf(IllegalStateException.class);
+        assertThat(countRuns()).isEqualTo(runs);
+    }
+
+    @Test
+    public void testExternalRankDeletesRunsWhenComparatorFails() throws IOException {
+        List<Integer> list = IntStream.range(0, 1_050).boxed().collect(toList());
+        Comparator<Integer> comparator = (left, right) -> {
+            if (left >= 1_000 || right >= 1_000)
+                throw new IllegalStateException("Comparator failed");
+            return Integer.compare(left, right);
+        };
+        long runs = countRuns();
+
+        Throwable thrown = catchThrowable(() -> list.stream()
+                .collect(CollectorEx.externalRank(comparator, BinaryCodecs.integers(), 100, counting())));
+
+        assertThat(thrown).isInstanceOf(IllegalStateException.class);
+        assertThat(countRuns()).isEqualTo(runs);
+    }
+
+    @Test
+    public void testExternalRankWithNulls() {
+        List<String> list = asList("b", null, "a", "b", null);
+        Comparator<String> comparator = Comparator.nullsLast(Comparator.naturalOrder());
+
+        SortedMap<Integer, List<String>> result = list.stream()
+                .collect(CollectorEx.externalRank(comparator, BinaryCodecs.nullable(BinaryCodecs.strings()), 2, toList()));
+
+        Entry<Integer, List<String>> entry1 = new SimpleEntry<>(1, asList("a"));
+        Entry<Integer, List<String>> entry2 = new SimpleEntry<>(2, asList("b", "b"));
+        Entry<Integer, List<String>> entry3 = new SimpleEntry<>(4, asList(null, null));
+        assertThat(result).containsExactly(entry1, entry2, entry3);
+    }
+
+    @Test
+    public void testExternalNtileIsSameAsNtile() {
+        List<Integer> list = randomList(10_001);
+
+        List<Long> expected = list.stream()
+                .collect(CollectorEx.ntile(7, Integer::compare, Collectors.summingLong(i -> i)));
+        List<Long> result = list.parallelStream()
+                .collect(CollectorEx.externalNtile(7, Integer::compare, BinaryCodecs.integers(), 300,
+                        Collectors.summingLong(i -> i)));
+
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void testExternalSortKeepsOrderOfEqualElements() {
+        Random random = new Random(42);
+        List<String> list = IntStream.range(0, 5_000)
+                .mapToObj(i -> random.nextInt(5) + ":" + i)
+                .collect(toList());
+        Comparator<String> comparator = Comparator.comparing(s -> s.charAt(0));
+
+        SortedMap<Integer, List<String>> expectedRanks = list.stream()
+                .collect(CollectorEx.rank(comparator, Integer::compare, false, toList()));
+        List<List<String>> expectedTiles = list.stream()
+                .collect(CollectorEx.ntile(9, comparator, toList()));
+        SortedMap<Integer, List<String>> ranks = list.parallelStream()
+                .collect(CollectorEx.externalRank(comparator, BinaryCodecs.strings(), 300, toList()));
+        List<List<String>> tiles = list.parallelStream()
+                .collect(CollectorEx.externalNtile(9, comparator, BinaryCodecs.strings(), 300, toList()));
+
+        assertThat(ranks).isEqualTo(expectedRanks);
+        assertThat(tiles).isEqualTo(expectedTiles);
+    }
+
+    @Test
+    public void testExternalRankAccumulation() throws IOException {
+        long runs = countRuns();
+        SortedMap<Integer, Long> first;
+        SortedMap<Integer, Long> second;
+        try (Accumulation<Integer, ?, SortedMap<Integer, Long>> accumulation = CollectorEx.accumulation(
+                CollectorEx.externalRank(Integer::compare, BinaryCodecs.integers(), 2, counting()))) {
+            accumulation.addAll(asList(3, 1, 2, 1, 3));
+            first = accumulation.result();
+            accumulation.add(0);
+            second = accumulation.result();
+        }
+
+        assertThat(first).containsExactly(new SimpleEntry<>(1, 2L), new SimpleEntry<>(3, 1L), new SimpleEntry<>(4, 2L));
+        assertThat(second).containsExactly(new SimpleEntry<>(1, 1L), new SimpleEntry<>(2, 2L), new SimpleEntry<>(4, 1L),
+                new SimpleEntry<>(5, 2L));
+        assertThat(countRuns()).isEqualTo(runs);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExternalRankWithNonPositiveBudget() {
+        CollectorEx.externalRank(Integer::compare, BinaryCodecs.integers(), 0, counting());
+    }
+}
@@ -0,0 +1,111 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class FrameCollectorTest {
+
+    private double naive(List<Integer> sorted, int from, int to, FrameFunction function) {
+        List<Integer> frame = sorted.subList(Math.max(from, 0), Math.min(to, sorted.size() - 1) + 1);
+        switch (function) {
+            case SUM:
+                return frame.stream().mapToDouble(i -> i).sum();
+            case MIN:
+                return frame.stream().mapToDouble(i -> i).min().getAsDouble();
+            case MAX:
+                return frame.stream().mapToDouble(i -> i).max().getAsDouble();
+            case AVG:
+                return frame.stream().mapToDouble(i -> i).average().getAsDouble();
+            default:
+                return frame.size();
+        }
+    }
+
+    @Test
+    public void testRowsFrameWithEmptyList() {
+        List<Integer> list = emptyList();
+
+        double[] result = list.stream().collect(CollectorEx.rowsFrame(i -> i, 1, 1, FrameFunction.MAX));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testRowsFrameSum() {
+        List<Integer> list = asList(5, 1, 4, 2, 3);
+
+        double[] result = list.stream().collect(CollectorEx.rowsFrame(i -> i, 1, 1, FrameFunction.SUM));
+
+        assertThat(result).containsExactly(3.0, 6.0, 9.0, 12.0, 9.0);
+    }
+
+    @Test
+    public void testRowsFrameWithUnboundedPreceding() {
+        List<Integer> list = asList(1, 2, 3);
+        Comparator<Integer> comparator = Integer::compare;
+
+        double[] result = list.stream()
+                .collect(CollectorEx.rowsFrame(i -> i, comparator.reversed(), Integer.MAX_VALUE, 0, FrameFunction.SUM));
+
+        assertThat(result).containsExactly(3.0, 5.0, 6.0);
+    }
+
+    @Test
+    public void testRowsFrameIsSameAsNaive() {
+        Random random = new Random(7);
+        List<Integer> list = IntStream.range(0, 500).mapToObj(i -> random.nextInt(100) - 50).collect(toList());
+        List<Integer> sorted = list.stream().sorted().collect(toList());
+
+        for (FrameFunction function : FrameFunction.values()) {
+            double[] result = list.parallelStream().collect(CollectorEx.rowsFrame(i -> i, 3, 7, function));
+
+            for (int i = 0; i < sorted.size(); i++)
+                assertThat(result[i]).isCloseTo(naive(sorted, i - 3, i + 7, function), within(1e-9));
+        }
+    }
+
+    @Test
+    public void testRangeFrameCount() {
+        List<Integer> list = asList(6, 2, 1, 5, 2);
+
+        double[] result = list.stream().collect(CollectorEx.rangeFrame(i -> i, i -> i, 1, 0, FrameFunction.COUNT));
+
+        assertThat(result).containsExactly(1.0, 3.0, 3.0, 1.0, 2.0);
+    }
+
+    @Test
+    public void testRangeFrameMinAndMax() {
+        List<Integer> list = asList(1, 2, 2, 5, 6, 9);
+
+        double[] min = list.stream().collect(CollectorEx.rangeFrame(i -> -i, i -> i, 0, 3, FrameFunction.MIN));
+        double[] max = list.stream().collect(CollectorEx.rangeFrame(i -> -i, i -> i, 0, 3, FrameFunction.MAX));
+
+        assertThat(min).containsExactly(-2.0, -5.0, -5.0, -6.0, -9.0, -9.0);
+        assertThat(max).containsExactly(-1.0, -2.0, -2.0, -5.0, -6.0, -9.0);
+    }
+
+    @Test
+    public void testRangeFrameAvgWithUnboundedFollowing() {
+        List<Integer> list = asList(4, 1, 3, 2);
+
+        double[] result = list.stream()
+                .collect(CollectorEx.rangeFrame(i -> i, i -> i, 0, Double.POSITIVE_INFINITY, FrameFunction.AVG));
+
+        assertThat(result).containsExactly(2.5, 3.0, 3.5, 4.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRowsFrameWithNegativeOffset() {
+        CollectorEx.rowsFrame(i -> i, Integer::compare, -1, 0, FrameFunction.SUM);
+    }
+}
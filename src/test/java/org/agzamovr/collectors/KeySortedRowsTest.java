@@ -0,0 +1,80 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeySortedRowsTest {
+
+    @Test
+    public void testSortIntKeys() {
+        int[] keys = new Random(7).ints(10_000).toArray();
+        int[] original = keys.clone();
+        int[] expected = keys.clone();
+        Arrays.sort(expected);
+
+        int[] order = KeySortedRows.sort(keys);
+
+        assertThat(keys).isEqualTo(expected);
+        for (int i = 0; i < keys.length; i++)
+            assertThat(original[order[i]]).isEqualTo(keys[i]);
+    }
+
+    @Test
+    public void testSortLongKeys() {
+        long[] keys = new Random(7).longs(10_000).toArray();
+        long[] expected = keys.clone();
+        Arrays.sort(expected);
+
+        KeySortedRows.sort(keys);
+
+        assertThat(keys).isEqualTo(expected);
+    }
+
+    @Test
+    public void testSortIsStable() {
+        List<String> list = asList("bb", "a", "cc", "b", "aa", "c");
+
+        KeySortedRows sorted = KeySortedRows.byInt(list, String::length);
+
+        assertThat(sorted.rows()).containsExactly("a", "b", "c", "bb", "cc", "aa");
+        assertThat(sorted.groupStarts()).containsExactly(0, 3, 6);
+    }
+
+    @Test
+    public void testSortDoubleKeys() {
+        List<Double> list = DoubleStream.concat(new Random(7).doubles(1000, -10, 10),
+                DoubleStream.of(0.0, -0.0, Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -1.5))
+                .boxed()
+                .collect(toList());
+        List<Double> expected = list.stream().sorted(Double::compare).collect(toList());
+
+        KeySortedRows sorted = KeySortedRows.byDouble(list, Double::doubleValue);
+
+        assertThat(sorted.rows()).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testSortEmptyAndSingleKey() {
+        assertThat(KeySortedRows.byLong(asList(), i -> 0).groupStarts()).containsExactly(0);
+        assertThat(KeySortedRows.byLong(asList(5L), Long::longValue).groupStarts()).containsExactly(0, 1);
+        assertThat(KeySortedRows.sort(new int[0])).isEmpty();
+    }
+
+    @Test
+    public void testSortKeysWithSameHighBytes() {
+        int[] keys = IntStream.range(0, 1000).map(i -> 1000 - i).toArray();
+
+        KeySortedRows.sort(keys);
+
+        assertThat(keys).isEqualTo(IntStream.rangeClosed(1, 1000).toArray());
+    }
+}
@@ -3,9 +3,11 @@ package org.agzamovr.collectors;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -38,4 +40,25 @@ public class ModeCollectorTest {
 
         assertThat(result).contains(1, 2);
     }
+
+    @Test
+    public void testModeWithEmptyList() {
+        List<Integer> list = Collections.emptyList();
+
+        Set<Integer> result = list.stream().collect(CollectorEx.mode());
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testModeInParallelStream() {
+        List<Integer> list = IntStream.range(0, 10_000)
+                .map(i -> i % 3 == 0 ? 7 : i % 5)
+                .boxed()
+                .collect(Collectors.toList());
+
+        Set<Integer> result = list.parallelStream().collect(CollectorEx.mode());
+
+        assertThat(result).containsExactly(7);
+    }
 }
\ No newline at end of file
@@ -3,10 +3,13 @@ package org.agzamovr.collectors;
 import org.junit.Test;
 
 import java.util.AbstractMap.SimpleEntry;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
@@ -97,4 +100,47 @@ public class MultiValueMapCollectorTest {
         entries1.add(new SimpleEntry<>(null, null));
         return entries1;
     }
+
+    @Test
+    public void testToConcurrentMultiValueMap() {
+        List<Integer> list = IntStream.range(0, 100_000).boxed().collect(toList());
+
+        ConcurrentMap<Integer, Collection<Integer>> result = list.parallelStream()
+                .collect(CollectorEx.toConcurrentMultiValueMap(i -> i % 10, Function.identity()));
+
+        assertThat(result).hasSize(10);
+        result.forEach((key, values) -> {
+            assertThat(values).hasSize(10_000);
+            assertThat(values).allMatch(value -> value % 10 == key);
+        });
+    }
+
+    @Test
+    public void testToOrderedConcurrentMultiValueMap() {
+        List<Integer> list = IntStream.range(0, 100_000).boxed().collect(toList());
+
+        ConcurrentMap<Integer, List<Integer>> result = list.parallelStream()
+                .collect(CollectorEx.toOrderedConcurrentMultiValueMap(i -> i % 10, Function.identity(), toList()));
+
+        List<Integer> expected = list.stream().filter(i -> i % 10 == 3).collect(toList());
+        assertThat(result.get(3)).isEqualTo(expected);
+    }
+
+    @Test
+    public void testToConcurrentMultiValueMapWithDownstreamCollector() {
+        List<Integer> list = IntStream.range(0, 1_000).boxed().collect(toList());
+
+        ConcurrentMap<Integer, Long> result = list.parallelStream()
+                .collect(CollectorEx.toConcurrentMultiValueMap(i -> i % 3, Function.identity(), counting()));
+
+        assertThat(result).containsOnly(new SimpleEntry<>(0, 334L), new SimpleEntry<>(1, 333L),
+                new SimpleEntry<>(2, 333L));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testToConcurrentMultiValueMapWithNullKey() {
+        List<Integer> list = asList(1, null);
+
+        list.stream().collect(CollectorEx.toConcurrentMultiValueMap(Function.identity(), Function.identity()));
+    }
 }
\ No newline at end of file
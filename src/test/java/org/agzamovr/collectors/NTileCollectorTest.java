@@ -4,11 +4,14 @@ import org.junit.Test;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.summingLong;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -75,4 +78,31 @@ public class NTileCollectorTest {
         assertThat(result.get(0)).contains(3, null);
         assertThat(result.get(1)).contains(1, 2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testNtileWithParallelFinisher() {
+        List<Integer> list = new Random(9).ints(CollectorEx.PARALLEL_SORT_THRESHOLD + 7, 0, 1000).boxed().collect(toList());
+
+        List<Long> result = list.parallelStream().collect(CollectorEx.ntile(7, Integer::compare, summingLong(i -> i)));
+        List<Long> expected = list.stream()
+                .collect(CollectorEx.externalNtile(7, Integer::compare, BinaryCodecs.integers(), list.size(),
+                        summingLong(i -> i)));
+
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void testNtileByKeyIsSameAsNtile() {
+        List<Integer> list = new Random(11).ints(1000, -500, 500).boxed().collect(toList());
+
+        List<List<Integer>> byInt = list.parallelStream().collect(CollectorEx.ntileByInt(7, i -> i));
+        List<List<Integer>> byLong = list.stream().collect(CollectorEx.ntileByLong(7, i -> i));
+        List<Long> byDouble = list.stream().collect(CollectorEx.ntileByDouble(7, i -> i, summingLong(i -> i)));
+        List<List<Integer>> expected = list.stream().collect(CollectorEx.ntile(7, Integer::compare));
+
+        assertThat(byInt).isEqualTo(expected);
+        assertThat(byLong).isEqualTo(expected);
+        assertThat(byDouble).isEqualTo(list.stream()
+                .collect(CollectorEx.ntile(7, Integer::compare, summingLong(i -> i))));
+    }
+}
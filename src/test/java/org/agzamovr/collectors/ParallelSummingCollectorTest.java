@@ -0,0 +1,88 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ParallelSummingCollectorTest {
+    private final List<Integer> randomList = new Random(1).ints(100_000, -1000, 1000).boxed().collect(toList());
+
+    @Test
+    public void testParallelSummingEmptyList() {
+        List<Integer> list = emptyList();
+
+        int[] result = list.parallelStream().collect(CollectorEx.parallelSummingInt(i -> i));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testParallelSummingInt() {
+        List<Integer> list = asList(3, 1, 2);
+        Comparator<Integer> integerComparator = Integer::compareTo;
+
+        int[] result = list.parallelStream().collect(CollectorEx.parallelSummingInt(i -> i, integerComparator.reversed()));
+
+        assertThat(result).containsExactly(3, 5, 6);
+    }
+
+    @Test
+    public void testParallelSummingIntMatchesSequential() {
+        int[] expected = randomList.stream().collect(CollectorEx.summingIntToArray(i -> i));
+
+        int[] result = randomList.parallelStream().collect(CollectorEx.parallelSummingInt(i -> i));
+
+        assertThat(result).containsExactly(expected);
+    }
+
+    @Test
+    public void testParallelSummingLongMatchesSequential() {
+        long[] expected = randomList.stream().collect(CollectorEx.summingLongToArray(i -> i * 1_000_000_000L));
+
+        long[] result = randomList.parallelStream().collect(CollectorEx.parallelSummingLong(i -> i * 1_000_000_000L));
+
+        assertThat(result).containsExactly(expected);
+    }
+
+    @Test
+    public void testParallelSummingDoubleKeepsCompensationAcrossChunks() {
+        List<Integer> list = IntStream.range(0, 100_000).boxed().collect(toList());
+        double big = 0x1p53;
+
+        double[] result = list.parallelStream()
+                .collect(CollectorEx.parallelSummingDouble(i -> i == 0 ? big : 1.0));
+
+        for (int i = 0; i < list.size(); i++)
+            assertThat(result[i]).isCloseTo(big + i, within(2.0));
+    }
+
+    @Test
+    public void testParallelSummingDoubleMatchesSequential() {
+        double[] expected = randomList.stream().collect(CollectorEx.summingDoubleToArray(i -> i / 7.0));
+
+        double[] result = randomList.parallelStream().collect(CollectorEx.parallelSummingDouble(i -> i / 7.0));
+
+        assertThat(result).hasSize(expected.length);
+        for (int i = 0; i < expected.length; i++)
+            assertThat(result[i]).isCloseTo(expected[i], within(1e-9));
+    }
+
+    @Test
+    public void testParallelSummingBigDecimalMatchesSequential() {
+        List<BigDecimal> expected = randomList.stream().collect(CollectorEx.summingBigDecimal(BigDecimal::valueOf));
+
+        List<BigDecimal> result = randomList.parallelStream().collect(CollectorEx.parallelSummingBigDecimal(BigDecimal::valueOf));
+
+        assertThat(result).isEqualTo(expected);
+    }
+}
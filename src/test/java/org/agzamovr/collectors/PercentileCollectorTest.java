@@ -0,0 +1,126 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PercentileCollectorTest {
+    private static final double[] PERCENTILES = {0.0, 0.01, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 1.0};
+
+    private double percentileDisc(double[] sorted, double percentile) {
+        return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private double percentileCont(double[] sorted, double percentile) {
+        double position = percentile * (sorted.length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        return sorted[lower] + (position - lower) * (sorted[upper] - sorted[lower]);
+    }
+
+    @Test
+    public void testPercentileDisc() {
+        List<Integer> list = asList(5, 1, 4, 2, 3);
+
+        Double result = list.stream().collect(CollectorEx.percentileDisc(i -> i, 0.5));
+
+        assertThat(result).isEqualTo(3.0);
+    }
+
+    @Test
+    public void testPercentileCont() {
+        List<Integer> list = asList(4, 1, 2, 3);
+
+        Double result = list.stream().collect(CollectorEx.percentileCont(i -> i, 0.5));
+
+        assertThat(result).isEqualTo(2.5);
+    }
+
+    @Test
+    public void testPercentileContOfInfiniteValues() {
+        List<Double> list = asList(Double.POSITIVE_INFINITY, 1.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.NEGATIVE_INFINITY);
+
+        double[] result = list.stream().collect(CollectorEx.percentilesCont(d -> d, 0.1, 0.6, 0.9));
+        Double median = Stream.of(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY)
+                .collect(CollectorEx.percentileCont(d -> d, 0.5));
+
+        assertThat(result).containsExactly(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+        assertThat(median).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void testMedian() {
+        List<Integer> list = asList(7, 1, 3);
+
+        Double result = list.stream().collect(CollectorEx.median(i -> i));
+
+        assertThat(result).isEqualTo(3.0);
+    }
+
+    @Test
+    public void testPercentileOfEmptyList() {
+        List<Integer> list = emptyList();
+
+        Double median = list.stream().collect(CollectorEx.median(i -> i));
+        double[] percentiles = list.stream().collect(CollectorEx.percentilesDisc(i -> i, 0.5, 0.9));
+
+        assertThat(median).isNaN();
+        assertThat(percentiles).containsExactly(Double.NaN, Double.NaN);
+    }
+
+    @Test
+    public void testPercentilesDisc() {
+        double[] result = IntStream.rangeClosed(1, 100).boxed()
+                .collect(CollectorEx.percentilesDisc(i -> i, 0.5, 0.95, 0.99));
+
+        assertThat(result).containsExactly(50.0, 95.0, 99.0);
+    }
+
+    @Test
+    public void testPercentilesAreSameAsSortedPercentiles() {
+        List<Integer> list = new Random(21).ints(100_000, 0, 1000).boxed().collect(toList());
+        double[] sorted = list.stream().mapToDouble(i -> i).sorted().toArray();
+
+        double[] disc = list.parallelStream().collect(CollectorEx.percentilesDisc(i -> i, PERCENTILES));
+        double[] cont = list.stream().collect(CollectorEx.percentilesCont(i -> i, PERCENTILES));
+
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            assertThat(disc[i]).isEqualTo(percentileDisc(sorted, PERCENTILES[i]));
+            assertThat(cont[i]).isEqualTo(percentileCont(sorted, PERCENTILES[i]));
+        }
+    }
+
+    @Test
+    public void testSelectWithSortedAndEqualValues() {
+        double[] ascending = IntStream.range(0, 10_000).asDoubleStream().toArray();
+        double[] equal = new double[10_000];
+        double[] nans = {3.0, Double.NaN, -0.0, 0.0, 1.0};
+        double[] sortedNans = nans.clone();
+        Arrays.sort(sortedNans);
+
+        PercentileCollector.select(ascending, 0, ascending.length - 1, 1234);
+        PercentileCollector.select(equal, 0, equal.length - 1, 5000);
+        PercentileCollector.select(nans, 0, nans.length - 1, new int[]{0, 2, 4}, 0, 3);
+
+        assertThat(ascending[1234]).isEqualTo(1234.0);
+        assertThat(equal[5000]).isEqualTo(0.0);
+        assertThat(nans[0]).isEqualTo(sortedNans[0]);
+        assertThat(nans[2]).isEqualTo(sortedNans[2]);
+        assertThat(nans[4]).isNaN();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPercentileOutOfRange() {
+        CollectorEx.percentileDisc(i -> 0.0, 1.5);
+    }
+}
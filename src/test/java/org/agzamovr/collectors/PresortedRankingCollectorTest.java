@@ -0,0 +1,102 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PresortedRankingCollectorTest {
+
+    @Test
+    public void testPresortedRankWithEmptyList() {
+        List<Integer> list = emptyList();
+
+        SortedMap<Integer, List<Integer>> result = list.stream().collect(CollectorEx.presortedRank());
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testPresortedRank() {
+        List<Integer> list = asList(1, 1, 2, 3, 3, 4);
+
+        SortedMap<Integer, List<Integer>> result = list.stream().collect(CollectorEx.presortedRank());
+
+        Entry<Integer, List<Integer>> entry1 = new SimpleEntry<>(1, asList(1, 1));
+        Entry<Integer, List<Integer>> entry2 = new SimpleEntry<>(3, singletonList(2));
+        Entry<Integer, List<Integer>> entry3 = new SimpleEntry<>(4, asList(3, 3));
+        Entry<Integer, List<Integer>> entry4 = new SimpleEntry<>(6, singletonList(4));
+        assertThat(result).containsExactly(entry1, entry2, entry3, entry4);
+    }
+
+    @Test
+    public void testPresortedDenseRank() {
+        List<Integer> list = asList(4, 4, 3, 2, 2, 1);
+        Comparator<Integer> intComparator = Integer::compare;
+
+        SortedMap<Integer, List<Integer>> result = list.stream()
+                .collect(CollectorEx.presortedDenseRank(intComparator.reversed()));
+
+        Entry<Integer, List<Integer>> entry1 = new SimpleEntry<>(1, asList(4, 4));
+        Entry<Integer, List<Integer>> entry2 = new SimpleEntry<>(2, singletonList(3));
+        Entry<Integer, List<Integer>> entry3 = new SimpleEntry<>(3, asList(2, 2));
+        Entry<Integer, List<Integer>> entry4 = new SimpleEntry<>(4, singletonList(1));
+        assertThat(result).containsExactly(entry1, entry2, entry3, entry4);
+    }
+
+    @Test
+    public void testPresortedRankWithNulls() {
+        List<Integer> list = asList(1, 2, null, null);
+
+        SortedMap<Integer, List<Integer>> result = list.stream().collect(CollectorEx.presortedRank());
+
+        Entry<Integer, List<Integer>> entry1 = new SimpleEntry<>(1, singletonList(1));
+        Entry<Integer, List<Integer>> entry2 = new SimpleEntry<>(2, singletonList(2));
+        Entry<Integer, List<Integer>> entry3 = new SimpleEntry<>(3, asList(null, null));
+        assertThat(result).containsExactly(entry1, entry2, entry3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPresortedRankWithUnsortedList() {
+        List<Integer> list = asList(1, 3, 2);
+
+        list.stream().collect(CollectorEx.presortedRank());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPresortedRankWithUnsortedParallelStream() {
+        List<Integer> list = IntStream.range(0, 10_000).boxed().collect(toList());
+        list.set(9_000, 0);
+
+        list.parallelStream().collect(CollectorEx.presortedRank());
+    }
+
+    @Test
+    public void testPresortedRankMatchesRankInParallelStream() {
+        Random random = new Random(1);
+        List<Integer> list = IntStream.range(0, 10_000)
+                .map(i -> random.nextInt(500))
+                .sorted()
+                .boxed()
+                .collect(toList());
+        Comparator<Integer> intComparator = Integer::compare;
+
+        for (boolean denseRank : asList(false, true)) {
+            SortedMap<Integer, Long> expected = list.stream()
+                    .collect(CollectorEx.rank(intComparator, intComparator, denseRank, counting()));
+            SortedMap<Integer, Long> result = list.parallelStream()
+                    .collect(CollectorEx.presortedRank(intComparator, denseRank, counting()));
+
+            assertThat(result).isEqualTo(expected);
+        }
+    }
+}
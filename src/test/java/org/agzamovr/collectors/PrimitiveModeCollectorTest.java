@@ -0,0 +1,79 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimitiveModeCollectorTest {
+
+    @Test
+    public void testModeIntWithEmptyList() {
+        List<Integer> list = emptyList();
+
+        int[] result = list.stream().collect(CollectorEx.modeInt(Integer::intValue));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testModeIntWithCustomMapper() {
+        List<Integer> list = asList(1, -1, 2, -2, 3, 4, 0);
+
+        int[] result = list.stream().collect(CollectorEx.modeInt(Math::abs));
+
+        assertThat(result).containsExactly(1, 2);
+    }
+
+    @Test
+    public void testModeIntWithZeroKey() {
+        List<Integer> list = asList(0, 0, 5, 0, 5);
+
+        int[] result = list.stream().collect(CollectorEx.modeInt(Integer::intValue));
+
+        assertThat(result).containsExactly(0);
+    }
+
+    @Test
+    public void testModeLong() {
+        List<Long> list = asList(Long.MIN_VALUE, 7L, Long.MAX_VALUE, 7L, Long.MIN_VALUE);
+
+        long[] result = list.stream().collect(CollectorEx.modeLong(Long::longValue));
+
+        assertThat(result).containsExactly(Long.MIN_VALUE, 7L);
+    }
+
+    @Test
+    public void testModeIntMatchesModeInParallelStream() {
+        Random random = new Random(1);
+        List<Integer> list = IntStream.range(0, 100_000)
+                .map(i -> random.nextInt(10_000) - 5_000)
+                .boxed()
+                .collect(toList());
+
+        Set<Integer> expected = list.stream().collect(CollectorEx.mode());
+        int[] result = list.parallelStream().collect(CollectorEx.modeInt(Integer::intValue));
+
+        assertThat(Arrays.stream(result).boxed().collect(Collectors.toSet())).isEqualTo(expected);
+    }
+
+    @Test
+    public void testModeLongMatchesModeInParallelStream() {
+        Random random = new Random(2);
+        List<Long> list = IntStream.range(0, 100_000)
+                .mapToObj(i -> random.nextInt(10_000) * 1_000_000_007L)
+                .collect(toList());
+
+        Set<Long> expected = list.stream().collect(CollectorEx.mode(Function.identity()));
+        long[] result = list.parallelStream().collect(CollectorEx.modeLong(Long::longValue));
+
+        assertThat(Arrays.stream(result).boxed().collect(Collectors.toSet())).isEqualTo(expected);
+    }
+}
@@ -7,9 +7,12 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Comparator.nullsLast;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -74,4 +77,62 @@ public class RankDistinctCollectorTest {
 
         System.out.println(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDistinctKeepsFirstOfEqualElements() {
+        List<Integer> list = asList(2, -1, 1, -2, 3);
+        Comparator<Integer> absComparator = (x, y) -> Integer.compare(Math.abs(x), Math.abs(y));
+
+        List<Integer> result = list.stream().collect(CollectorEx.rankDistinct(absComparator));
+
+        assertThat(result).containsExactly(-1, 2, 3);
+    }
+
+    @Test
+    public void testDistinctWithDeduplication() {
+        List<Integer> list = asList(2, -1, 1, -2, 3, null, -3);
+        Comparator<Integer> absComparator = nullsLast((x, y) -> Integer.compare(Math.abs(x), Math.abs(y)));
+
+        List<Integer> result = list.stream()
+                .collect(CollectorEx.rankDistinctWithSortedSet(absComparator, i -> i, toList()));
+
+        assertThat(result).containsExactly(-1, 2, 3, null);
+    }
+
+    @Test
+    public void testParallelDistinctWithDeduplication() {
+        List<Integer> list = IntStream.range(0, 10_000).map(i -> i % 100 - 50).boxed().collect(toList());
+        Comparator<Integer> absComparator = (x, y) -> Integer.compare(Math.abs(x), Math.abs(y));
+
+        List<Integer> result = list.parallelStream()
+                .collect(CollectorEx.rankDistinctWithSortedSet(absComparator, i -> i, toList()));
+        List<Integer> expected = list.stream()
+                .collect(CollectorEx.rankDistinct(absComparator, i -> i, toList()));
+
+        assertThat(result).isEqualTo(expected).hasSize(51);
+    }
+
+    @Test
+    public void testDistinctWithHashDeduplication() {
+        List<Integer> list = asList(2, -1, 1, -2, 3, null, -3, 2);
+        Comparator<Integer> absComparator = nullsLast((x, y) -> Integer.compare(Math.abs(x), Math.abs(y)));
+
+        List<Integer> result = list.stream()
+                .collect(CollectorEx.rankDistinctWithHashSet(absComparator, i -> i, toList()));
+
+        assertThat(result).containsExactly(-1, 2, 3, null);
+    }
+
+    @Test
+    public void testParallelDistinctWithHashDeduplication() {
+        List<Integer> list = IntStream.range(0, 10_000).map(i -> i % 100 - 50).boxed().collect(toList());
+        Comparator<Integer> absComparator = (x, y) -> Integer.compare(Math.abs(x), Math.abs(y));
+
+        List<Integer> result = list.parallelStream()
+                .collect(CollectorEx.rankDistinctWithHashSet(absComparator, i -> i, toList()));
+        List<Integer> expected = list.stream()
+                .collect(CollectorEx.rankDistinct(absComparator, i -> i, toList()));
+
+        assertThat(result).isEqualTo(expected).hasSize(51);
+    }
+}
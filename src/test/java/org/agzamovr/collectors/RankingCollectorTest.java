@@ -283,4 +283,148 @@ public class RankingCollectorTest {
                 .thenComparing(Bid::getExperience, nullsLast(Comparator.<Integer>naturalOrder().reversed()))
                 .thenComparing(Bid::getSentDate);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLazyRankIsSameAsRank() {
+        Random random = new Random(3);
+        List<Integer> list = random.ints(5000, 0, 1000).boxed().collect(toList());
+
+        SortedMap<Integer, Long> expectedRank = list.stream()
+                .collect(CollectorEx.rank(Integer::compare, Integer::compare, false, counting()));
+        SortedMap<Integer, Long> expectedDenseRank = list.stream()
+                .collect(CollectorEx.rank(Integer::compare, Integer::compare, true, counting()));
+        SortedMap<Integer, Long> lazyRank = list.parallelStream()
+                .collect(CollectorEx.lazyRank(Integer::compare, false, counting()));
+        SortedMap<Integer, Long> lazyDenseRank = list.stream()
+                .collect(CollectorEx.lazyRank(Integer::compare, true, counting()));
+
+        assertThat(lazyRank).isEqualTo(expectedRank);
+        assertThat(lazyRank.keySet()).containsExactlyElementsOf(expectedRank.keySet());
+        assertThat(lazyDenseRank).isEqualTo(expectedDenseRank);
+        assertThat(lazyRank.headMap(2000)).isEqualTo(expectedRank.headMap(2000));
+        assertThat(lazyRank.tailMap(2000)).isEqualTo(expectedRank.tailMap(2000));
+        assertThat(lazyRank.subMap(100, 4000).headMap(3000)).isEqualTo(expectedRank.subMap(100, 3000));
+    }
+
+    @Test
+    public void testLazyRankViews() {
+        List<Integer> list = asList(1, 2, 3, 4, 4, 3, 2, 1);
+
+        SortedMap<Integer, List<Integer>> rankedMap = list.stream().collect(CollectorEx.lazyRank(Integer::compare));
+
+        assertThat(rankedMap.firstKey()).isEqualTo(1);
+        assertThat(rankedMap.lastKey()).isEqualTo(7);
+        assertThat(rankedMap.get(3)).containsExactly(2, 2);
+        assertThat(rankedMap.get(2)).isNull();
+        assertThat(rankedMap.containsKey(5)).isTrue();
+        assertThat(rankedMap.tailMap(4)).containsExactly(new SimpleEntry<>(5, asList(3, 3)),
+                new SimpleEntry<>(7, asList(4, 4)));
+        assertThat(rankedMap.headMap(3)).containsOnlyKeys(1);
+        assertThat(rankedMap.subMap(2, 6).get(1)).isNull();
+        assertThat(rankedMap.headMap(0)).isEmpty();
+    }
+
+    @Test
+    public void testLazyRankComputesDownstreamOnAccess() {
+        List<Integer> list = asList(1, 1, 2, 3, 3, 3);
+        List<Integer> reduced = new ArrayList<>();
+
+        SortedMap<Integer, Integer> rankedMap = list.stream()
+                .collect(CollectorEx.lazyRank(Integer::compare, true, reducing(0, i -> {
+                    reduced.add(i);
+                    return i;
+                }, Integer::sum)));
+        Integer first = rankedMap.get(3);
+        Integer second = rankedMap.tailMap(3).get(3);
+
+        assertThat(first).isEqualTo(9);
+        assertThat(second).isEqualTo(9);
+        assertThat(reduced).containsExactly(3, 3, 3);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testLazyRankFirstKeyOfEmptyMap() {
+        List<Integer> list = Collections.emptyList();
+
+        SortedMap<Integer, List<Integer>> rankedMap = list.stream().collect(CollectorEx.lazyRank(Integer::compare));
+
+        rankedMap.firstKey();
+    }
+
+    @Test
+    public void testMapIndexToRank() {
+        List<Integer> list = asList(30, 10, 20, 10, 50);
+
+        int[] ranks = list.stream().collect(CollectorEx.mapIndexToRank(i -> i / 10, Integer::compare));
+        int[] denseRanks = list.stream().collect(CollectorEx.mapIndexToDenseRank(i -> i / 10, Integer::compare));
+
+        assertThat(ranks).containsExactly(0, 1, 3, 4, 0, 5);
+        assertThat(denseRanks).containsExactly(0, 1, 2, 3, 0, 4);
+    }
+
+    @Test
+    public void testMapIndexToRankIsSameAsMapObjToRank() {
+        List<Integer> list = new Random(5).ints(5000, 0, 100_000).distinct().boxed().collect(toList());
+        Comparator<Integer> comparator = Integer::compare;
+
+        Map<Integer, Integer> expected = list.stream().collect(CollectorEx.mapObjToRank(comparator.reversed()));
+        int[] ranks = list.parallelStream().collect(CollectorEx.mapIndexToRank(i -> i, comparator.reversed()));
+
+        expected.forEach((item, rank) -> assertThat(ranks[item]).isEqualTo(rank));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapIndexToRankWithNegativeIndex() {
+        asList(1, -1).stream().collect(CollectorEx.mapIndexToRank(i -> i, Integer::compare));
+    }
+
+    @Test
+    public void testRankWithParallelFinisher() {
+        List<Integer> list = new Random(13).ints(CollectorEx.PARALLEL_SORT_THRESHOLD * 2, 0, 10_000).boxed()
+                .collect(toList());
+        List<Integer> sorted = list.stream().sorted(Comparator.reverseOrder()).collect(toList());
+
+        SortedMap<Integer, Long> rank = list.parallelStream()
+                .collect(CollectorEx.rank(Comparator.<Integer>reverseOrder(), Integer::compare, false, counting()));
+        SortedMap<Integer, Long> denseRank = list.parallelStream()
+                .collect(CollectorEx.rank(Comparator.<Integer>reverseOrder(), Integer::compare, true, counting()));
+
+        assertThat(rank).isEqualTo(sorted.stream()
+                .collect(CollectorEx.presortedRank(Comparator.<Integer>reverseOrder(), false, counting())));
+        assertThat(denseRank).isEqualTo(sorted.stream()
+                .collect(CollectorEx.presortedRank(Comparator.<Integer>reverseOrder(), true, counting())));
+    }
+
+    @Test
+    public void testRankWithNullsAndNaturalOrder() {
+        List<Integer> list = asList(3, null, 1, 3, null, 2);
+
+        SortedMap<Integer, Long> rank = list.stream().collect(CollectorEx.rank(counting()));
+        SortedMap<Integer, Long> denseRank = list.stream().collect(CollectorEx.denseRank(counting()));
+        SortedMap<Integer, Long> expected = list.stream()
+                .collect(CollectorEx.rank(nullsLast(Integer::compare), Integer::compare, false, counting()));
+
+        assertThat(rank).containsExactly(new SimpleEntry<>(1, 1L), new SimpleEntry<>(2, 1L),
+                new SimpleEntry<>(3, 2L), new SimpleEntry<>(5, 2L));
+        assertThat(rank).isEqualTo(expected);
+        assertThat(denseRank).containsExactly(new SimpleEntry<>(1, 1L), new SimpleEntry<>(2, 1L),
+                new SimpleEntry<>(3, 2L), new SimpleEntry<>(4, 2L));
+    }
+
+    @Test
+    public void testRankByKeyIsSameAsRank() {
+        List<Bid> list = new Random(5).ints(5000, -100, 100).mapToObj(i -> new Bid(i, i % 7)).collect(toList());
+
+        SortedMap<Integer, List<Bid>> byInt = list.parallelStream().collect(CollectorEx.rankByInt(Bid::getNum));
+        SortedMap<Integer, List<Bid>> byLong = list.stream().collect(CollectorEx.rankByLong(Bid::getNum));
+        SortedMap<Integer, List<Bid>> byDouble = list.stream().collect(CollectorEx.rankByDouble(Bid::getNum));
+        SortedMap<Integer, Long> denseByInt = list.stream()
+                .collect(CollectorEx.rankByInt(Bid::getNum, true, counting()));
+
+        assertThat(byInt).isEqualTo(list.stream().collect(CollectorEx.rank(Comparator.comparingInt(Bid::getNum))));
+        assertThat(byLong).isEqualTo(byInt);
+        assertThat(byDouble).isEqualTo(byInt);
+        assertThat(denseByInt).isEqualTo(list.stream()
+                .collect(CollectorEx.rank(Comparator.comparingInt(Bid::getNum), Integer::compare, true, counting())));
+    }
+}
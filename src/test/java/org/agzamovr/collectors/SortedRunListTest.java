@@ -0,0 +1,92 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SortedRunListTest {
+
+    private SortedRunList<Integer> runOf(Comparator<Integer> comparator, Integer... items) {
+        SortedRunList<Integer> run = new SortedRunList<>(comparator);
+        run.addAll(asList(items));
+        return run;
+    }
+
+    @Test
+    public void testCombinerMergesSortedRuns() {
+        Comparator<Integer> comparator = Integer::compare;
+        BinaryOperator<List<Integer>> combiner = SortedRunList.combiner(comparator);
+
+        List<Integer> result = combiner.apply(runOf(comparator, 5, 1, 3), runOf(comparator, 4, 2, 6, 0));
+
+        assertThat(result).containsExactly(0, 1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    public void testCombinerIsStable() {
+        Comparator<String> comparator = Comparator.comparingInt(String::length);
+        BinaryOperator<List<String>> combiner = SortedRunList.combiner(comparator);
+        SortedRunList<String> left = new SortedRunList<>(comparator);
+        left.addAll(asList("ccc", "a", "bb"));
+        SortedRunList<String> right = new SortedRunList<>(comparator);
+        right.addAll(asList("e", "dd", "fff"));
+
+        List<String> result = combiner.apply(left, right);
+
+        assertThat(result).containsExactly("a", "e", "bb", "dd", "ccc", "fff");
+    }
+
+    @Test
+    public void testCombinerCopiesRightWhenLeftIsEmpty() {
+        Comparator<Integer> comparator = Integer::compare;
+        BinaryOperator<List<Integer>> combiner = SortedRunList.combiner(comparator);
+        SortedRunList<Integer> right = runOf(comparator, 2, 1);
+
+        List<Integer> result = combiner.apply(new SortedRunList<>(comparator), right);
+        result.add(0);
+
+        assertThat(result).containsExactly(1, 2, 0);
+        assertThat(right).containsExactly(1, 2);
+    }
+
+    @Test
+    public void testCombinerWithPlainList() {
+        Comparator<Integer> comparator = Integer::compare;
+        BinaryOperator<List<Integer>> combiner = SortedRunList.combiner(comparator);
+
+        List<Integer> result = combiner.apply(new ArrayList<>(asList(3, 1)), runOf(comparator, 2));
+
+        assertThat(result).isInstanceOf(SortedRunList.class);
+        assertThat(result).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testSortWithAnotherComparator() {
+        Comparator<Integer> comparator = Integer::compare;
+        SortedRunList<Integer> run = runOf(comparator, 2, 3, 1);
+
+        run.sort(comparator);
+        run.sort(comparator.reversed());
+
+        assertThat(run).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    public void testParallelRankWithMergedRuns() {
+        Random random = new Random(42);
+        List<Integer> list = IntStream.range(0, 100_000)
+                .mapToObj(i -> random.nextInt(1000))
+                .collect(toList());
+
+        SortedMap<Integer, List<Integer>> result = list.parallelStream().collect(CollectorEx.rank());
+        SortedMap<Integer, List<Integer>> expected = list.stream().collect(CollectorEx.rank());
+
+        assertThat(result).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,102 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class StatisticsCollectorTest {
+
+    private double centralMoment(List<Double> values, double mean, int order) {
+        return values.stream().mapToDouble(v -> Math.pow(v - mean, order)).sum() / values.size();
+    }
+
+    @Test
+    public void testStatistics() {
+        List<Integer> list = asList(2, 4, 4, 4, 5, 5, 7, 9);
+
+        MomentStatistics result = list.stream().collect(CollectorEx.statisticsDouble(i -> i));
+
+        assertThat(result.getCount()).isEqualTo(8);
+        assertThat(result.getSum()).isEqualTo(40.0);
+        assertThat(result.getMin()).isEqualTo(2.0);
+        assertThat(result.getMax()).isEqualTo(9.0);
+        assertThat(result.getMean()).isEqualTo(5.0);
+        assertThat(result.getVariance()).isCloseTo(4.0, within(1e-12));
+        assertThat(result.getStandardDeviation()).isCloseTo(2.0, within(1e-12));
+        assertThat(result.getSampleVariance()).isCloseTo(32.0 / 7, within(1e-12));
+    }
+
+    @Test
+    public void testStatisticsOfEmptyList() {
+        List<Integer> list = emptyList();
+
+        MomentStatistics result = list.stream().collect(CollectorEx.statisticsDouble(i -> i));
+
+        assertThat(result.getCount()).isZero();
+        assertThat(result.getMean()).isNaN();
+        assertThat(result.getVariance()).isNaN();
+        assertThat(result.getSkewness()).isNaN();
+        assertThat(result.getMin()).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void testParallelStatisticsAreSameAsTwoPassMoments() {
+        Random random = new Random(8);
+        List<Double> list = random.doubles(100_000).map(v -> Math.exp(3 * v)).boxed().collect(toList());
+        double mean = list.stream().mapToDouble(v -> v).average().getAsDouble();
+        double m2 = centralMoment(list, mean, 2);
+        double m3 = centralMoment(list, mean, 3);
+        double m4 = centralMoment(list, mean, 4);
+
+        MomentStatistics result = list.parallelStream().collect(CollectorEx.statisticsDouble(v -> v));
+
+        assertThat(result.getMean()).isCloseTo(mean, within(1e-9));
+        assertThat(result.getVariance()).isCloseTo(m2, within(1e-9));
+        assertThat(result.getSkewness()).isCloseTo(m3 / Math.pow(m2, 1.5), within(1e-9));
+        assertThat(result.getKurtosis()).isCloseTo(m4 / (m2 * m2) - 3, within(1e-9));
+    }
+
+    @Test
+    public void testVarianceOfValuesWithLargeOffset() {
+        List<Double> list = asList(1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16);
+
+        MomentStatistics result = list.parallelStream().collect(CollectorEx.statisticsDouble(v -> v));
+
+        assertThat(result.getVariance()).isCloseTo(22.5, within(1e-6));
+        assertThat(result.getSkewness()).isCloseTo(0.0, within(1e-9));
+    }
+
+    @Test
+    public void testStatisticsBigDecimal() {
+        List<BigDecimal> list = asList(new BigDecimal("1.5"), new BigDecimal("2.5"), new BigDecimal("3.5"));
+
+        MomentStatistics result = list.stream().collect(CollectorEx.statisticsBigDecimal(v -> v));
+
+        assertThat(result.getSum()).isEqualTo(7.5);
+        assertThat(result.getMean()).isEqualTo(2.5);
+        assertThat(result.getSampleVariance()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void testAccumulationOfStatistics() {
+        Accumulation<Integer, ?, MomentStatistics> accumulation = CollectorEx.accumulation(
+                CollectorEx.statisticsDouble(i -> i));
+
+        accumulation.addAll(asList(1, 2, 3));
+        MomentStatistics first = accumulation.result();
+        accumulation.addAll(asList(4, 5));
+        MomentStatistics second = accumulation.result();
+
+        assertThat(first.getMean()).isEqualTo(2.0);
+        assertThat(second.getMean()).isEqualTo(3.0);
+        assertThat(second.getVariance()).isEqualTo(2.0);
+    }
+}
@@ -2,6 +2,8 @@ package org.agzamovr.collectors;
 
 import org.junit.Test;
 
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.Set;
 
@@ -37,4 +39,27 @@ public class SummingDoubleCollectorTest {
 
         assertThat(result).containsAll(asList(1.0, 3.1, 6.2));
     }
+
+    @Test
+    public void testSummingDoubleToArray() {
+        List<Double> list = asList(3.1, 1.0, 2.1);
+
+        double[] result = list.stream().collect(CollectorEx.summingDoubleToArray(d -> d));
+
+        assertThat(result).containsExactly(1.0, 3.1, 6.2);
+    }
+
+    @Test
+    public void testSummingDoubleWithPrimitiveAccumulator() {
+        List<Double> list = asList(1.0, 2.1, 3.1);
+        Comparator<Double> doubleComparator = Double::compareTo;
+
+        DoubleSummaryStatistics result = list.stream().collect(CollectorEx.summingDouble(d -> d,
+                doubleComparator,
+                DoubleSummaryStatistics::new,
+                DoubleSummaryStatistics::accept));
+
+        assertThat(result.getMax()).isEqualTo(6.2);
+        assertThat(result.getCount()).isEqualTo(3);
+    }
 }
\ No newline at end of file
@@ -3,11 +3,14 @@ package org.agzamovr.collectors;
 import org.junit.Test;
 
 import java.util.Comparator;
+import java.util.IntSummaryStatistics;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -52,4 +55,72 @@ public class SummingIntCollectorTest {
 
         assertThat(result).containsExactly(3, 5, 6);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSummingIntToArray() {
+        List<Integer> list = asList(3, 1, 2);
+
+        int[] result = list.stream().collect(CollectorEx.summingIntToArray(i -> i));
+
+        assertThat(result).containsExactly(1, 3, 6);
+    }
+
+    @Test
+    public void testSummingIntToArrayWithComparator() {
+        List<Integer> list = asList(1, 2, 3);
+        Comparator<Integer> integerComparator = Integer::compareTo;
+
+        int[] result = list.parallelStream().collect(CollectorEx.summingIntToArray(i -> i, integerComparator.reversed()));
+
+        assertThat(result).containsExactly(3, 5, 6);
+    }
+
+    @Test
+    public void testSummingIntWithPrimitiveAccumulator() {
+        List<Integer> list = asList(1, 2, 3);
+        Comparator<Integer> integerComparator = Integer::compareTo;
+
+        IntSummaryStatistics result = list.stream().collect(CollectorEx.summingInt(i -> i,
+                integerComparator,
+                IntSummaryStatistics::new,
+                IntSummaryStatistics::accept));
+
+        assertThat(result.getCount()).isEqualTo(3);
+        assertThat(result.getMin()).isEqualTo(1);
+        assertThat(result.getMax()).isEqualTo(6);
+    }
+
+    @Test
+    public void testSummingIntToArrayWithParallelFinisher() {
+        List<Integer> list = new Random(17).ints(CollectorEx.PARALLEL_SORT_THRESHOLD + 1, -100, 100).boxed()
+                .collect(toList());
+        Comparator<Integer> comparator = Integer::compare;
+
+        int[] result = list.parallelStream().collect(CollectorEx.summingIntToArray(i -> i, comparator.reversed()));
+        int[] expected = list.stream().collect(CollectorEx.parallelSummingInt(i -> i, comparator.reversed()));
+
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void testSummingIntToArrayByKey() {
+        List<Integer> list = new Random(3).ints(1000, -100, 100).boxed().collect(toList());
+        Comparator<Integer> comparator = Integer::compare;
+
+        int[] result = list.parallelStream().collect(CollectorEx.summingIntToArrayByKey(i -> i, i -> -i));
+
+        assertThat(result).isEqualTo(list.stream()
+                .collect(CollectorEx.summingIntToArray(i -> i, comparator.reversed())));
+    }
+
+    @Test
+    public void testSummingIntToArrayByIntKey() {
+        List<Integer> list = new Random(5).ints(1000, -100, 100).boxed().collect(toList());
+        Comparator<Integer> comparator = Integer::compare;
+
+        int[] result = list.parallelStream().collect(CollectorEx.summingIntToArrayByIntKey(i -> i, i -> -i));
+
+        assertThat(result).isEqualTo(list.stream()
+                .collect(CollectorEx.summingIntToArray(i -> i, comparator.reversed())));
+    }
+}
@@ -2,7 +2,9 @@ package org.agzamovr.collectors;
 
 import org.junit.Test;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -35,4 +37,27 @@ public class SummingLongCollectorTest {
 
         assertThat(result).containsAll(asList(1L, 3L, 6L));
     }
+
+    @Test
+    public void testSummingLongToArray() {
+        List<Long> list = asList(3L, 1L, 2L);
+
+        long[] result = list.stream().collect(CollectorEx.summingLongToArray(l -> l));
+
+        assertThat(result).containsExactly(1L, 3L, 6L);
+    }
+
+    @Test
+    public void testSummingLongWithPrimitiveAccumulator() {
+        List<Long> list = asList(1L, 2L, 3L);
+        Comparator<Long> longComparator = Long::compareTo;
+
+        LongSummaryStatistics result = list.stream().collect(CollectorEx.summingLong(l -> l,
+                longComparator.reversed(),
+                LongSummaryStatistics::new,
+                LongSummaryStatistics::accept));
+
+        assertThat(result.getMin()).isEqualTo(3L);
+        assertThat(result.getSum()).isEqualTo(14L);
+    }
 }
\ No newline at end of file
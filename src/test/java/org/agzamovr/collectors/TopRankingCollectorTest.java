@@ -0,0 +1,111 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TopRankingCollectorTest {
+
+    @Test
+    public void testTopRanksWithEmptyList() {
+        List<Integer> list = emptyList();
+
+        SortedMap<Integer, List<Integer>> result = list.stream().collect(CollectorEx.topRanks(3));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testTopRanksWithDuplicates() {
+        List<Integer> list = asList(1, 2, 3, 4, 4, 3, 2, 1);
+
+        SortedMap<Integer, List<Integer>> result = list.stream().collect(CollectorEx.topRanks(3));
+
+        Entry<Integer, List<Integer>> entry1 = new SimpleEntry<>(1, asList(1, 1));
+        Entry<Integer, List<Integer>> entry2 = new SimpleEntry<>(3, asList(2, 2));
+        assertThat(result).containsExactly(entry1, entry2);
+    }
+
+    @Test
+    public void testTopRanksKeepsTiesAtLastRank() {
+        List<Integer> list = asList(5, 3, 3, 3, 1, 4);
+
+        SortedMap<Integer, List<Integer>> result = list.stream().collect(CollectorEx.topRanks(2));
+
+        Entry<Integer, List<Integer>> entry1 = new SimpleEntry<>(1, singletonList(1));
+        Entry<Integer, List<Integer>> entry2 = new SimpleEntry<>(2, asList(3, 3, 3));
+        assertThat(result).containsExactly(entry1, entry2);
+    }
+
+    @Test
+    public void testTopDenseRanks() {
+        List<Integer> list = asList(1, 2, 3, 4, 4, 3, 2, 1);
+        Comparator<Integer> intComparator = Integer::compare;
+
+        SortedMap<Integer, List<Integer>> result = list.stream()
+                .collect(CollectorEx.topRanks(3, intComparator.reversed(), true));
+
+        Entry<Integer, List<Integer>> entry1 = new SimpleEntry<>(1, asList(4, 4));
+        Entry<Integer, List<Integer>> entry2 = new SimpleEntry<>(2, asList(3, 3));
+        Entry<Integer, List<Integer>> entry3 = new SimpleEntry<>(3, asList(2, 2));
+        assertThat(result).containsExactly(entry1, entry2, entry3);
+    }
+
+    @Test
+    public void testTopRanksWithNulls() {
+        List<Integer> list = asList(null, 2, null, 1);
+
+        SortedMap<Integer, List<Integer>> result = list.stream().collect(CollectorEx.topRanks(3));
+
+        Entry<Integer, List<Integer>> entry1 = new SimpleEntry<>(1, singletonList(1));
+        Entry<Integer, List<Integer>> entry2 = new SimpleEntry<>(2, singletonList(2));
+        Entry<Integer, List<Integer>> entry3 = new SimpleEntry<>(3, asList(null, null));
+        assertThat(result).containsExactly(entry1, entry2, entry3);
+    }
+
+    @Test
+    public void testTopRanksMatchesRankInParallelStream() {
+        Random random = new Random(1);
+        List<Integer> list = IntStream.range(0, 10_000)
+                .map(i -> random.nextInt(500))
+                .boxed()
+                .collect(toList());
+        Comparator<Integer> intComparator = Integer::compare;
+
+        for (boolean denseRank : asList(false, true)) {
+            SortedMap<Integer, Long> expected = list.stream()
+                    .collect(CollectorEx.rank(intComparator, intComparator, denseRank, counting()))
+                    .headMap(11);
+            SortedMap<Integer, Long> result = list.parallelStream()
+                    .collect(CollectorEx.topRanks(10, intComparator, denseRank, counting()));
+
+            assertThat(result).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testTopRanksWithSetCollector() {
+        List<Integer> list = asList(1, 2, 3, 4, 4, 3, 2, 1);
+
+        SortedMap<Integer, Set<Integer>> result = list.stream()
+                .collect(CollectorEx.topRanks(1, Integer::compare, false, Collectors.toSet()));
+
+        assertThat(result).containsExactly(new SimpleEntry<>(1, Collections.singleton(1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTopRanksWithNonPositiveLimit() {
+        CollectorEx.topRanks(0);
+    }
+}
@@ -0,0 +1,216 @@
+package org.agzamovr.collectors;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WindowCollectorTest {
+
+    private List<Integer> randomList(int size) {
+        Random random = new Random(11);
+        return IntStream.range(0, size)
+                .mapToObj(i -> random.nextInt(1000))
+                .collect(toList());
+    }
+
+    @Test
+    public void testWindowWithEmptyList() {
+        List<Integer> list = emptyList();
+
+        Map<Integer, SortedMap<Integer, List<Integer>>> result = list.stream()
+                .collect(CollectorEx.window()
+                        .partitionBy((Integer i) -> i % 2)
+                        .orderBy(Comparator.<Integer>naturalOrder())
+                        .apply(WindowFunction.rank()));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testWindowRank() {
+        List<Integer> list = asList(4, 1, 3, 3, 2, 4, 1, 2);
+
+        Map<Integer, SortedMap<Integer, List<Integer>>> result = list.stream()
+                .collect(CollectorEx.window()
+                        .partitionBy((Integer i) -> i % 2)
+                        .orderBy(Comparator.<Integer>naturalOrder())
+                        .apply(WindowFunction.rank()));
+
+        SortedMap<Integer, List<Integer>> even = new TreeMap<>();
+        even.put(1, asList(2, 2));
+        even.put(3, asList(4, 4));
+        SortedMap<Integer, List<Integer>> odd = new TreeMap<>();
+        odd.put(1, asList(1, 1));
+        odd.put(3, asList(3, 3));
+        assertThat(result.keySet()).containsExactly(0, 1);
+        assertThat(result).containsEntry(0, even).containsEntry(1, odd);
+    }
+
+    @Test
+    public void testWindowRankIsSameAsGroupingByRank() {
+        List<Integer> list = randomList(20_000);
+
+        Map<Integer, SortedMap<Integer, Long>> expected = list.stream()
+                .collect(groupingBy(i -> i % 7,
+                        CollectorEx.rank(Comparator.<Integer>reverseOrder(), Integer::compareTo, true, counting())));
+        Map<Integer, SortedMap<Integer, Long>> result = list.parallelStream()
+                .collect(CollectorEx.window()
+                        .partitionBy((Integer i) -> i % 7)
+                        .orderBy(Comparator.<Integer>reverseOrder())
+                        .apply(WindowFunction.rank(true, counting())));
+
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void testWindowWithoutPartitions() {
+        List<Integer> list = asList(5, 1, 4, 2, 3);
+
+        Map<Object, List<List<Integer>>> result = list.stream()
+                .collect(CollectorEx.window()
+                        .orderBy(Comparator.<Integer>naturalOrder())
+                        .apply(WindowFunction.ntile(2)));
+
+        assertThat(result).containsOnlyKeys((Object) null);
+        assertThat(result.get(null)).containsExactly(asList(1, 2, 3), asList(4, 5));
+    }
+
+    @Test
+    public void testWindowWithoutOrder() {
+        List<Integer> list = asList(3, 1, 2);
+
+        Map<Object, SortedMap<Integer, List<Integer>>> result = list.stream()
+                .collect(CollectorEx.window().apply(WindowFunction.rank()));
+
+        assertThat(result.get(null)).containsOnlyKeys(1);
+        assertThat(result.get(null).get(1)).containsExactly(3, 1, 2);
+    }
+
+    @Test
+    public void testWindowRunningSums() {
+        List<Integer> list = asList(1, 2, 3, 4, 5, 6);
+
+        Map<Integer, int[]> ints = list.stream()
+                .collect(CollectorEx.window()
+                        .partitionBy((Integer i) -> i % 2)
+                        .orderBy(Comparator.<Integer>reverseOrder())
+                        .apply(WindowFunction.summingInt(i -> i)));
+        Map<Integer, double[]> doubles = list.stream()
+                .collect(CollectorEx.window()
+                        .partitionBy((Integer i) -> i % 2)
+                        .orderBy(Comparator.<Integer>naturalOrder())
+                        .apply(WindowFunction.summingDouble(i -> i / 2.0)));
+        Map<Integer, List<BigDecimal>> bigDecimals = list.stream()
+                .collect(CollectorEx.window()
+                        .partitionBy((Integer i) -> i % 3)
+                        .orderBy(Comparator.<Integer>naturalOrder())
+                        .apply(WindowFunction.summingBigDecimal(BigDecimal::valueOf)));
+
+        assertThat(ints.get(1)).containsExactly(5, 8, 9);
+        assertThat(ints.get(0)).containsExactly(6, 10, 12);
+        assertThat(doubles.get(0)).containsExactly(1.0, 3.0, 6.0);
+        assertThat(bigDecimals.get(0)).containsExactly(BigDecimal.valueOf(3), BigDecimal.valueOf(9));
+    }
+
+    @Test
+    public void testWindowMode() {
+        List<Integer> list = asList(1, 11, 11, 2, 2, 12, 12, 22);
+
+        Map<Integer, Set<Integer>> result = list.stream()
+                .collect(CollectorEx.window()
+                        .partitionBy((Integer i) -> i % 10)
+                        .apply(WindowFunction.mode(i -> i)));
+
+        assertThat(result.get(1)).containsOnly(11);
+        assertThat(result.get(2)).containsOnly(2, 12);
+    }
+
+    @Test
+    public void testWindowCollecting() {
+        List<Integer> list = asList(3, 1, 2, 6, 5, 4);
+
+        Map<Boolean, List<Integer>> result = list.stream()
+                .collect(CollectorEx.window()
+                        .partitionBy((Integer i) -> i > 3)
+                        .orderBy(Comparator.<Integer>naturalOrder())
+                        .apply(WindowFunction.collecting(toList())));
+
+        assertThat(result).containsEntry(false, asList(1, 2, 3)).containsEntry(true, asList(4, 5, 6));
+    }
+
+    @Test
+    public void testWindowFunctions() {
+        List<Integer> list = randomList(20_000);
+        WindowFunction<Integer, SortedMap<Integer, Long>> rank = WindowFunction.rank(false, counting());
+        WindowFunction<Integer, SortedMap<Integer, Long>> denseRank = WindowFunction.rank(true, counting());
+        WindowFunction<Integer, List<Long>> ntile = WindowFunction.ntile(4, counting());
+        WindowFunction<Integer, List<BigDecimal>> runningTotal = WindowFunction.summingBigDecimal(BigDecimal::valueOf);
+
+        WindowResults results = list.parallelStream()
+                .collect(CollectorEx.windowFunctions(Integer::compare, rank, denseRank, ntile, runningTotal));
+
+        assertThat(results.size()).isEqualTo(4);
+        assertThat(results.get(rank))
+                .isEqualTo(list.stream().collect(CollectorEx.rank(Integer::compare, Integer::compare, false, counting())));
+        assertThat(results.get(denseRank))
+                .isEqualTo(list.stream().collect(CollectorEx.rank(Integer::compare, Integer::compare, true, counting())));
+        assertThat(results.get(ntile)).isEqualTo(list.stream().collect(CollectorEx.ntile(4, Integer::compare, counting())));
+        assertThat(results.get(runningTotal))
+                .isEqualTo(list.stream().collect(CollectorEx.summingBigDecimal(BigDecimal::valueOf, Integer::compare)));
+        assertThat(results.get(3)).isSameAs(results.get(runningTotal));
+    }
+
+    @Test
+    public void testWindowFunctionsWithEmptyList() {
+        List<Integer> list = emptyList();
+        WindowFunction<Integer, SortedMap<Integer, List<Integer>>> rank = WindowFunction.rank();
+        WindowFunction<Integer, int[]> runningTotal = WindowFunction.summingInt(i -> i);
+
+        WindowResults results = list.stream().collect(CollectorEx.windowFunctions(Integer::compare, rank, runningTotal));
+
+        assertThat(results.get(rank)).isEmpty();
+        assertThat(results.get(runningTotal)).isEmpty();
+    }
+
+    @Test
+    public void testWindowCompute() {
+        List<Integer> list = asList(3, 1, 2, 2, 13, 11, 12);
+        WindowFunction<Integer, SortedMap<Integer, List<Integer>>> denseRank = WindowFunction.denseRank();
+        WindowFunction<Integer, int[]> runningTotal = WindowFunction.summingInt(i -> i);
+
+        Map<Boolean, WindowResults> results = list.stream()
+                .collect(CollectorEx.window()
+                        .partitionBy((Integer i) -> i > 10)
+                        .orderBy(Comparator.<Integer>naturalOrder())
+                        .compute(denseRank, runningTotal));
+
+        assertThat(results.get(false).get(denseRank)).containsOnlyKeys(1, 2, 3);
+        assertThat(results.get(false).get(runningTotal)).containsExactly(1, 3, 5, 8);
+        assertThat(results.get(true).get(denseRank)).containsOnlyKeys(1, 2, 3);
+        assertThat(results.get(true).get(runningTotal)).containsExactly(11, 23, 36);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowResultsOfUnknownFunction() {
+        List<Integer> list = asList(1, 2);
+
+        WindowResults results = list.stream()
+                .collect(CollectorEx.windowFunctions(Integer::compare, WindowFunction.<Integer>rank()));
+
+        results.get(WindowFunction.<Integer>denseRank());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNtileWithNonPositiveTiles() {
+        WindowFunction.ntile(0, counting());
+    }
+}